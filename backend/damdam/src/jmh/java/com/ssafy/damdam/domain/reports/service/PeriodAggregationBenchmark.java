@@ -0,0 +1,303 @@
+package com.ssafy.damdam.domain.reports.service;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ssafy.damdam.domain.counsels.dto.ChatRecordDto;
+import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
+import com.ssafy.damdam.domain.counsels.dto.TranscriptDto;
+import com.ssafy.damdam.domain.counsels.entity.Counseling;
+import com.ssafy.damdam.domain.counsels.repository.CounselingRepository;
+import com.ssafy.damdam.domain.reports.dto.SparkRawResultDto;
+import com.ssafy.damdam.domain.reports.dto.SparkResultDto;
+import com.ssafy.damdam.global.aws.s3.S3FileUploadService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 기간별 레포트 감정 데이터 수집: PeriodAggregationEngine.aggregate(JVM 내 수집)와 이전 Spark 경로 비교.
+ * inProcess 는 실제 엔진을 그대로 호출한다 (상담 조회 → 세마포어로 제한한 병렬 다운로드 → messageOrder 매칭 → 시간순 정렬).
+ * 상담 목록은 미리 만든 Counseling 을 돌려주는 저장소, 다운로드는 legacy 원문(Base64(AES(JSON)))을 복호화/파싱하는
+ * S3FileUploadService 로 대신하며, 객체 한 건마다 s3LatencyMicros 만큼 대기해 S3 GET 을 흉내 낸다.
+ * sparkFullScan 은 이전 경로로, 버킷의 원문 전체를 같은 동시성으로 읽어 유저를 거른 뒤 Spark 응답 형태(문자열 감정/UTC 시각)의 행을 만들고
+ * ReportServiceImpl.collectFromSpark 와 같은 변환을 거친다. Spark 클러스터 기동/스케줄링과 HTTP 왕복 비용은 포함하지 않는다.
+ * 입력(암호화된 원문, 상담 목록)은 모두 setUp 에서 만들어 두므로 측정 구간에는 수집 경로만 들어간다.
+ * ./gradlew jmh -PjmhIncludes=PeriodAggregationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PeriodAggregationBenchmark {
+
+	private static final int CONCURRENCY = 8;
+	private static final long TARGET_USER = 1L;
+	private static final LocalDate START = LocalDate.of(2025, 5, 1);
+	private static final LocalDate END = LocalDate.of(2025, 5, 31);
+	private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+	private static final byte[] KEY = "0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+	// 버킷에 대화 원문이 있는 전체 유저 수
+	@Param({"50", "500"})
+	public int usersInBucket;
+
+	// 유저당 기간 내 상담 수
+	@Param({"10", "60"})
+	public int counselsPerUser;
+
+	// 상담당 USER/AI 턴 수
+	@Param({"20"})
+	public int turnsPerCounsel;
+
+	@Param({"0", "5000"})
+	public long s3LatencyMicros;
+
+	private ObjectMapper objectMapper;
+	private ExecutorService executor;
+	private PeriodAggregationEngine engine;
+
+	// s3Link -> 암호화된 원문
+	private Map<String, String> bucket;
+	private List<StoredTranscript> objects;
+
+	private record StoredTranscript(long userId, long counsId, String s3Link) {
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		// JacksonConfig.objectMapper 와 같은 설정
+		objectMapper = new ObjectMapper()
+			.registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		executor = Executors.newVirtualThreadPerTaskExecutor();
+
+		bucket = new HashMap<>();
+		objects = new ArrayList<>();
+		List<Counseling> userCounselings = new ArrayList<>();
+		long counsId = 1;
+		for (long userId = 1; userId <= usersInBucket; userId++) {
+			for (int c = 0; c < counselsPerUser; c++, counsId++) {
+				String s3Link = "origin_texts/" + counsId + ".json";
+				bucket.put(s3Link, encrypt(objectMapper.writeValueAsString(transcript(counsId, userId))));
+				objects.add(new StoredTranscript(userId, counsId, s3Link));
+				if (userId == TARGET_USER) {
+					userCounselings.add(counseling(counsId, s3Link));
+				}
+			}
+		}
+
+		engine = new PeriodAggregationEngine(
+			counselingRepository(userCounselings),
+			new BucketTranscripts(),
+			executor,
+			new SimpleMeterRegistry(),
+			true,
+			Integer.MAX_VALUE,
+			CONCURRENCY,
+			Duration.ofMinutes(5)
+		);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	// 새 경로: 해당 유저 상담의 원문만 받아 엔진이 모은다
+	@Benchmark
+	public List<SparkResultDto> inProcess() {
+		return engine.aggregate(TARGET_USER, START, END).orElseThrow();
+	}
+
+	// 이전 경로: 버킷의 origin_texts 전체를 읽고 유저를 거른 Spark 응답 행을 백엔드에서 다시 파싱한다
+	@Benchmark
+	public List<SparkResultDto> sparkFullScan() throws Exception {
+		Semaphore permits = new Semaphore(CONCURRENCY);
+		List<Callable<List<SparkRawResultDto>>> tasks = objects.stream()
+			.<Callable<List<SparkRawResultDto>>>map(o -> () -> {
+				TranscriptDto transcript = download(o.s3Link(), permits);
+				if (transcript.getUserId() != TARGET_USER) {
+					return List.of();
+				}
+				return toSparkRows(transcript);
+			})
+			.toList();
+
+		List<SparkRawResultDto> rows = new ArrayList<>();
+		for (Future<List<SparkRawResultDto>> future : executor.invokeAll(tasks)) {
+			rows.addAll(future.get());
+		}
+
+		// ReportServiceImpl.collectFromSpark 와 같은 변환
+		List<SparkResultDto> results = new ArrayList<>(rows.size());
+		for (SparkRawResultDto raw : rows) {
+			results.add(SparkResultDto.builder()
+				.counsId(Long.parseLong(raw.getCounsId()))
+				.userId(Long.parseLong(raw.getUserId()))
+				.timestamp(Instant.parse(raw.getTimestamp()).atZone(SEOUL).toLocalDateTime())
+				.message(raw.getMessage())
+				.emotion(objectMapper.readValue(raw.getEmotion(), EmotionDto.class))
+				.build());
+		}
+		return results;
+	}
+
+	// Spark 잡의 출력: USER 메시지마다 같은 messageOrder 의 AI 감정을 JSON 문자열로, 시각은 UTC 로 내보낸다
+	private List<SparkRawResultDto> toSparkRows(TranscriptDto transcript) throws Exception {
+		Map<Integer, EmotionDto> emotions = new HashMap<>();
+		for (ChatRecordDto r : transcript.getMessageList()) {
+			if (r.getEmotion() != null) {
+				emotions.putIfAbsent(r.getMessageOrder(), r.getEmotion());
+			}
+		}
+		List<SparkRawResultDto> rows = new ArrayList<>();
+		for (ChatRecordDto r : transcript.getMessageList()) {
+			EmotionDto emotion = emotions.get(r.getMessageOrder());
+			if (!"USER".equals(r.getSender()) || emotion == null) {
+				continue;
+			}
+			rows.add(SparkRawResultDto.builder()
+				.counsId(String.valueOf(transcript.getCounsId()))
+				.userId(String.valueOf(transcript.getUserId()))
+				.timestamp(r.getTimestamp().atZone(SEOUL).toInstant().toString())
+				.message(r.getMessage())
+				.emotion(objectMapper.writeValueAsString(emotion))
+				.build());
+		}
+		return rows;
+	}
+
+	// 엔진과 같이 다운로드(복호화/파싱 포함)를 세마포어 안에서 한다
+	private TranscriptDto download(String s3Link, Semaphore permits) throws Exception {
+		permits.acquire();
+		try {
+			return decode(fetch(s3Link));
+		} finally {
+			permits.release();
+		}
+	}
+
+	private TranscriptDto decode(String encrypted) throws Exception {
+		return objectMapper.readValue(decrypt(encrypted), TranscriptDto.class);
+	}
+
+	private String fetch(String s3Link) {
+		if (s3LatencyMicros > 0) {
+			LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(s3LatencyMicros));
+		}
+		return Objects.requireNonNull(bucket.get(s3Link), s3Link);
+	}
+
+	// 엔진이 쓰는 downloadTranscript 만 메모리 버킷으로 대신한다 (다른 의존성은 쓰지 않음)
+	private final class BucketTranscripts extends S3FileUploadService {
+
+		private BucketTranscripts() {
+			super(null, null, null, null, null);
+		}
+
+		@Override
+		public TranscriptDto downloadTranscript(String s3Link) {
+			try {
+				return decode(fetch(s3Link));
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	// 엔진은 findValidCounselings 만 호출한다
+	private static CounselingRepository counselingRepository(List<Counseling> counselings) {
+		return (CounselingRepository)Proxy.newProxyInstance(
+			CounselingRepository.class.getClassLoader(),
+			new Class<?>[] {CounselingRepository.class},
+			(proxy, method, args) -> switch (method.getName()) {
+				case "findValidCounselings" -> counselings;
+				case "toString" -> "CounselingRepository(benchmark)";
+				case "hashCode" -> System.identityHashCode(proxy);
+				case "equals" -> proxy == args[0];
+				default -> throw new UnsupportedOperationException(method.getName());
+			});
+	}
+
+	private static Counseling counseling(long counsId, String s3Link) throws Exception {
+		Counseling counseling = new Counseling(null);
+		Field id = Counseling.class.getDeclaredField("counsId");
+		id.setAccessible(true);
+		id.set(counseling, counsId);
+		counseling.updateS3Link(s3Link);
+		return counseling;
+	}
+
+	private TranscriptDto transcript(long counsId, long userId) {
+		List<ChatRecordDto> records = new ArrayList<>();
+		LocalDateTime base = LocalDateTime.of(2025, 5, 1, 21, 0).plusDays(counsId % 28);
+		for (int order = 1; order <= turnsPerCounsel; order++) {
+			records.add(ChatRecordDto.builder()
+				.sender("USER")
+				.isVoice(false)
+				.messageOrder(order)
+				.message("요즘 잠을 잘 못 자서 회사에서도 집중이 안 돼요.")
+				.timestamp(base.plusMinutes(order * 2L))
+				.tokenCount(18)
+				.build());
+			records.add(ChatRecordDto.builder()
+				.sender("AI")
+				.isVoice(false)
+				.messageOrder(order)
+				.message("잠을 못 자면 하루가 길게 느껴지죠. 언제부터 그러셨어요?")
+				.timestamp(base.plusMinutes(order * 2L + 1))
+				.emotion(EmotionDto.builder().happiness(5).sadness(62).angry(3).neutral(20).other(10).build())
+				.tokenCount(24)
+				.build());
+		}
+		return new TranscriptDto(counsId, userId, records);
+	}
+
+	// AESUtil 과 같은 변환 (AES 기본 모드 + Base64)
+	private static String encrypt(String plain) throws Exception {
+		Cipher cipher = Cipher.getInstance("AES");
+		cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(KEY, "AES"));
+		return Base64.getEncoder().encodeToString(cipher.doFinal(plain.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static String decrypt(String encrypted) throws Exception {
+		Cipher cipher = Cipher.getInstance("AES");
+		cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(KEY, "AES"));
+		return new String(cipher.doFinal(Base64.getDecoder().decode(encrypted)), StandardCharsets.UTF_8);
+	}
+}
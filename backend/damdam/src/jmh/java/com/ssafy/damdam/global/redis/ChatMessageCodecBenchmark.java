@@ -0,0 +1,100 @@
+package com.ssafy.damdam.global.redis;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ssafy.damdam.domain.counsels.dto.ChatMessageDto;
+import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
+
+/**
+ * 대화 이력 한 건 기준 기존 JSON 직렬화(+ 조회 측 convertValue)와 ChatMessageCodec 비교.
+ * ./gradlew jmh -PjmhIncludes=ChatMessageCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatMessageCodecBenchmark {
+
+	@Param({"40", "400"})
+	public int messageLength;
+
+	private GenericJackson2JsonRedisSerializer jsonSerializer;
+	private ObjectMapper appObjectMapper;
+	private ChatMessageCodec codec;
+
+	private ChatMessageDto message;
+	private byte[] jsonBytes;
+	private byte[] codecBytes;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		// 예전 RedisConfig.redisTemplate(GenericJackson2Json) 과 같은 설정
+		ObjectMapper redisMapper = new ObjectMapper()
+			.registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+		jsonSerializer = new GenericJackson2JsonRedisSerializer(redisMapper);
+
+		// JacksonConfig.objectMapper 와 같은 설정 (조회 측 convertValue 용)
+		appObjectMapper = new ObjectMapper()
+			.registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		codec = new ChatMessageCodec();
+
+		message = ChatMessageDto.builder()
+			.sender("AI")
+			.isVoice(false)
+			.messageOrder(17)
+			.message("요즘 잠을 잘 못 자서 많이 피곤하시겠어요. ".repeat(Math.max(1, messageLength / 25)))
+			.timestamp(LocalDateTime.of(2025, 5, 20, 21, 14, 3, 123_456_000))
+			.emotion(EmotionDto.builder().happiness(5).sadness(62).angry(3).neutral(20).other(10).build())
+			.build();
+
+		jsonBytes = jsonSerializer.serialize(message);
+		codecBytes = codec.serialize(message);
+	}
+
+	@Benchmark
+	public byte[] jsonSerialize() {
+		return jsonSerializer.serialize(message);
+	}
+
+	// 기존 조회 경로: Object 로 역직렬화 후 convertValue 로 한 번 더 변환
+	@Benchmark
+	public ChatMessageDto jsonDeserializeAndConvert() {
+		Object raw = jsonSerializer.deserialize(jsonBytes);
+		return appObjectMapper.convertValue(raw, ChatMessageDto.class);
+	}
+
+	@Benchmark
+	public byte[] codecSerialize() {
+		return codec.serialize(message);
+	}
+
+	@Benchmark
+	public ChatMessageDto codecDeserialize() {
+		return codec.deserialize(codecBytes);
+	}
+
+	// 진행 중인 상담 list 에 남아 있는 예전 JSON 항목을 코덱으로 읽는 경우
+	@Benchmark
+	public ChatMessageDto codecDeserializeLegacyJson() {
+		return codec.deserialize(jsonBytes);
+	}
+}
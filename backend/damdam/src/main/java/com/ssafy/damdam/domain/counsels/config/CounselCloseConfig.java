@@ -0,0 +1,9 @@
+package com.ssafy.damdam.domain.counsels.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CounselCloseProperties.class)
+public class CounselCloseConfig {
+}
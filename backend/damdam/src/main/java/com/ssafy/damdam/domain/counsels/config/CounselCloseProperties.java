@@ -0,0 +1,24 @@
+package com.ssafy.damdam.domain.counsels.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "counsel.close")
+public class CounselCloseProperties {
+	// 한 번 폴링에 가져갈 작업 수
+	private int batchSize = 20;
+	// 작업을 잡은 워커가 단계를 마칠 때까지 다른 인스턴스가 못 잡게 미루는 시간 (LLM 요약보다 길게)
+	private Duration lease = Duration.ofMinutes(5);
+	// 단계별 재시도 횟수 상한과 지수 백오프 범위
+	private int maxAttempts = 8;
+	private Duration retryBase = Duration.ofSeconds(10);
+	private Duration retryMax = Duration.ofMinutes(30);
+	// 스냅샷 전에 이 인스턴스에서 진행 중인 같은 방의 턴(AI 응답 적재)이 끝나기를 기다리는 최대 시간
+	private Duration drainTimeout = Duration.ofSeconds(60);
+}
@@ -1,7 +1,6 @@
 package com.ssafy.damdam.domain.counsels.controller;
 
 import java.security.Principal;
-import java.util.concurrent.ExecutionException;
 
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -26,9 +25,10 @@ public class CounselChatController {
 		@DestinationVariable Long roomId,
 		Principal principal,
 		@Payload ChatInputDto input
-	) throws ExecutionException, InterruptedException {
+	) {
 
 		Long userId = Long.valueOf(principal.getName());
+		// 응답은 /sub/counsels/{roomId}/chat 으로 비동기 전송되므로 인바운드 스레드는 바로 반환한다
 		chatService.handleChat(roomId, userId, input);
 	}
 }
@@ -2,7 +2,6 @@ package com.ssafy.damdam.domain.counsels.controller;
 
 import java.net.URI;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -20,12 +19,12 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.ssafy.damdam.domain.counsels.dto.CounselCloseTaskResponse;
 import com.ssafy.damdam.domain.counsels.dto.CounselingChatListDto;
 import com.ssafy.damdam.domain.counsels.dto.CounselingDto;
 import com.ssafy.damdam.domain.counsels.dto.CreateCounselResponse;
-import com.ssafy.damdam.domain.counsels.dto.CreateReportResponse;
 import com.ssafy.damdam.domain.counsels.dto.PatchCounselTitleRequest;
+import com.ssafy.damdam.domain.counsels.entity.CounselCloseStep;
 import com.ssafy.damdam.domain.counsels.service.AiService;
 import com.ssafy.damdam.domain.counsels.service.ChatService;
 import com.ssafy.damdam.domain.counsels.service.CounselService;
@@ -85,7 +84,7 @@ public class CounselController {
 		int messageOrder,
 
 		@AuthenticationPrincipal CustomOAuth2User user
-	) throws ExecutionException, InterruptedException {
+	) {
 		chatService.handleVoiceMessage(
 			counsId,
 			user.getUserId(),
@@ -95,10 +94,14 @@ public class CounselController {
 	}
 
 	// 상담 방 내역 조회 + 이전 상담 내역 조회 (레디스 완, S3 개발중)
+	// limit 을 주면 fromOrder(기본 0) 부터 limit 개 순번만 내려주고, 응답의 nextOrder 로 다음 페이지를 이어 받는다
 	@GetMapping("/{counsId}")
-	public ResponseEntity<CounselingChatListDto> getCounsel
-	(@PathVariable Long counsId) {
-		CounselingChatListDto counselAndChatList = counselService.getCounsel(counsId);
+	public ResponseEntity<CounselingChatListDto> getCounsel(
+		@PathVariable Long counsId,
+		@RequestParam(required = false) Integer fromOrder,
+		@RequestParam(required = false) Integer limit
+	) {
+		CounselingChatListDto counselAndChatList = counselService.getCounsel(counsId, fromOrder, limit);
 		return ResponseEntity.ok(counselAndChatList);
 	}
 
@@ -127,19 +130,24 @@ public class CounselController {
 		return ResponseEntity.noContent().build();
 	}
 
+	// 레포트 발행 + 상담 종료는 백그라운드 작업으로 진행하고, 바로 작업 상태를 돌려준다 (close-task 로 진행 조회)
 	@PostMapping("/{counsId}/reports")
-	public ResponseEntity<CreateReportResponse> reportCounsel(
+	public ResponseEntity<CounselCloseTaskResponse> reportCounsel(
 		@PathVariable Long counsId
-	) throws JsonProcessingException {
-		// 상담에 대한 레포트 발행 로직
-		Long id = counselService.reportCounsel(counsId);
-		// RDB에서 isClosed 플래그 업데이트
-		counselService.closeCounsel(counsId);
-		// Redis에 쌓인 대화 이력 삭제
-		chatService.deleteRedisChatting(counsId);
+	) {
+		CounselCloseTaskResponse task = counselService.requestClose(counsId);
+		if (task.getStep() == CounselCloseStep.DONE) {
+			return ResponseEntity.ok(task);
+		}
 		return ResponseEntity
-			.created(URI.create(String.valueOf(id)))
-			.body(new CreateReportResponse(id));
+			.accepted()
+			.location(URI.create("/api/v1/damdam/counsels/" + counsId + "/close-task"))
+			.body(task);
+	}
+
+	@GetMapping("/{counsId}/close-task")
+	public ResponseEntity<CounselCloseTaskResponse> getCloseTask(@PathVariable Long counsId) {
+		return ResponseEntity.ok(counselService.getCloseTask(counsId));
 	}
 
 }
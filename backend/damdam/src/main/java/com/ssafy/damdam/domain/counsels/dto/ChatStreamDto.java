@@ -0,0 +1,18 @@
+package com.ssafy.damdam.domain.counsels.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// LLM 응답 생성 중 서버 → 프론트로 흘려보내는 증분 메시지 (최종 응답은 ChatOutputDto로 따로 전송)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatStreamDto {
+	private String sender;
+	private int messageOrder;
+	private int seq;
+	private String delta;
+}
@@ -0,0 +1,25 @@
+package com.ssafy.damdam.domain.counsels.dto;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.ssafy.damdam.global.redis.CounselSession;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+// 한 턴의 llm 호출에 필요한 값들을 병렬로 모은 결과 (단계별 소요시간 포함)
+@Getter
+@AllArgsConstructor
+@Builder
+public class ChatTurnContext {
+	private CounselSession session;
+	private UserContextDto userContext;
+	private EmotionDto emotion;
+	// 감정 분석이 예산 안에 끝나지 않아 직전 감정을 대신 쓴 경우 true
+	private boolean emotionStale;
+	// emotionStale 일 때 아직 진행 중인 분석 결과 (도착하면 대화 이력의 AI 메시지에 반영)
+	private CompletableFuture<EmotionDto> lateEmotion;
+	private Map<String, Long> stageMillis;
+}
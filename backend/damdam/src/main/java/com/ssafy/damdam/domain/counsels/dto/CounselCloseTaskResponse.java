@@ -0,0 +1,40 @@
+package com.ssafy.damdam.domain.counsels.dto;
+
+import com.ssafy.damdam.domain.counsels.entity.CounselCloseStep;
+import com.ssafy.damdam.domain.counsels.entity.CounselCloseTask;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+// 상담 종료(레포트 발행) 요청의 진행 상태. step 이 DONE 이 되면 sReportId 가 채워진다
+@Getter
+@Builder
+@AllArgsConstructor
+public class CounselCloseTaskResponse {
+
+	private Long closeTaskId;
+	private Long counsId;
+	private CounselCloseStep step;
+	private boolean failed;
+	private Long sReportId;
+
+	public static CounselCloseTaskResponse from(CounselCloseTask task) {
+		return CounselCloseTaskResponse.builder()
+			.closeTaskId(task.getCloseTaskId())
+			.counsId(task.getCounsId())
+			.step(task.getStep())
+			.failed(task.isFailed())
+			.sReportId(task.getSReportId())
+			.build();
+	}
+
+	// 파이프라인 도입 전에 발행된 레포트
+	public static CounselCloseTaskResponse ofExistingReport(Long counsId, Long sReportId) {
+		return CounselCloseTaskResponse.builder()
+			.counsId(counsId)
+			.step(CounselCloseStep.DONE)
+			.sReportId(sReportId)
+			.build();
+	}
+}
@@ -23,4 +23,7 @@ public class CounselingChatListDto {
 
 	// 프론트에 보여지는 채팅 리스트 (레디스와는 달라서 따로 뺌)
 	private List<ChatOutputDto> messageList;
+
+	// limit 을 지정해 나눠 조회할 때 다음 페이지의 시작 순번 (마지막 페이지거나 전체 조회면 null)
+	private Integer nextOrder;
 }
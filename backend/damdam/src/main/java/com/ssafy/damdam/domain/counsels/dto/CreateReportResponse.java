@@ -1,11 +0,0 @@
-package com.ssafy.damdam.domain.counsels.dto;
-
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-
-@Getter
-@AllArgsConstructor
-public class CreateReportResponse {
-
-	private Long sReportId;
-}
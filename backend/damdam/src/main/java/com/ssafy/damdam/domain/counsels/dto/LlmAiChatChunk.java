@@ -0,0 +1,19 @@
+package com.ssafy.damdam.domain.counsels.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// llm 스트리밍 응답(SSE/NDJSON)의 한 조각
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LlmAiChatChunk {
+	private String delta;
+	private Boolean done;
+}
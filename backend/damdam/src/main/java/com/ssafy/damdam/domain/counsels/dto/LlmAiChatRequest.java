@@ -14,4 +14,6 @@ public class LlmAiChatRequest {
 	private UserContextDto userContext;
 	private ChatInputDto messageInput;
 	private EmotionDto emotion;
+	// true 이면 emotion 은 이번 메시지가 아닌 직전 턴의 감정
+	private Boolean emotionStale;
 }
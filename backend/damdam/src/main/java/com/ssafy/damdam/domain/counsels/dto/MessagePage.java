@@ -0,0 +1,42 @@
+package com.ssafy.damdam.domain.counsels.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 대화 내역 한 페이지. nextOrder 는 다음 페이지의 시작 순번이며, 마지막 페이지면 null
+@Getter
+@AllArgsConstructor
+public class MessagePage<T> {
+
+	private final List<T> messages;
+	private final Integer nextOrder;
+
+	/**
+	 * 순번 오름차순 메시지 중 fromOrder 이상인 것을 앞에서부터 limit 개 순번만큼 자른다.
+	 * USER/AI 한 쌍은 같은 순번이므로 limit 은 메시지 수가 아니라 순번 수 기준이고, 한 쌍이 페이지 사이에서 갈리지 않는다.
+	 */
+	public static <T> MessagePage<T> of(List<T> sorted, ToIntFunction<T> orderOf, int fromOrder, int limit) {
+		List<T> messages = new ArrayList<>();
+		int orders = 0;
+		Integer last = null;
+		for (T m : sorted) {
+			int order = orderOf.applyAsInt(m);
+			if (order < fromOrder) {
+				continue;
+			}
+			if (last == null || order != last) {
+				if (orders == limit) {
+					return new MessagePage<>(messages, order);
+				}
+				orders++;
+				last = order;
+			}
+			messages.add(m);
+		}
+		return new MessagePage<>(messages, null);
+	}
+}
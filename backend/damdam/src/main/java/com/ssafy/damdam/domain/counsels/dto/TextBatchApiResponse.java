@@ -0,0 +1,15 @@
+package com.ssafy.damdam.domain.counsels.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 텍스트 감정 분석 배치 응답. results 는 요청한 texts 와 같은 순서
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TextBatchApiResponse {
+    private List<TextApiFullResponse.Result> results;
+}
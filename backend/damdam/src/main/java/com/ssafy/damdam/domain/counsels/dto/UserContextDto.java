@@ -3,6 +3,9 @@ package com.ssafy.damdam.domain.counsels.dto;
 import com.ssafy.damdam.domain.users.entity.Age;
 import com.ssafy.damdam.domain.users.entity.Gender;
 import com.ssafy.damdam.domain.users.entity.Mbti;
+import com.ssafy.damdam.domain.users.entity.UserInfo;
+import com.ssafy.damdam.domain.users.entity.UserSetting;
+import com.ssafy.damdam.domain.users.entity.UserSurvey;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -27,4 +30,49 @@ public class UserContextDto {
     private int stress;
     private Boolean isSuicidal;
     private String stressReason;
+
+    // 값이 없거나 특정되지 않은 경우 null화 하는 함수
+    private static String normalizeEnumValue(String v) {
+        if (v == null || v.isBlank() || "UNKNOWN".equalsIgnoreCase(v))
+            return null;
+        return v.trim();
+    }
+
+    // 유저 정보, 설정, 설문(없으면 null)으로 LLM 전송용 컨텍스트를 만든다
+    public static UserContextDto of(String nickname, UserInfo infos, UserSetting setting, UserSurvey survey) {
+        int depression = -1, anxiety = -1, stress = -1;
+        Boolean isSuicidal = null;
+        String stressReason = null;
+
+        if (survey != null) {
+            depression = survey.getDepression();
+            anxiety = survey.getAnxiety();
+            stress = survey.getStress();
+            isSuicidal = survey.getIsSuicidal();
+            stressReason = normalizeEnumValue(survey.getStressReason());
+        }
+
+        String rawAge = normalizeEnumValue(String.valueOf(infos.getAge()));
+        Age ageEnum = rawAge != null ? Age.valueOf(rawAge) : null;
+
+        String rawMbti = normalizeEnumValue(String.valueOf(infos.getMbti()));
+        Mbti mbtiEnum = rawMbti != null ? Mbti.valueOf(rawMbti) : null;
+
+        String rawGender = normalizeEnumValue(String.valueOf(infos.getGender()));
+        Gender genderEnum = rawGender != null ? Gender.valueOf(rawGender) : null;
+
+        return UserContextDto.builder()
+            .nickname(nickname)
+            .botCustom(normalizeEnumValue(setting.getBotCustom()))
+            .age(ageEnum)   // Age enum or null
+            .mbti(mbtiEnum)   // Mbti enum or null
+            .career(normalizeEnumValue(infos.getCareer()))
+            .gender(genderEnum)   // Gender enum or null
+            .depression(depression)
+            .anxiety(anxiety)
+            .stress(stress)
+            .isSuicidal(isSuicidal)
+            .stressReason(stressReason)
+            .build();
+    }
 }
@@ -0,0 +1,15 @@
+package com.ssafy.damdam.domain.counsels.entity;
+
+// 상담 종료 파이프라인 단계. 각 단계는 독립적으로 재시도되며 다시 실행해도 결과가 같다
+public enum CounselCloseStep {
+	SNAPSHOT,        // Redis 대화 이력을 저장 형식으로 인코딩해 작업 행에 보관
+	ARCHIVE,         // 스냅샷을 S3 에 올리고 상담에 s3Link 기록 + 종료 처리
+	SUMMARIZE,       // LLM 상담 요약
+	PERSIST_REPORT,  // SessionReport 저장 + 일별 감정 롤업 반영
+	CLEANUP,         // Redis 대화 이력 삭제 + 스냅샷 비움
+	DONE;
+
+	public CounselCloseStep next() {
+		return (this == DONE) ? DONE : values()[ordinal() + 1];
+	}
+}
@@ -0,0 +1,152 @@
+package com.ssafy.damdam.domain.counsels.entity;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import com.ssafy.damdam.domain.counsels.dto.LlmSummaryResponse;
+import com.ssafy.damdam.global.audit.BaseTimeEntityWithUpdatedAt;
+import com.ssafy.damdam.global.converter.AESConverter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+/**
+ * 상담 종료(레포트 발행) 아웃박스. 상담당 한 행이며 CounselCloseStep 순서대로 진행한다.
+ * next_attempt_at 이 지난 행만 워커가 가져가고, 처리 중에는 임대 시간만큼 미뤄 다른 인스턴스가 잡지 않게 한다.
+ * 단계가 실패하면 그 단계만 지수 백오프로 다시 시도하고, 상한을 넘으면 failed 로 멈춘다 (같은 요청으로 재개).
+ */
+@Entity
+@Getter
+@Table(name = "counsel_close_task")
+public class CounselCloseTask extends BaseTimeEntityWithUpdatedAt {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "close_task_id")
+	private Long closeTaskId;
+
+	@Column(name = "couns_id", nullable = false, unique = true)
+	private Long counsId;
+
+	@Column(name = "user_id", nullable = false)
+	private Long userId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "step", length = 20, nullable = false)
+	private CounselCloseStep step;
+
+	@Column(name = "failed", nullable = false)
+	private boolean failed;
+
+	@Column(name = "attempts", nullable = false)
+	private int attempts;
+
+	@Column(name = "next_attempt_at", nullable = false)
+	private LocalDateTime nextAttemptAt;
+
+	@Column(name = "last_error", length = 500)
+	private String lastError;
+
+	// 업로드할 S3 키. 요청 시 정해 두어 ARCHIVE 를 다시 실행해도 같은 객체를 덮어쓴다
+	@Column(name = "s3_key", nullable = false)
+	private String s3Key;
+
+	// 저장 형식(TranscriptCodec)으로 인코딩·암호화된 대화 원문. CLEANUP 에서 비운다
+	@Column(name = "snapshot")
+	private byte[] snapshot;
+
+	// 요약 결과는 SessionReport 와 같이 컬럼 단위로 암호화한다
+	@Convert(converter = AESConverter.class)
+	@Column(name = "summary", columnDefinition = "TEXT")
+	private String summary;
+
+	@Convert(converter = AESConverter.class)
+	@Column(name = "analysis", columnDefinition = "TEXT")
+	private String analyze;
+
+	@Column(name = "arousal", length = 10)
+	private String arousal;
+
+	@Column(name = "valence", length = 10)
+	private String valence;
+
+	@Column(name = "s_report_id")
+	private Long sReportId;
+
+	protected CounselCloseTask() {
+	}
+
+	public boolean isDone() {
+		return step == CounselCloseStep.DONE;
+	}
+
+	// ARCHIVE 를 마쳐 s3Key 에 원문 객체가 올라가 있는지
+	public boolean isArchived() {
+		return step.compareTo(CounselCloseStep.ARCHIVE) > 0;
+	}
+
+	// 다음 단계로 넘긴다. 이 워커가 이어서 처리하므로 임대는 유지한다
+	public void advance(LocalDateTime leaseUntil) {
+		step = step.next();
+		attempts = 0;
+		lastError = null;
+		nextAttemptAt = leaseUntil;
+	}
+
+	public void lease(LocalDateTime leaseUntil) {
+		nextAttemptAt = leaseUntil;
+	}
+
+	public void retryLater(String error, Duration backoff, int maxAttempts) {
+		attempts++;
+		lastError = (error == null || error.length() <= 500) ? error : error.substring(0, 500);
+		nextAttemptAt = LocalDateTime.now().plus(backoff);
+		failed = attempts >= maxAttempts;
+	}
+
+	// 멈춘 작업을 같은 단계부터 다시 시작한다
+	public void resume(LocalDateTime leaseUntil) {
+		failed = false;
+		attempts = 0;
+		nextAttemptAt = leaseUntil;
+	}
+
+	public void storeSnapshot(byte[] snapshot) {
+		this.snapshot = snapshot;
+	}
+
+	public void storeSummary(LlmSummaryResponse response) {
+		this.summary = response.getSummary();
+		this.analyze = response.getAnalyze();
+		this.arousal = response.getArousal();
+		this.valence = response.getValence();
+	}
+
+	public void completeReport(Long sReportId) {
+		this.sReportId = sReportId;
+	}
+
+	public void clearSnapshot() {
+		this.snapshot = null;
+	}
+
+	// 상담이 삭제되어 더 진행할 수 없다: 남은 상담 내용을 비우고 끝낸다
+	public void abandon() {
+		step = CounselCloseStep.DONE;
+		failed = false;
+		lastError = "상담 삭제됨";
+		snapshot = null;
+		summary = null;
+		analyze = null;
+		arousal = null;
+		valence = null;
+	}
+}
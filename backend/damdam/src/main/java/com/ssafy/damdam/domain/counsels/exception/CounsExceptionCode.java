@@ -15,7 +15,10 @@ public enum CounsExceptionCode implements ExceptionCode {
 
 	COUNSEL_NOT_FOUND(NOT_FOUND, "C-C-001", "상담정보를 찾을 수 없습니다."),
 	COUNSEL_ALREADY_EXIST(BAD_REQUEST, "C-C-002", "이미 생성된 상담내역입니다."),
-	NOT_YOUR_COUNSEL(FORBIDDEN, "C-C-003", "본인의 상담내역이 아닙니다."),;
+	NOT_YOUR_COUNSEL(FORBIDDEN, "C-C-003", "본인의 상담내역이 아닙니다."),
+	ROOM_BUSY(TOO_MANY_REQUESTS, "C-C-004", "이전 메시지를 처리 중입니다. 잠시 후 다시 시도해 주세요."),
+	INVALID_MESSAGE_PAGE(BAD_REQUEST, "C-C-005", "잘못된 대화 내역 조회 범위입니다."),
+	CLOSE_TASK_NOT_FOUND(NOT_FOUND, "C-C-006", "상담 종료 작업을 찾을 수 없습니다.");
 
 	private final HttpStatus httpStatus;
 	private final String code;
@@ -0,0 +1,58 @@
+package com.ssafy.damdam.domain.counsels.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.ssafy.damdam.domain.counsels.entity.CounselCloseTask;
+
+public interface CounselCloseTaskRepository extends JpaRepository<CounselCloseTask, Long> {
+
+	Optional<CounselCloseTask> findByCounsId(Long counsId);
+
+	// 상담 삭제와 ARCHIVE 완료가 겹치지 않도록 행을 잠그고 읽는다
+	@Query(value = "SELECT * FROM counsel_close_task WHERE close_task_id = :taskId FOR UPDATE", nativeQuery = true)
+	Optional<CounselCloseTask> lockById(@Param("taskId") Long taskId);
+
+	@Query(value = "SELECT * FROM counsel_close_task WHERE couns_id = :counsId FOR UPDATE", nativeQuery = true)
+	Optional<CounselCloseTask> lockByCounsId(@Param("counsId") Long counsId);
+
+	// 같은 상담의 종료 요청이 동시에 들어와도 한 행만 만든다. 이미 있으면 0 을 돌려준다
+	@Modifying
+	@Query(value = """
+		INSERT INTO counsel_close_task
+			(couns_id, user_id, step, failed, attempts, next_attempt_at, s3_key, created_at, updated_at)
+		VALUES (:counsId, :userId, 'SNAPSHOT', false, 0, :leaseUntil, :s3Key, :now, :now)
+		ON CONFLICT (couns_id) DO NOTHING
+		""", nativeQuery = true)
+	int insertIfAbsent(
+		@Param("counsId") Long counsId,
+		@Param("userId") Long userId,
+		@Param("s3Key") String s3Key,
+		@Param("leaseUntil") LocalDateTime leaseUntil,
+		@Param("now") LocalDateTime now
+	);
+
+	// 여러 인스턴스가 동시에 폴링해도 같은 행을 잡지 않도록 잠긴 행은 건너뛴다
+	@Query(value = """
+		SELECT close_task_id
+		FROM counsel_close_task
+		WHERE step <> 'DONE'
+		  AND failed = false
+		  AND next_attempt_at <= :now
+		ORDER BY next_attempt_at
+		LIMIT :limit
+		FOR UPDATE SKIP LOCKED
+		""", nativeQuery = true)
+	List<Long> lockDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE CounselCloseTask t SET t.nextAttemptAt = :leaseUntil WHERE t.closeTaskId IN :ids")
+	int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+}
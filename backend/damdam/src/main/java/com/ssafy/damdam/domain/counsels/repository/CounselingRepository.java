@@ -28,4 +28,37 @@ public interface CounselingRepository extends JpaRepository<Counseling, Long> {
 		@Param("start") LocalDateTime start,
 		@Param("end") LocalDateTime end
 	);
+
+	// 기간별 레포트 수집용: 대화 원문(s3Link)이 남아 있는 상담만 생성 순으로
+	@Query("""
+		SELECT c
+		FROM Counseling c
+		WHERE c.users.userId       = :userId
+		  AND c.createdAt BETWEEN :start AND :end
+		  AND c.s3Link    IS NOT NULL
+		  AND TRIM(c.s3Link) <> ''
+		ORDER BY c.createdAt ASC
+		""")
+	List<Counseling> findValidCounselings(
+		@Param("userId") Long userId,
+		@Param("start") LocalDateTime start,
+		@Param("end") LocalDateTime end
+	);
+
+	// 일별 감정 롤업 재계산용: 증분 반영(레포트 저장 시점)과 같은 기준으로 SessionReport 가 저장된 상담만
+	@Query("""
+		SELECT c
+		FROM SessionReport r
+		JOIN r.counseling c
+		WHERE c.users.userId       = :userId
+		  AND c.createdAt BETWEEN :start AND :end
+		  AND c.s3Link    IS NOT NULL
+		  AND TRIM(c.s3Link) <> ''
+		ORDER BY c.createdAt ASC
+		""")
+	List<Counseling> findReportedCounselings(
+		@Param("userId") Long userId,
+		@Param("start") LocalDateTime start,
+		@Param("end") LocalDateTime end
+	);
 }
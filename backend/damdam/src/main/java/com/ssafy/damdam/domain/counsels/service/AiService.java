@@ -1,17 +1,23 @@
 package com.ssafy.damdam.domain.counsels.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.web.multipart.MultipartFile;
+
 import com.ssafy.damdam.domain.counsels.dto.ChatInputDto;
 import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
 import com.ssafy.damdam.domain.counsels.dto.LlmAiChatResponse;
-import com.ssafy.damdam.domain.counsels.dto.LlmSummaryResponse;
+import com.ssafy.damdam.domain.counsels.dto.UserContextDto;
+import com.ssafy.damdam.global.util.audio.AudioClip;
+
+import reactor.core.publisher.Flux;
 
 public interface AiService {
-	EmotionDto analyzeAudio(Long roomId, Long userId, int messageOrder, String audioUrl);
+	AudioClip stageAudio(MultipartFile file);
+
+	EmotionDto analyzeAudio(Long roomId, Long userId, int messageOrder, AudioClip clip);
 
 	EmotionDto analyzingText(String message);
 
-	LlmAiChatResponse chatWithLlm(Long roomId, Long userId, String nickname, ChatInputDto input, EmotionDto emotion);
+	LlmAiChatResponse chatWithLlm(UserContextDto userContext, ChatInputDto input, EmotionDto emotion, boolean emotionStale);
 
-	LlmSummaryResponse getSessionReport(Long counsId) throws JsonProcessingException;
+	Flux<String> streamChatWithLlm(UserContextDto userContext, ChatInputDto input, EmotionDto emotion, boolean emotionStale);
 }
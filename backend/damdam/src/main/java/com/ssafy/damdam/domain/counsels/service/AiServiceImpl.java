@@ -1,50 +1,34 @@
 package com.ssafy.damdam.domain.counsels.service;
 
-import static com.ssafy.damdam.domain.counsels.exception.CounsExceptionCode.*;
-import static com.ssafy.damdam.domain.users.exception.user.UserExceptionCode.*;
-import static com.ssafy.damdam.global.redis.exception.RedisExceptionCode.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
-import java.util.List;
-
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ssafy.damdam.domain.counsels.dto.ChatInputDto;
-import com.ssafy.damdam.domain.counsels.dto.ChatMessageDto;
 import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
 import com.ssafy.damdam.domain.counsels.dto.LlmAiChatRequest;
 import com.ssafy.damdam.domain.counsels.dto.LlmAiChatResponse;
-import com.ssafy.damdam.domain.counsels.dto.LlmSummaryRequest;
-import com.ssafy.damdam.domain.counsels.dto.LlmSummaryResponse;
 import com.ssafy.damdam.domain.counsels.dto.UserContextDto;
-import com.ssafy.damdam.domain.counsels.entity.Counseling;
-import com.ssafy.damdam.domain.counsels.exception.CounsException;
-import com.ssafy.damdam.domain.counsels.repository.CounselingRepository;
-import com.ssafy.damdam.domain.users.entity.Age;
-import com.ssafy.damdam.domain.users.entity.Gender;
-import com.ssafy.damdam.domain.users.entity.Mbti;
-import com.ssafy.damdam.domain.users.entity.UserInfo;
-import com.ssafy.damdam.domain.users.entity.UserSetting;
-import com.ssafy.damdam.domain.users.entity.UserSurvey;
-import com.ssafy.damdam.domain.users.exception.user.UserException;
-import com.ssafy.damdam.domain.users.repository.UserInfoRepository;
-import com.ssafy.damdam.domain.users.repository.UserSettingRepository;
-import com.ssafy.damdam.domain.users.repository.UserSurveyRepository;
 import com.ssafy.damdam.global.aws.s3.S3FileUploadService;
-import com.ssafy.damdam.global.redis.CounselSession;
-import com.ssafy.damdam.global.redis.CounselSessionRepository;
-import com.ssafy.damdam.global.redis.exception.RedisException;
+import com.ssafy.damdam.global.cache.EmotionResultCache;
+import com.ssafy.damdam.global.util.audio.AudioClip;
 import com.ssafy.damdam.global.webclient.client.AnalyzeAudioClient;
-import com.ssafy.damdam.global.webclient.client.AnalyzeTextClient;
 import com.ssafy.damdam.global.webclient.client.LlmChatClient;
 import com.ssafy.damdam.global.webclient.client.LlmPeriodClient;
-import com.ssafy.damdam.global.webclient.client.LlmSummaryClient;
+import com.ssafy.damdam.global.webclient.config.AnalyzeApiProperties;
+import com.ssafy.damdam.global.webclient.dispatch.LlmDispatcher;
+import com.ssafy.damdam.global.webclient.dispatch.LlmLane;
+import com.ssafy.damdam.global.webclient.dispatch.TextEmotionBatcher;
+import com.ssafy.damdam.global.webclient.exception.WebClientException;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 
 @Slf4j
 @Service
@@ -52,31 +36,86 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional(readOnly = true)
 public class AiServiceImpl implements AiService {
 
-	private final UserSettingRepository settingRepository;
-	private final UserInfoRepository infoRepository;
-	private final UserSurveyRepository surveyRepository;
 	private final AnalyzeAudioClient analyzeAudioClient;
-	private final AnalyzeTextClient analyzeTextClient;
+	private final TextEmotionBatcher textEmotionBatcher;
+	private final EmotionResultCache emotionResultCache;
 	private final LlmChatClient llmChatClient;
-	private final LlmSummaryClient llmSummaryClient;
 	private final LlmPeriodClient llmPeriodClient;
-	private final RedisTemplate<String, Object> redisTemplate;
-	private final CounselSessionRepository sessionRepository;
+	private final LlmDispatcher llmDispatcher;
 	private final S3FileUploadService s3FileUploadService;
-	private final CounselingRepository counselingRepository;
-	private final ObjectMapper objectMapper;
-
-	// 값이 없거나 특정되지 않은 경우 null화 하는 함수
-	private String normalizeEnumValue(String v) {
-		if (v == null || v.isBlank() || "UNKNOWN".equalsIgnoreCase(v))
-			return null;
-		return v.trim();
+	private final AnalyzeApiProperties analyzeApiProperties;
+	private final ExecutorService virtualThreadExecutor;
+	// 직접 전송 엔드포인트가 없다는 응답을 받으면 이 시각까지 S3 경유로만 보낸다
+	private volatile long directUploadDisabledUntil;
+
+	// 요청 스레드에서 호출: multipart 파일은 요청이 끝나면 사라지므로 분석에 쓸 원본을 먼저 확보한다
+	@Override
+	public AudioClip stageAudio(MultipartFile file) {
+		if (directUploadAvailable()) {
+			return AudioClip.stage(file);
+		}
+		return AudioClip.ofUrl(s3FileUploadService.uploadAudio(file, "audio"));
 	}
 
 	@Override
-	@Transactional
-	public EmotionDto analyzeAudio(Long roomId, Long userId, int messageOrder, String audioUrl) {
+	public EmotionDto analyzeAudio(Long roomId, Long userId, int messageOrder, AudioClip clip) {
+		if (!clip.isStaged()) {
+			return analyzeAudioByUrl(clip.getUrl());
+		}
+
+		AnalyzeApiProperties.AudioUpload props = analyzeApiProperties.getAudioUpload();
+		// 감사용 보관은 분석과 동시에 올리고, 임시 파일이 지워지기 전에 끝낸다
+		CompletableFuture<String> audit = props.isS3Audit()
+			? CompletableFuture.supplyAsync(() -> s3FileUploadService.uploadAudio(clip, "audio-audit"), virtualThreadExecutor)
+			: CompletableFuture.completedFuture(null);
+		try {
+			if (directUploadAvailable()) {
+				try {
+					return analyzeAudioClient.analyzeAudioFile(clip);
+				} catch (WebClientException e) {
+					// 서킷이 열려 있으면 S3 를 거쳐도 같은 서버이므로 폴백하지 않는다
+					throw e;
+				} catch (RuntimeException e) {
+					if (!props.isS3Fallback()) {
+						throw e;
+					}
+					if (e instanceof WebClientResponseException re && isUnsupported(re)) {
+						// 지금 서버에 직접 전송 엔드포인트가 없으면 retryAfter 동안 매 턴 왕복하지 않고 S3 경유로만 보낸다
+						directUploadDisabledUntil = System.currentTimeMillis() + props.getRetryAfter().toMillis();
+						log.warn("[AI] 음성 직접 전송 엔드포인트 미지원(status={}), {} 동안 S3 경유로 전환",
+							re.getStatusCode(), props.getRetryAfter());
+					} else {
+						log.warn("[AI] 음성 직접 전송 실패, S3 경유로 재시도: roomId={}, messageOrder={}, {}",
+							roomId, messageOrder, e.getMessage());
+					}
+				}
+			}
+			return analyzeAudioByUrl(s3FileUploadService.uploadAudio(clip, "audio"));
+		} finally {
+			try {
+				audit.join();
+			} catch (Exception e) {
+				log.warn("[AI] 음성 감사용 S3 보관 실패: roomId={}, messageOrder={}", roomId, messageOrder, e);
+			}
+			// 예산을 넘겨 늦게 끝나는 분석도 있으므로 임시 파일은 분석이 끝난 여기서 지운다
+			clip.discard();
+		}
+	}
+
+	// 직접 전송을 끄지 않았고, 미지원 응답으로 잠시 꺼 둔 상태도 아니면 true
+	private boolean directUploadAvailable() {
+		return analyzeApiProperties.getAudioUpload().isEnabled()
+			&& System.currentTimeMillis() >= directUploadDisabledUntil;
+	}
 
+	private static boolean isUnsupported(WebClientResponseException e) {
+		return e.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)
+			|| e.getStatusCode().isSameCodeAs(HttpStatus.METHOD_NOT_ALLOWED)
+			|| e.getStatusCode().isSameCodeAs(HttpStatus.NOT_IMPLEMENTED);
+	}
+
+	// 기존 경로: ai-analyze 가 S3 에서 내려받아 분석한 뒤 원본을 지운다
+	private EmotionDto analyzeAudioByUrl(String audioUrl) {
 		EmotionDto dto = analyzeAudioClient.analyzeAudio(audioUrl);
 		s3FileUploadService.deleteAudioFile(audioUrl);
 		return dto;
@@ -84,105 +123,34 @@ public class AiServiceImpl implements AiService {
 
 	@Override
 	public EmotionDto analyzingText(String message) {
-		return analyzeTextClient.analyzeText(message);
+		// 자주 반복되는 짧은 문장은 캐시된 결과를 쓰고, 나머지는 동시에 들어온 문장들과 묶어서 한 번에 분석한다
+		return emotionResultCache.get(message, textEmotionBatcher::analyze);
 	}
 
 	@Override
-	public LlmAiChatResponse chatWithLlm(
-		Long roomId,
-		Long userId,
-		String nickname,
-		ChatInputDto input,
-		EmotionDto emotion
-	) {
-
-		CounselSession session = sessionRepository.findById(roomId)
-			.orElseThrow(() -> new RedisException(REDIS_SESSION_NOT_FOUND));
-
-		UserInfo infos = infoRepository.findById(userId)
-			.orElseThrow(() -> new UserException(USER_INFO_NOT_FOUND));
-		UserSetting setting = settingRepository.findById(userId)
-			.orElseThrow(() -> new UserException(USER_SETTING_NOT_FOUND));
-
-		UserSurvey survey = surveyRepository.findById(userId).orElse(null);
-		int depression = -1, anxiety = -1, stress = -1;
-		Boolean isSuicidal = null;
-		String stressReason = null;
-
-		if (survey != null) {
-			depression = survey.getDepression();
-			anxiety = survey.getAnxiety();
-			stress = survey.getStress();
-			isSuicidal = survey.getIsSuicidal();
-			stressReason = normalizeEnumValue(survey.getStressReason());
-		}
+	public LlmAiChatResponse chatWithLlm(UserContextDto userContext, ChatInputDto input, EmotionDto emotion,
+		boolean emotionStale) {
+		LlmAiChatRequest request = buildChatRequest(userContext, input, emotion, emotionStale);
+		return llmDispatcher.call(llmDispatcher.laneFor(userContext, emotion),
+			() -> llmChatClient.requestChatResponse(request));
+	}
 
-		String rawAge = normalizeEnumValue(String.valueOf(infos.getAge()));
-		Age ageEnum = rawAge != null ? Age.valueOf(rawAge) : null;
-
-		String rawMbti = normalizeEnumValue(String.valueOf(infos.getMbti()));
-		Mbti mbtiEnum = rawMbti != null ? Mbti.valueOf(rawMbti) : null;
-
-		String rawGender = normalizeEnumValue(String.valueOf(infos.getGender()));
-		Gender genderEnum = rawGender != null ? Gender.valueOf(rawGender) : null;
-
-		UserContextDto userContext = UserContextDto.builder()
-			.nickname(nickname)
-			.botCustom(normalizeEnumValue(setting.getBotCustom()))
-			.age(ageEnum)   // Age enum or null
-			.mbti(mbtiEnum)   // Mbti enum or null
-			.career(normalizeEnumValue(infos.getCareer()))
-			.gender(genderEnum)   // Gender enum or null
-			.depression(depression)
-			.anxiety(anxiety)
-			.stress(stress)
-			.isSuicidal(isSuicidal)
-			.stressReason(stressReason)
-			.build();
+	@Override
+	public Flux<String> streamChatWithLlm(UserContextDto userContext, ChatInputDto input, EmotionDto emotion,
+		boolean emotionStale) {
+		LlmAiChatRequest request = buildChatRequest(userContext, input, emotion, emotionStale);
+		return llmDispatcher.stream(llmDispatcher.laneFor(userContext, emotion),
+			() -> llmChatClient.streamChatResponse(request));
+	}
 
-		LlmAiChatRequest request = LlmAiChatRequest.builder()
+	private LlmAiChatRequest buildChatRequest(UserContextDto userContext, ChatInputDto input, EmotionDto emotion,
+		boolean emotionStale) {
+		return LlmAiChatRequest.builder()
 			.messageInput(input)
 			.userContext(userContext)
 			.emotion(emotion)
+			.emotionStale(emotionStale)
 			.build();
-
-		return llmChatClient.requestChatResponse(request);
-	}
-
-	@Override
-	@Transactional
-	public LlmSummaryResponse getSessionReport(Long counsId) throws JsonProcessingException {
-
-		CounselSession session = sessionRepository.findById(counsId)
-			.orElseThrow(() -> new RedisException(REDIS_SESSION_NOT_FOUND));
-
-		String listKey = "counsel:" + counsId + ":messages";
-		List<Object> rawList = redisTemplate.opsForList().range(listKey, 0, -1);
-		List<ChatMessageDto> messages = rawList == null
-			? List.of()
-			: rawList.stream()
-			.map(item -> objectMapper.convertValue(item, ChatMessageDto.class))
-			.toList();
-
-		LlmSummaryRequest request = LlmSummaryRequest.builder()
-			.counsId(counsId)
-			.userId(session.getUserId())
-			.messageList(messages)
-			.build();
-
-		LlmSummaryResponse llmResponse = llmSummaryClient.requestSummary(request);
-
-		String s3Url = s3FileUploadService.uploadFullText(request);
-		log.info("uploaded full chatting s3 url: {}", s3Url);
-		// 4. counseling entity에 s3url update
-		Counseling counseling = counselingRepository.findById(counsId)
-			.orElseThrow(() -> new CounsException(COUNSEL_NOT_FOUND));
-
-		counseling.updateS3Link(s3Url);
-
-		// 5. DTO 반환
-
-		return llmResponse;
 	}
 
 }
@@ -0,0 +1,157 @@
+package com.ssafy.damdam.domain.counsels.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.ssafy.damdam.domain.counsels.dto.ChatTurnContext;
+import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
+import com.ssafy.damdam.domain.counsels.dto.UserContextDto;
+import com.ssafy.damdam.global.cache.UserContextCache;
+import com.ssafy.damdam.global.redis.CounselSession;
+import com.ssafy.damdam.global.util.async.FailFastScope;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * llm 호출 직전에 필요한 값(감정 분석, 유저 컨텍스트)을 동시에 모은다.
+ * 유저 컨텍스트 조회가 실패하면 나머지 조회는 취소되고 실패가 그대로 전파된다.
+ * 감정 분석은 턴마다 시간 예산(emotionBudget)을 두고, 예산 안에 끝나지 않거나 실패하면 세션에 남은 직전 감정을
+ * stale 표시와 함께 대신 쓴다. 늦게 도착한 분석 결과는 ChatTurnContext.lateEmotion 으로 넘겨 나중에 반영한다.
+ * 단계별 소요시간은 damdam.chat.context.stage 타이머(stage 태그)로, 대체 횟수는 damdam.chat.emotion.stale(reason 태그)로 기록된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatContextAssembler {
+
+	private static final String STAGE_TIMER = "damdam.chat.context.stage";
+	private static final String STALE_COUNTER = "damdam.chat.emotion.stale";
+
+	private final UserContextCache userContextCache;
+	private final ExecutorService virtualThreadExecutor;
+	private final MeterRegistry meterRegistry;
+
+	// session 은 턴을 열 때 같은 왕복으로 읽어 온 스냅샷을 그대로 받는다. emotionBudget 이 0 이면 분석이 끝날 때까지 기다린다
+	public ChatTurnContext assemble(
+		Long roomId,
+		Long userId,
+		CounselSession session,
+		Callable<EmotionDto> emotionTask,
+		Duration emotionBudget
+	) {
+		Map<String, Long> stageMillis = new ConcurrentHashMap<>();
+		long startedAt = System.nanoTime();
+
+		// 분석은 예산을 넘겨도 계속 진행되어야 하므로 scope 밖에서 시작한다
+		Callable<EmotionDto> timedEmotion = timed("emotion", stageMillis, emotionTask);
+		CompletableFuture<EmotionDto> analysis = CompletableFuture.supplyAsync(() -> {
+			try {
+				return timedEmotion.call();
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new CompletionException(e);
+			}
+		}, virtualThreadExecutor);
+
+		try (FailFastScope scope = new FailFastScope(virtualThreadExecutor)) {
+			Supplier<EmotionDto> emotion = scope.fork(() -> awaitEmotion(roomId, analysis, emotionBudget));
+			Supplier<UserContextDto> userContext = scope.fork(timed("userContext", stageMillis, () ->
+				userContextCache.get(userId)));
+
+			scope.join().throwIfFailed();
+
+			long total = System.nanoTime() - startedAt;
+			stageMillis.put("total", TimeUnit.NANOSECONDS.toMillis(total));
+			meterRegistry.timer(STAGE_TIMER, "stage", "total").record(total, TimeUnit.NANOSECONDS);
+			log.info("[ChatContext] roomId={}, stages(ms)={}", roomId, new LinkedHashMap<>(stageMillis));
+
+			EmotionDto fresh = emotion.get();
+			boolean stale = fresh == null;
+			return ChatTurnContext.builder()
+				.session(session)
+				.userContext(userContext.get())
+				.emotion(stale ? lastEmotion(session) : fresh)
+				.emotionStale(stale)
+				.lateEmotion(stale ? analysis : null)
+				.stageMillis(stageMillis)
+				.build();
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("채팅 컨텍스트 조회가 중단되었습니다.", e);
+		}
+	}
+
+	// 예산 안에 끝나면 분석 결과, 넘기거나 실패하면 null (직전 감정으로 대체)
+	private EmotionDto awaitEmotion(Long roomId, CompletableFuture<EmotionDto> analysis, Duration budget)
+		throws InterruptedException {
+		if (budget == null || budget.isZero() || budget.isNegative()) {
+			try {
+				return analysis.get();
+			} catch (ExecutionException e) {
+				throw unwrap(e.getCause());
+			}
+		}
+
+		try {
+			return analysis.get(budget.toNanos(), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			meterRegistry.counter(STALE_COUNTER, "reason", "timeout").increment();
+			log.info("[ChatContext] 감정 분석 {}ms 초과, 직전 감정으로 진행: roomId={}", budget.toMillis(), roomId);
+			return null;
+		} catch (ExecutionException e) {
+			meterRegistry.counter(STALE_COUNTER, "reason", "error").increment();
+			log.warn("[ChatContext] 감정 분석 실패, 직전 감정으로 진행: roomId={}, {}", roomId, e.getCause().getMessage());
+			return null;
+		}
+	}
+
+	// 세션에 남은 직전 턴의 감정. 첫 턴이라 아직 없으면 중립으로 본다
+	private EmotionDto lastEmotion(CounselSession session) {
+		if (session.getSender() == null) {
+			return EmotionDto.builder().neutral(100).build();
+		}
+		return EmotionDto.builder()
+			.happiness(session.getHappiness())
+			.angry(session.getAngry())
+			.neutral(session.getNeutral())
+			.sadness(session.getSadness())
+			.other(session.getOther())
+			.build();
+	}
+
+	private static RuntimeException unwrap(Throwable cause) {
+		if (cause instanceof CompletionException && cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		return cause instanceof RuntimeException runtimeException ? runtimeException : new CompletionException(cause);
+	}
+
+	private <T> Callable<T> timed(String stage, Map<String, Long> stageMillis, Callable<T> task) {
+		return () -> {
+			long start = System.nanoTime();
+			try {
+				return task.call();
+			} finally {
+				long elapsed = System.nanoTime() - start;
+				stageMillis.put(stage, TimeUnit.NANOSECONDS.toMillis(elapsed));
+				meterRegistry.timer(STAGE_TIMER, "stage", stage).record(elapsed, TimeUnit.NANOSECONDS);
+			}
+		};
+	}
+}
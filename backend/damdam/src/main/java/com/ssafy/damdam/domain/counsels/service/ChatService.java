@@ -1,17 +1,15 @@
 package com.ssafy.damdam.domain.counsels.service;
 
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.web.multipart.MultipartFile;
 
 import com.ssafy.damdam.domain.counsels.dto.ChatInputDto;
 
 public interface ChatService {
-	void handleChat(Long roomId, Long userId, ChatInputDto input) throws ExecutionException, InterruptedException;
+	CompletableFuture<Void> handleChat(Long roomId, Long userId, ChatInputDto input);
 
 	void deleteRedisChatting(Long counsId);
 
-	void handleVoiceMessage(Long counsId, Long userId, int messageOrder, MultipartFile file) throws
-		ExecutionException,
-		InterruptedException;
+	CompletableFuture<Void> handleVoiceMessage(Long counsId, Long userId, int messageOrder, MultipartFile file);
 }
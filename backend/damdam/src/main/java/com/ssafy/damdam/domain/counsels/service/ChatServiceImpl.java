@@ -4,28 +4,30 @@ import static com.ssafy.damdam.global.redis.exception.RedisExceptionCode.*;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ssafy.damdam.domain.counsels.dto.ChatInputDto;
 import com.ssafy.damdam.domain.counsels.dto.ChatMessageDto;
 import com.ssafy.damdam.domain.counsels.dto.ChatOutputDto;
+import com.ssafy.damdam.domain.counsels.dto.ChatStreamDto;
+import com.ssafy.damdam.domain.counsels.dto.ChatTurnContext;
 import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
 import com.ssafy.damdam.domain.counsels.dto.LlmAiChatResponse;
-import com.ssafy.damdam.domain.users.repository.UsersRepository;
-import com.ssafy.damdam.global.aws.s3.S3FileUploadService;
+import com.ssafy.damdam.domain.counsels.dto.UserContextDto;
 import com.ssafy.damdam.global.redis.CounselSession;
-import com.ssafy.damdam.global.redis.CounselSessionRepository;
+import com.ssafy.damdam.global.redis.ChatMessageStore;
+import com.ssafy.damdam.global.redis.CounselSessionStore;
+import com.ssafy.damdam.global.redis.TurnSnapshot;
 import com.ssafy.damdam.global.redis.exception.RedisException;
+import com.ssafy.damdam.global.util.audio.AudioClip;
+import com.ssafy.damdam.global.webclient.config.AnalyzeApiProperties;
+import com.ssafy.damdam.global.webclient.config.LlmApiProperties;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,109 +35,88 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class ChatServiceImpl implements ChatService {
 
-	private final CounselSessionRepository counselSessionRepository;
+	private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+	private final CounselSessionStore counselSessionStore;
 	private final SimpMessagingTemplate messagingTemplate;
-	private final RedisTemplate<String, Object> redisTemplate;
+	private final ChatMessageStore chatMessageStore;
 	private final AiService aiService;
 	private final ExecutorService virtualThreadExecutor;
-	private final S3FileUploadService s3FileUploadService;
-	private final UsersRepository usersRepository;
-	private final ObjectMapper objectMapper;
-
-	// 레디스 세션을 업데이트 하는 공통 메서드
-	private void updateSession(CounselSession session, EmotionDto emotion, LlmAiChatResponse botReply) {
-		session.decrementToken();
-		session.setHappiness(emotion.getHappiness());
-		session.setAngry(emotion.getAngry());
-		session.setNeutral(emotion.getNeutral());
-		session.setSadness(emotion.getSadness());
-		session.setOther(emotion.getOther());
-		session.setSender("AI");
-		session.setMessage(botReply.getAiResponse());
-		session.setTimestamp(LocalDateTime.now());
-	}
+	private final ChatContextAssembler chatContextAssembler;
+	private final RoomMailbox roomMailbox;
+	private final LlmApiProperties llmApiProperties;
+	private final AnalyzeApiProperties analyzeApiProperties;
 
-	@Override
-	@Transactional
-	public void handleChat(
+	// llm 응답 요청. 스트리밍 모드일 경우 생성되는 청크를 즉시 웹소켓으로 중계하고, 완성된 응답을 조립해 반환한다
+	private LlmAiChatResponse requestBotReply(
 		Long roomId,
-		Long userId,
-		ChatInputDto input
-	) throws ExecutionException, InterruptedException {
-
-		ZoneId seoul = ZoneId.of("Asia/Seoul");
-
-		counselSessionRepository.findById(roomId)
-			.orElseGet(() -> {
-				log.info("[ChatService] 첫 세션 자동 생성:  roomId={}, userId={}",
-					roomId, userId);
-				return counselSessionRepository.save(
-					CounselSession.builder()
-						.counsId(roomId)
-						.userId(userId)
-						.tokenCount(20)
-						.build()
-				);
-			});
-
-		String listKey = "counsel:" + roomId + ":messages";
-
-		ChatMessageDto userMsg = ChatMessageDto.builder()
-			.sender("USER")
-			.isVoice(input.getIsVoice())
-			.messageOrder(input.getMessageOrder())
-			.message(input.getMessage())
-			.timestamp(LocalDateTime.now(seoul))
-			.emotion(null)   // 아직 분석 전이므로 null
-			.build();
-
-		redisTemplate.opsForList().rightPush(listKey, userMsg);
-
-		if (input.getIsVoice()) {
-			return;
+		UserContextDto userContext,
+		ChatInputDto input,
+		EmotionDto emotion,
+		boolean emotionStale
+	) {
+		if (!llmApiProperties.isChatStreaming()) {
+			return aiService.chatWithLlm(userContext, input, emotion, emotionStale);
 		}
 
-		// 텍스트 대화일 시 텍스트 감정 분석 호출
-		Future<EmotionDto> future = virtualThreadExecutor.submit(() ->
-			aiService.analyzingText(input.getMessage())
-		);
+		String streamDestination = "/sub/counsels/" + roomId + "/chat/stream";
+		StringBuilder assembled = new StringBuilder();
+		AtomicInteger seq = new AtomicInteger();
 
-		EmotionDto emotion = future.get();
-
-		log.info("[AI] 텍스트 감정 분석 완료");
+		aiService.streamChatWithLlm(userContext, input, emotion, emotionStale)
+			.doOnNext(delta -> {
+				assembled.append(delta);
+				messagingTemplate.convertAndSend(streamDestination, ChatStreamDto.builder()
+					.sender("AI")
+					.messageOrder(input.getMessageOrder())
+					.seq(seq.getAndIncrement())
+					.delta(delta)
+					.build());
+			})
+			.blockLast();
+
+		return LlmAiChatResponse.builder()
+			.aiResponse(assembled.toString())
+			.build();
+	}
 
-		CounselSession session = counselSessionRepository.findById(roomId)
-				.orElseThrow(() -> new RedisException(REDIS_SESSION_NOT_FOUND));
+	// 컨텍스트 조립(감정 분석 포함)이 끝난 한 턴에 대해 llm 응답을 받고, 세션과 대화 이력을 갱신한 뒤 웹소켓 응답을 만든다
+	private ChatOutputDto replyWithLlm(Long roomId, ChatInputDto input, ChatTurnContext context) {
 
-		// 유저 닉네임 호출
-		String nickname = usersRepository.findById(userId).get().getNickname();
+		CounselSession session = context.getSession();
+		EmotionDto emotion = context.getEmotion();
+		int tokenCount = session.getTokenCount();
 		LlmAiChatResponse botReply;
 
 		// llm 로직 호출
 		try {
-			botReply = aiService.chatWithLlm(
-					roomId, userId, nickname, input, emotion
+			botReply = requestBotReply(
+					roomId, context.getUserContext(), input, emotion, context.isEmotionStale()
 			);
 
-			// 세션 업데이트 (토큰 차감 + 마지막 감정 저장)
-			updateSession(session, emotion, botReply);
-			session.setMessageOrder(input.getMessageOrder());
-			counselSessionRepository.save(session);
-
 			// 해당하는 레디스 방에 AI 응답 생성 (여기에는 LLM의 대답 + 감정 분석 결과 함께)
 			ChatMessageDto aiMsg = ChatMessageDto.builder()
 					.sender("AI")
-					.isVoice(false)
+					.isVoice(input.getIsVoice())
 					.messageOrder(input.getMessageOrder())
 					.message(botReply.getAiResponse())
-					.timestamp(LocalDateTime.now(seoul))
+					.timestamp(LocalDateTime.now(SEOUL))
 					.emotion(emotion)
 					.build();
 
-			redisTemplate.opsForList().rightPush(listKey, aiMsg);
+			// 대화 이력 적재 + 세션 업데이트(토큰 차감 + 마지막 감정 저장)를 한 번의 스크립트로 처리
+			int remaining = counselSessionStore.appendAiReply(roomId, aiMsg);
+			if (remaining < 0) {
+				throw new RedisException(REDIS_SESSION_NOT_FOUND);
+			}
+			tokenCount = remaining;
+
+			// 직전 감정으로 먼저 응답한 경우, 분석 결과가 도착하면 방금 적재한 AI 메시지에 반영한다
+			if (context.getLateEmotion() != null) {
+				patchLateEmotion(roomId, aiMsg, context.getLateEmotion());
+			}
 
 		} catch (Exception e) {
 			log.error("[AI] LLM 호출 중 오류 발생: {}", e.getMessage());
@@ -147,122 +128,153 @@ public class ChatServiceImpl implements ChatService {
 		}
 
 		// WebSocket 전송 응답 생성 (여기에는 분석 결과 제외)
-		ChatOutputDto chatOutputDto = ChatOutputDto.builder()
+		return ChatOutputDto.builder()
 				.sender("AI")
 				.message(botReply.getAiResponse())
-				.timestamp(LocalDateTime.now(seoul))
-				.tokenCount(session.getTokenCount())
+				.timestamp(LocalDateTime.now(SEOUL))
+				.tokenCount(tokenCount)
 				.messageOrder(input.getMessageOrder())
 				.build();
+	}
+
+	private void patchLateEmotion(Long roomId, ChatMessageDto aiMsg, CompletableFuture<EmotionDto> lateEmotion) {
+		lateEmotion
+			.thenAcceptAsync(fresh -> {
+				boolean patched = counselSessionStore.patchAiReplyEmotion(roomId, aiMsg, fresh);
+				log.info("[AI] 늦은 감정 분석 결과 반영: roomId={}, messageOrder={}, patched={}",
+					roomId, aiMsg.getMessageOrder(), patched);
+			}, virtualThreadExecutor)
+			.exceptionally(e -> {
+				log.warn("[AI] 늦은 감정 분석 결과 반영 실패: roomId={}, messageOrder={}, {}",
+					roomId, aiMsg.getMessageOrder(), e.getMessage());
+				return null;
+			});
+	}
 
+	private void sendReply(Long roomId, ChatOutputDto chatOutputDto) {
 		messagingTemplate.convertAndSend(
 			"/sub/counsels/" + roomId + "/chat", chatOutputDto);
 	}
 
 	@Override
-	@Transactional
-	public void handleVoiceMessage(
+	public CompletableFuture<Void> handleChat(
 		Long roomId,
 		Long userId,
-		int messageOrder,
-		MultipartFile file
-	) throws ExecutionException, InterruptedException {
-
-		ZoneId seoul = ZoneId.of("Asia/Seoul");
-
-		String audioUrl = s3FileUploadService.uploadAudio(file, "audio");
-		log.info("S3 업로드 완료: roomId={}, messageOrder={}, url={}",
-			roomId, messageOrder, audioUrl);
-
-		// 받아온 file과 웹소켓 메세지(redis에 저장된)가 같은 대화를 매치시킴
-		// 같은 룸의 대화 전체를 탐색해서 같은 messageOrder를 가진 대화를 session으로 갖는다.
-		CounselSession session = counselSessionRepository.findById(roomId)
-			.orElseThrow(() -> new RedisException(REDIS_SESSION_NOT_FOUND));
-
-		String listKey = "counsel:" + roomId + ":messages";
-		List<Object> rawList = redisTemplate.opsForList().range(listKey, 0, -1);
-		ChatMessageDto userMsg = rawList.stream()
-			.map(item -> objectMapper.convertValue(item, ChatMessageDto.class))
-			.filter(dto -> dto.getMessageOrder() == messageOrder && "USER".equals(dto.getSender()))
-			.findFirst()
-			.orElseThrow(() -> new RedisException(MESSAGE_ORDER_NOT_FOUND));
-
-		// 존재한다면 음성 대화의 감정 추출
-		Future<EmotionDto> future = virtualThreadExecutor.submit(() ->
-			aiService.analyzeAudio(roomId, userId, messageOrder, audioUrl)
-		);
+		ChatInputDto input
+	) {
 
-		EmotionDto emotion = future.get();
+		// 같은 방의 텍스트/음성 턴은 메일박스에서 도착 순서대로 하나씩 처리 (세션 토큰/감정 갱신 경합 방지)
+		return roomMailbox.submit(roomId, () -> {
+			ChatMessageDto userMsg = ChatMessageDto.builder()
+				.sender("USER")
+				.isVoice(input.getIsVoice())
+				.messageOrder(input.getMessageOrder())
+				.message(input.getMessage())
+				.timestamp(LocalDateTime.now(SEOUL))
+				.emotion(null)   // 아직 분석 전이므로 null
+				.build();
 
-		log.info("[AI] 음성 감정 분석 완료");
+			// 세션 자동 생성 + 유저 메시지 적재 + 세션 스냅샷 조회를 한 번의 왕복으로 처리
+			// 음성 메시지는 여기까지만 처리 (이후 음성 업로드 턴이 같은 메일박스에서 이 메시지를 찾음)
+			CounselSession session = counselSessionStore.openTurn(roomId, userId, 20, userMsg);
+
+			if (input.getIsVoice()) {
+				return CompletableFuture.<Void>completedFuture(null);
+			}
+
+			// 텍스트 대화일 시 (감정 분석 + 유저 컨텍스트 조회) → llm 응답 → 웹소켓 전송
+			return CompletableFuture
+				.supplyAsync(() -> chatContextAssembler.assemble(
+					roomId, userId, session, () -> aiService.analyzingText(input.getMessage()),
+					analyzeApiProperties.getTextBudget()), virtualThreadExecutor)
+				.thenApplyAsync(context -> {
+					log.info("[AI] 텍스트 감정 분석 및 컨텍스트 조회 완료");
+					return replyWithLlm(roomId, input, context);
+				}, virtualThreadExecutor)
+				.thenAccept(output -> sendReply(roomId, output));
+		}).exceptionally(e -> {
+			log.error("[ChatService] 채팅 처리 실패: roomId={}, messageOrder={}",
+				roomId, input.getMessageOrder(), e);
+			return null;
+		});
+	}
 
-		// 유저 닉네임 호출
-		String nickname = usersRepository.findById(userId).get().getNickname();
+	@Override
+	public CompletableFuture<Void> handleVoiceMessage(
+		Long roomId,
+		Long userId,
+		int messageOrder,
+		MultipartFile file
+	) {
 
-		// llm 호출을 위한 정제
-		ChatInputDto input = ChatInputDto.builder()
-			.isVoice(true)
-			.messageOrder(messageOrder)
-			.message(userMsg.getMessage())
-			.build();
+		// multipart 파일은 요청이 끝나면 사라지므로 임시 파일(직접 전송) 또는 S3 업로드까지는 요청 스레드에서 처리
+		AudioClip clip = aiService.stageAudio(file);
+		log.info("음성 파일 확보 완료: roomId={}, messageOrder={}, staged={}",
+			roomId, messageOrder, clip.isStaged());
 
-		// llm 로직 호출
-		LlmAiChatResponse botReply;
+		// 이후 단계는 같은 방의 앞선 턴(음성 메시지의 유저 메시지 적재 포함)이 끝난 뒤 메일박스에서 처리
+		CompletableFuture<Void> turnFuture;
 		try {
-			botReply = aiService.chatWithLlm(
-					roomId, userId, nickname, input, emotion
-			);
-
-			// 세션 업데이트
-			updateSession(session, emotion, botReply);
-			session.setMessageOrder(messageOrder);
-			counselSessionRepository.save(session);
-
-			// 레디스에 AI 응답 및 감정분석 결과 추가
-			ChatMessageDto aiMsg = ChatMessageDto.builder()
-					.sender("AI")
+			turnFuture = roomMailbox.submit(roomId, () -> {
+				// 받아온 file과 웹소켓 메세지(redis에 저장된)가 같은 대화를 매치시킴
+				// 세션 스냅샷과 messageOrder 인덱스의 유저 메시지를 한 번의 파이프라인으로 조회한다.
+				TurnSnapshot turn = counselSessionStore.findTurn(roomId, messageOrder)
+					.orElseThrow(() -> new RedisException(REDIS_SESSION_NOT_FOUND));
+
+				ChatMessageDto userMsg = turn.getUserMessage() != null
+					? turn.getUserMessage()
+					: chatMessageStore.findUserMessage(roomId, messageOrder)
+						.orElseThrow(() -> new RedisException(MESSAGE_ORDER_NOT_FOUND));
+
+				// llm 호출을 위한 정제
+				ChatInputDto input = ChatInputDto.builder()
 					.isVoice(true)
 					.messageOrder(messageOrder)
-					.message(botReply.getAiResponse())
-					.timestamp(LocalDateTime.now(seoul))
-					.emotion(emotion)
+					.message(userMsg.getMessage())
 					.build();
 
-			redisTemplate.opsForList().rightPush(listKey, aiMsg);
-
-		} catch (Exception e) {
-			log.error("[AI] LLM 호출 중 오류 발생: {}", e.getMessage());
-			// 이곳에 오류 발생 자체 응답 생성 (redis 저장 및 호출 x)
-			// output 자체 생성 후 websocket 전송
-			botReply = LlmAiChatResponse.builder()
-					.aiResponse("죄송합니다. 현재 AI 상담 서비스에 일시적인 오류가 있습니다. 잠시 후 다시 시도해 주세요.")
-					.build();
+				// (음성 감정 추출 + 유저 컨텍스트 조회) → llm 응답 → 웹소켓 전송
+				return CompletableFuture
+					.supplyAsync(() -> chatContextAssembler.assemble(
+						roomId, userId, turn.getSession(), () -> aiService.analyzeAudio(roomId, userId, messageOrder, clip),
+						analyzeApiProperties.getAudioBudget()), virtualThreadExecutor)
+					.thenApplyAsync(context -> {
+						log.info("[AI] 음성 감정 분석 및 컨텍스트 조회 완료");
+						return replyWithLlm(roomId, input, context);
+					}, virtualThreadExecutor)
+					.thenAccept(output -> sendReply(roomId, output));
+			});
+		} catch (RuntimeException e) {
+			// 메일박스가 가득 차 거절되면(ROOM_BUSY) 아래 정리가 붙지 않으므로 여기서 확보한 음성을 지운다
+			clip.discard();
+			throw e;
 		}
 
-		// 웹소켓에 챗봇 응답 전달
-		ChatOutputDto chatOutputDto = ChatOutputDto.builder()
-			.sender("AI")
-			.message(botReply.getAiResponse())
-			.timestamp(LocalDateTime.now(seoul))
-			.tokenCount(session.getTokenCount())
-			.messageOrder(messageOrder)
-			.build();
-
-		messagingTemplate.convertAndSend(
-			"/sub/counsels/" + roomId + "/chat", chatOutputDto);
-
+		return turnFuture.whenComplete((ignored, e) -> {
+			// 정상 흐름에서는 분석이 끝날 때(늦게 끝나도) 지우므로, 턴이 실패했을 때만 여기서 정리한다
+			if (e != null) {
+				clip.discard();
+			}
+		}).exceptionally(e -> {
+			log.error("[ChatService] 음성 채팅 처리 실패: roomId={}, messageOrder={}",
+				roomId, messageOrder, e);
+			return null;
+		});
 	}
 
-	@Transactional
+	// 진행 중인 턴이 세션을 다시 저장하지 않도록, 같은 방의 대기 작업이 모두 끝난 뒤 정리한다
+	@Override
 	public void deleteRedisChatting(Long roomId) {
-		// 세션 삭제
-		counselSessionRepository.deleteById(roomId);
-
-		// Redis 대화 이력 삭제
-		String listKey = "counsel:" + roomId + ":messages";
-		redisTemplate.delete(listKey);
-
-		log.info("[Room {}] 상담 종료: Redis 대화 기록 삭제", roomId);
+		roomMailbox.submitUnbounded(roomId, () -> {
+			// 세션 + Redis 대화 이력(인덱스 포함) 삭제
+			counselSessionStore.deleteRoom(roomId);
+
+			log.info("[Room {}] 상담 종료: Redis 대화 기록 삭제", roomId);
+			return CompletableFuture.<Void>completedFuture(null);
+		}).exceptionally(e -> {
+			log.error("[Room {}] Redis 대화 기록 삭제 실패", roomId, e);
+			return null;
+		});
 	}
 
 }
@@ -0,0 +1,223 @@
+package com.ssafy.damdam.domain.counsels.service;
+
+import static com.ssafy.damdam.domain.counsels.exception.CounsExceptionCode.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ssafy.damdam.domain.counsels.config.CounselCloseProperties;
+import com.ssafy.damdam.domain.counsels.dto.ChatMessageDto;
+import com.ssafy.damdam.domain.counsels.dto.CounselCloseTaskResponse;
+import com.ssafy.damdam.domain.counsels.dto.LlmSummaryResponse;
+import com.ssafy.damdam.domain.counsels.entity.CounselCloseStep;
+import com.ssafy.damdam.domain.counsels.entity.CounselCloseTask;
+import com.ssafy.damdam.domain.counsels.entity.Counseling;
+import com.ssafy.damdam.domain.counsels.exception.CounsException;
+import com.ssafy.damdam.domain.counsels.repository.CounselCloseTaskRepository;
+import com.ssafy.damdam.domain.counsels.repository.CounselingRepository;
+import com.ssafy.damdam.domain.reports.entity.SessionReport;
+import com.ssafy.damdam.domain.reports.repository.SessionReportRepository;
+import com.ssafy.damdam.domain.reports.service.EmotionRollupService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 상담 종료 작업(counsel_close_task)의 상태 전이. 단계마다 결과 저장과 다음 단계로의 이동을 한 트랜잭션으로 묶어,
+ * 중간에 죽어도 마지막으로 끝난 단계 다음부터 다시 이어간다. 외부 호출(S3, LLM, Redis)은 CounselCloseWorker 가 트랜잭션 밖에서 한다.
+ * 각 메서드는 작업이 기대한 단계에 있을 때만 반영하므로, 임대가 풀려 두 워커가 같은 단계를 돌려도 한 번만 적용된다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CounselCloseTaskService {
+
+	private final CounselCloseTaskRepository taskRepository;
+	private final CounselingRepository counselingRepository;
+	private final SessionReportRepository sessionReportRepository;
+	private final EmotionRollupService emotionRollupService;
+	private final CounselCloseProperties properties;
+
+	public Optional<CounselCloseTask> find(Long taskId) {
+		return taskRepository.findById(taskId);
+	}
+
+	public Optional<CounselCloseTask> findByCounsId(Long counsId) {
+		return taskRepository.findByCounsId(counsId);
+	}
+
+	/**
+	 * 종료 작업을 만들거나, 멈춘(failed) 작업을 같은 단계부터 재개한다. 이미 진행 중이면 그대로 돌려준다.
+	 * 새로 만들거나 재개한 작업은 호출한 쪽이 바로 처리하도록 임대해 둔다.
+	 * 동시에 들어온 요청은 INSERT ... ON CONFLICT DO NOTHING 으로 한 요청만 행을 만들고, 나머지는 그 행을 돌려받는다.
+	 * @return 처리를 시작해야 하면 true 인 started 와 함께 작업 상태
+	 */
+	@Transactional
+	public Opened open(Long counsId, Long userId, String s3Key) {
+		CounselCloseTask task = taskRepository.findByCounsId(counsId).orElse(null);
+		if (task == null) {
+			boolean created = taskRepository.insertIfAbsent(counsId, userId, s3Key, leaseUntil(), LocalDateTime.now()) == 1;
+			task = taskRepository.findByCounsId(counsId)
+				.orElseThrow(() -> new CounsException(CLOSE_TASK_NOT_FOUND));
+			return new Opened(CounselCloseTaskResponse.from(task), created);
+		}
+		if (task.isFailed()) {
+			task.resume(leaseUntil());
+			return new Opened(CounselCloseTaskResponse.from(task), true);
+		}
+		return new Opened(CounselCloseTaskResponse.from(task), false);
+	}
+
+	// 기한이 된 작업을 잠그고 임대해 id 를 돌려준다
+	@Transactional
+	public List<Long> claimDue() {
+		List<Long> ids = taskRepository.lockDueIds(LocalDateTime.now(), properties.getBatchSize());
+		if (!ids.isEmpty()) {
+			taskRepository.lease(ids, leaseUntil());
+		}
+		return ids;
+	}
+
+	@Transactional
+	public void saveSnapshot(Long taskId, byte[] snapshot) {
+		CounselCloseTask task = get(taskId, CounselCloseStep.SNAPSHOT);
+		task.storeSnapshot(snapshot);
+		task.advance(leaseUntil());
+	}
+
+	/**
+	 * ARCHIVE 전에 상담이 아직 있는지 확인한다. 상담이 삭제됐으면 작업을 끝내 원문을 올리지 않게 한다.
+	 * @return 업로드를 진행해도 되면 true
+	 */
+	@Transactional
+	public boolean prepareArchive(Long taskId) {
+		CounselCloseTask task = taskRepository.findById(taskId).orElse(null);
+		if (task == null || task.getStep() != CounselCloseStep.ARCHIVE) {
+			return false;
+		}
+		if (!counselingRepository.existsById(task.getCounsId())) {
+			task.abandon();
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * 원문이 S3 에 올라간 뒤에야 상담을 닫는다. 그 전까지 상담 내역 조회는 Redis 를 읽는다.
+	 * 업로드 중에 상담이 삭제됐으면(작업 행이 지워졌거나 상담이 없으면) 반영하지 않는다.
+	 * @return 반영했으면 true, 올린 원문을 호출한 쪽이 지워야 하면 false
+	 */
+	@Transactional
+	public boolean completeArchive(Long taskId, String s3Url) {
+		CounselCloseTask task = taskRepository.lockById(taskId).orElse(null);
+		if (task == null) {
+			return false;
+		}
+		if (task.getStep() != CounselCloseStep.ARCHIVE) {
+			throw new IllegalStateException("이미 진행된 단계: taskId=" + taskId + ", step=" + task.getStep());
+		}
+		Counseling counseling = counselingRepository.findById(task.getCounsId()).orElse(null);
+		if (counseling == null) {
+			task.abandon();
+			return false;
+		}
+
+		counseling.updateS3Link(s3Url);
+		counseling.setClosed(true);
+		task.advance(leaseUntil());
+		return true;
+	}
+
+	@Transactional
+	public void saveSummary(Long taskId, LlmSummaryResponse response) {
+		CounselCloseTask task = get(taskId, CounselCloseStep.SUMMARIZE);
+		task.storeSummary(response);
+		task.advance(leaseUntil());
+	}
+
+	@Transactional
+	public void persistReport(Long taskId, List<ChatMessageDto> messages) {
+		CounselCloseTask task = get(taskId, CounselCloseStep.PERSIST_REPORT);
+		SessionReport report = sessionReportRepository.findByCounseling_CounsId(task.getCounsId()).orElse(null);
+
+		if (report == null) {
+			Counseling counseling = counselingRepository.findById(task.getCounsId()).orElse(null);
+			if (counseling == null) {
+				task.abandon();
+				return;
+			}
+
+			report = sessionReportRepository.save(SessionReport.of(
+				counseling,
+				task.getSummary(),
+				task.getAnalyze(),
+				task.getArousal(),
+				task.getValence()
+			));
+
+			// 레포트 저장과 같은 트랜잭션에서 일별 감정 롤업에 이 상담분을 더한다 (재시도해도 한 번만 반영)
+			emotionRollupService.applySession(task.getUserId(), counseling.getCreatedAt().toLocalDate(), messages);
+		}
+
+		task.completeReport(report.getSReportId());
+		task.advance(leaseUntil());
+	}
+
+	@Transactional
+	public void complete(Long taskId) {
+		CounselCloseTask task = get(taskId, CounselCloseStep.CLEANUP);
+		task.clearSnapshot();
+		task.advance(leaseUntil());
+	}
+
+	/**
+	 * 상담 삭제 시 종료 작업 행을 함께 지운다. 요약·분석·스냅샷 같은 상담 내용이 남지 않게 한다.
+	 * 행을 잠그고 지우므로 진행 중인 ARCHIVE 는 이 삭제 전에 반영되거나(isArchived) 반영되지 않고 끝난다.
+	 * @return 지운 작업 (없었으면 empty)
+	 */
+	@Transactional
+	public Optional<CounselCloseTask> discard(Long counsId) {
+		Optional<CounselCloseTask> task = taskRepository.lockByCounsId(counsId);
+		task.ifPresent(taskRepository::delete);
+		return task;
+	}
+
+	/**
+	 * 단계 실패를 기록하고 지수 백오프로 다시 시도하도록 임대를 푼다.
+	 * @return 재시도 상한을 넘어 작업이 멈췄으면 true
+	 */
+	@Transactional
+	public boolean fail(Long taskId, CounselCloseStep step, Exception cause) {
+		CounselCloseTask task = taskRepository.findById(taskId).orElse(null);
+		if (task == null || task.getStep() != step) {
+			return false;
+		}
+		task.retryLater(cause.toString(), backoff(task.getAttempts()), properties.getMaxAttempts());
+		return task.isFailed();
+	}
+
+	private CounselCloseTask get(Long taskId, CounselCloseStep expected) {
+		CounselCloseTask task = taskRepository.findById(taskId)
+			.orElseThrow(() -> new CounsException(CLOSE_TASK_NOT_FOUND));
+		if (task.getStep() != expected) {
+			throw new IllegalStateException("이미 진행된 단계: taskId=" + taskId + ", step=" + task.getStep());
+		}
+		return task;
+	}
+
+	private LocalDateTime leaseUntil() {
+		return LocalDateTime.now().plus(properties.getLease());
+	}
+
+	private Duration backoff(int attempts) {
+		Duration delay = properties.getRetryBase().multipliedBy(1L << Math.min(attempts, 20));
+		return (delay.compareTo(properties.getRetryMax()) > 0) ? properties.getRetryMax() : delay;
+	}
+
+	public record Opened(CounselCloseTaskResponse response, boolean started) {
+	}
+}
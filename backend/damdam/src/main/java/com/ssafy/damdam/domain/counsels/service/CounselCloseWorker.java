@@ -0,0 +1,206 @@
+package com.ssafy.damdam.domain.counsels.service;
+
+import static com.ssafy.damdam.global.redis.exception.RedisExceptionCode.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ssafy.damdam.domain.counsels.config.CounselCloseProperties;
+import com.ssafy.damdam.domain.counsels.dto.ChatMessageDto;
+import com.ssafy.damdam.domain.counsels.dto.LlmSummaryRequest;
+import com.ssafy.damdam.domain.counsels.dto.LlmSummaryResponse;
+import com.ssafy.damdam.domain.counsels.dto.TranscriptDto;
+import com.ssafy.damdam.domain.counsels.entity.CounselCloseStep;
+import com.ssafy.damdam.domain.counsels.entity.CounselCloseTask;
+import com.ssafy.damdam.global.aws.s3.S3FileUploadService;
+import com.ssafy.damdam.global.aws.s3.TranscriptCodec;
+import com.ssafy.damdam.global.redis.ChatMessageStore;
+import com.ssafy.damdam.global.redis.CounselSessionStore;
+import com.ssafy.damdam.global.redis.exception.RedisException;
+import com.ssafy.damdam.global.webclient.client.LlmSummaryClient;
+import com.ssafy.damdam.global.webclient.dispatch.LlmDispatcher;
+import com.ssafy.damdam.global.webclient.dispatch.LlmLane;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 상담 종료 작업을 단계별로 실행한다 (SNAPSHOT -> ARCHIVE -> SUMMARIZE -> PERSIST_REPORT -> CLEANUP).
+ * 요청 직후에는 커밋 뒤 바로 가상 스레드에서 이어서 돌리고, 실패·재시작으로 남은 작업은 주기 폴링이 가져간다.
+ * 외부 호출은 여기서 하고 결과 반영은 CounselCloseTaskService 의 단계별 트랜잭션으로 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CounselCloseWorker {
+
+	private final CounselCloseTaskService taskService;
+	private final CounselSessionStore counselSessionStore;
+	private final ChatMessageStore chatMessageStore;
+	private final TranscriptCodec transcriptCodec;
+	private final S3FileUploadService s3FileUploadService;
+	private final LlmSummaryClient llmSummaryClient;
+	private final LlmDispatcher llmDispatcher;
+	private final ExecutorService virtualThreadExecutor;
+	private final MeterRegistry meterRegistry;
+	private final RoomMailbox roomMailbox;
+	private final CounselCloseProperties properties;
+
+	// 이 인스턴스에서 처리 중인 작업 (요청 직후 실행과 폴링이 겹치지 않게)
+	private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+	@Scheduled(fixedDelayString = "${counsel.close.poll-interval:PT10S}")
+	public void poll() {
+		try {
+			taskService.claimDue().forEach(this::start);
+		} catch (Exception e) {
+			log.warn("[CounselClose] 작업 폴링 실패: {}", e.getMessage());
+		}
+	}
+
+	// 작업을 만든 트랜잭션이 커밋된 뒤에 실행한다 (커밋 전에 읽으면 작업이 안 보인다)
+	public void startAfterCommit(Long taskId) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			start(taskId);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				start(taskId);
+			}
+		});
+	}
+
+	private void start(Long taskId) {
+		if (!running.add(taskId)) {
+			return;
+		}
+		virtualThreadExecutor.execute(() -> {
+			try {
+				run(taskId);
+			} finally {
+				running.remove(taskId);
+			}
+		});
+	}
+
+	// 끝나거나 실패할 때까지 단계를 이어서 실행한다. 실패한 단계는 백오프 뒤 폴링이 다시 가져간다
+	private void run(Long taskId) {
+		while (true) {
+			CounselCloseTask task = taskService.find(taskId).orElse(null);
+			if (task == null || task.isDone() || task.isFailed()) {
+				return;
+			}
+			CounselCloseStep step = task.getStep();
+			try {
+				execute(task);
+				count(step, "success");
+			} catch (Exception e) {
+				boolean stopped = taskService.fail(taskId, step, e);
+				count(step, stopped ? "failed" : "retry");
+				if (stopped) {
+					log.error("[CounselClose] 재시도 상한 초과로 중단: taskId={}, counsId={}, step={}",
+						taskId, task.getCounsId(), step, e);
+				} else {
+					log.warn("[CounselClose] 단계 실패, 재시도 예약: taskId={}, counsId={}, step={}, {}",
+						taskId, task.getCounsId(), step, e.toString());
+				}
+				return;
+			}
+		}
+	}
+
+	private void execute(CounselCloseTask task) throws Exception {
+		Long taskId = task.getCloseTaskId();
+		switch (task.getStep()) {
+			case SNAPSHOT -> taskService.saveSnapshot(taskId, snapshot(task));
+			case ARCHIVE -> {
+				// 상담이 삭제됐으면 올리지 않고 끝낸다
+				if (!taskService.prepareArchive(taskId)) {
+					return;
+				}
+				String s3Url = s3FileUploadService.uploadTranscript(task.getS3Key(), task.getSnapshot());
+				if (!taskService.completeArchive(taskId, s3Url)) {
+					// 업로드 중에 상담이 삭제됐다: 방금 올린 원문을 지운다
+					s3FileUploadService.deleteTranscript(s3Url);
+				}
+			}
+			case SUMMARIZE -> {
+				LlmSummaryRequest request = restore(task);
+				// 상담 요약은 채팅보다 뒤로 밀리는 LOW lane
+				LlmSummaryResponse response = llmDispatcher.call(LlmLane.LOW, () -> llmSummaryClient.requestSummary(request));
+				taskService.saveSummary(taskId, response);
+			}
+			case PERSIST_REPORT -> taskService.persistReport(taskId, restore(task).getMessageList());
+			case CLEANUP -> {
+				// 세션 + Redis 대화 이력(인덱스 포함) 삭제. 이미 지워졌어도 그대로 성공
+				counselSessionStore.deleteRoom(task.getCounsId());
+				taskService.complete(taskId);
+			}
+			case DONE -> {
+			}
+		}
+	}
+
+	/**
+	 * Redis 대화 이력을 S3 에 올릴 저장 형식 그대로 인코딩한다. 이후 단계는 Redis 대신 이 스냅샷을 읽는다.
+	 * 스냅샷 뒤 메시지가 CLEANUP 에서 지워지지 않도록, 먼저 세션에 closing 을 표시해 새 턴을 막고
+	 * 이미 메일박스에 들어온 같은 방의 턴(AI 응답 적재 포함)이 끝난 뒤에 읽는다.
+	 */
+	private byte[] snapshot(CounselCloseTask task) throws Exception {
+		Long counsId = task.getCounsId();
+		if (!counselSessionStore.markClosing(counsId)) {
+			throw new RedisException(REDIS_SESSION_NOT_FOUND);
+		}
+		roomMailbox.submitUnbounded(counsId, () -> CompletableFuture.<Void>completedFuture(null))
+			.get(properties.getDrainTimeout().toMillis(), TimeUnit.MILLISECONDS);
+
+		List<ChatMessageDto> messages = chatMessageStore.findAll(counsId);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		transcriptCodec.write(LlmSummaryRequest.builder()
+			.counsId(counsId)
+			.userId(task.getUserId())
+			.messageList(messages)
+			.build(), out);
+		return out.toByteArray();
+	}
+
+	private LlmSummaryRequest restore(CounselCloseTask task) throws Exception {
+		TranscriptDto transcript = transcriptCodec.read(new ByteArrayInputStream(task.getSnapshot()));
+		List<ChatMessageDto> messages = (transcript.getMessageList() == null) ? List.of()
+			: transcript.getMessageList().stream()
+				.map(r -> ChatMessageDto.builder()
+					.sender(r.getSender())
+					.isVoice(r.getIsVoice())
+					.messageOrder(r.getMessageOrder())
+					.message(r.getMessage())
+					.timestamp(r.getTimestamp())
+					.emotion(r.getEmotion())
+					.build())
+				.toList();
+
+		return LlmSummaryRequest.builder()
+			.counsId(task.getCounsId())
+			.userId(task.getUserId())
+			.messageList(messages)
+			.build();
+	}
+
+	private void count(CounselCloseStep step, String result) {
+		meterRegistry.counter("damdam.counsel.close.step", "step", step.name(), "result", result).increment();
+	}
+}
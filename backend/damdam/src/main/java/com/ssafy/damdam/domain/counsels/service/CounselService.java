@@ -2,7 +2,7 @@ package com.ssafy.damdam.domain.counsels.service;
 
 import java.util.List;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.ssafy.damdam.domain.counsels.dto.CounselCloseTaskResponse;
 import com.ssafy.damdam.domain.counsels.dto.CounselingChatListDto;
 import com.ssafy.damdam.domain.counsels.dto.CounselingDto;
 
@@ -12,7 +12,7 @@ public interface CounselService {
 
 	Long createCounsel();
 
-	CounselingChatListDto getCounsel(Long counsId);
+	CounselingChatListDto getCounsel(Long counsId, Integer fromOrder, Integer limit);
 
 	void patchCounsel(Long counsId, String counsTitle);
 
@@ -20,5 +20,7 @@ public interface CounselService {
 
 	void closeCounsel(Long counsId);
 
-	Long reportCounsel(Long counsId) throws JsonProcessingException;
+	CounselCloseTaskResponse requestClose(Long counsId);
+
+	CounselCloseTaskResponse getCloseTask(Long counsId);
 }
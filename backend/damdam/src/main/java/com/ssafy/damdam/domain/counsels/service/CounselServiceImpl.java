@@ -2,32 +2,36 @@ package com.ssafy.damdam.domain.counsels.service;
 
 import static com.ssafy.damdam.domain.counsels.exception.CounsExceptionCode.*;
 import static com.ssafy.damdam.domain.users.exception.auth.AuthExceptionCode.*;
+import static com.ssafy.damdam.global.redis.exception.RedisExceptionCode.*;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ssafy.damdam.domain.counsels.dto.ChatOutputDto;
 import com.ssafy.damdam.domain.counsels.dto.ChatRecordDto;
+import com.ssafy.damdam.domain.counsels.dto.CounselCloseTaskResponse;
 import com.ssafy.damdam.domain.counsels.dto.CounselingChatListDto;
 import com.ssafy.damdam.domain.counsels.dto.CounselingDto;
-import com.ssafy.damdam.domain.counsels.dto.LlmSummaryResponse;
-import com.ssafy.damdam.domain.counsels.dto.TranscriptDto;
+import com.ssafy.damdam.domain.counsels.dto.MessagePage;
+import com.ssafy.damdam.domain.counsels.entity.CounselCloseTask;
 import com.ssafy.damdam.domain.counsels.entity.Counseling;
 import com.ssafy.damdam.domain.counsels.exception.CounsException;
 import com.ssafy.damdam.domain.counsels.repository.CounselingRepository;
 import com.ssafy.damdam.domain.reports.entity.SessionReport;
 import com.ssafy.damdam.domain.reports.repository.SessionReportRepository;
+import com.ssafy.damdam.domain.reports.service.EmotionRollupService;
 import com.ssafy.damdam.domain.users.entity.Users;
 import com.ssafy.damdam.domain.users.exception.auth.AuthException;
 import com.ssafy.damdam.global.aws.s3.S3FileUploadService;
+import com.ssafy.damdam.global.redis.ChatMessageStore;
+import com.ssafy.damdam.global.redis.CounselSessionStore;
+import com.ssafy.damdam.global.redis.exception.RedisException;
 import com.ssafy.damdam.global.util.user.UserUtil;
 
 import lombok.RequiredArgsConstructor;
@@ -40,12 +44,17 @@ import lombok.extern.slf4j.Slf4j;
 public class CounselServiceImpl implements CounselService {
 
 	private final CounselingRepository counselingRepository;
-	private final RedisTemplate<String, Object> redisTemplate;
+	private final ChatMessageStore chatMessageStore;
 	private final UserUtil userUtil;
-	private final AiService aiService;
 	private final SessionReportRepository sessionReportRepository;
-	private final ObjectMapper objectMapper;
 	private final S3FileUploadService s3FileUploadService;
+	private final EmotionRollupService emotionRollupService;
+	private final CounselSessionStore counselSessionStore;
+	private final CounselCloseTaskService counselCloseTaskService;
+	private final CounselCloseWorker counselCloseWorker;
+
+	@Value("${counsel.message-page.max-limit:200}")
+	private int maxMessagePageSize;
 
 	// 유저 검증 메서드
 	private Users validateUser() {
@@ -78,7 +87,7 @@ public class CounselServiceImpl implements CounselService {
 	}
 
 	@Override
-	public CounselingChatListDto getCounsel(Long counsId) {
+	public CounselingChatListDto getCounsel(Long counsId, Integer fromOrder, Integer limit) {
 		Users user = validateUser();
 		Counseling counseling = counselingRepository.findById(counsId)
 			.orElseThrow(() -> new CounsException(COUNSEL_NOT_FOUND));
@@ -94,14 +103,28 @@ public class CounselServiceImpl implements CounselService {
 			.updatedAt(counseling.getUpdatedAt())
 			.isClosed(counseling.getIsClosed());
 
-		List<ChatOutputDto> messageList = Collections.emptyList();
+		// limit 이 없으면 전체, 있으면 fromOrder 부터 limit 개 순번만
+		int from = (fromOrder == null) ? 0 : fromOrder;
+		int size = (limit == null) ? Integer.MAX_VALUE : limit;
+		if (from < 0 || size < 1) {
+			throw new CounsException(INVALID_MESSAGE_PAGE);
+		}
+		if (limit != null) {
+			size = Math.min(size, maxMessagePageSize);
+		}
+
+		MessagePage<ChatOutputDto> page;
 
 		// 세션이 닫혔는지 여부에 따라 대화내역 불러올 곳이 달라짐
 		if (counseling.getIsClosed()) {
 			String s3Link = counseling.getS3Link();
-			TranscriptDto transcript = s3FileUploadService.downloadTranscript(s3Link);
+			// 긴 상담도 필요한 청크만 받도록 페이지 단위로 읽는다 (전체 조회면 원문 전체)
+			MessagePage<ChatRecordDto> records = (limit == null)
+				? MessagePage.of(s3FileUploadService.downloadTranscript(s3Link).getMessageList(),
+					ChatRecordDto::getMessageOrder, from, size)
+				: s3FileUploadService.downloadTranscriptPage(s3Link, from, size);
 
-			messageList = transcript.getMessageList().stream()
+			page = new MessagePage<>(records.getMessages().stream()
 				.map(r -> ChatOutputDto.builder()
 					.sender(r.getSender())
 					.message(r.getMessage())
@@ -109,17 +132,9 @@ public class CounselServiceImpl implements CounselService {
 					.messageOrder(r.getMessageOrder())
 					.tokenCount(null)  // 필요 시 null 또는 값
 					.build())
-				.toList();
+				.toList(), records.getNextOrder());
 		} else {
-			String listKey = "counsel:" + counsId + ":messages";
-			List<Object> raw = redisTemplate.opsForList().range(listKey, 0, -1);
-			List<ChatRecordDto> records = raw == null
-				? List.of()
-				: raw.stream()
-				.map(item -> objectMapper.convertValue(item, ChatRecordDto.class))
-				.toList();
-
-			messageList = records.stream()
+			List<ChatOutputDto> messageList = chatMessageStore.findAll(counsId).stream()
 				.map(r -> ChatOutputDto.builder()
 					.sender(r.getSender())
 					.message(r.getMessage())
@@ -128,10 +143,12 @@ public class CounselServiceImpl implements CounselService {
 					.messageOrder(r.getMessageOrder())
 					.build())
 				.toList();
+			page = MessagePage.of(messageList, ChatOutputDto::getMessageOrder, from, size);
 		}
 
 		return dtoBuilder
-			.messageList(messageList)
+			.messageList(page.getMessages())
+			.nextOrder(page.getNextOrder())
 			.build();
 	}
 
@@ -161,11 +178,27 @@ public class CounselServiceImpl implements CounselService {
 			throw new CounsException(NOT_YOUR_COUNSEL);
 		}
 
-		if (StringUtils.hasText(counseling.getS3Link())) {
-			s3FileUploadService.deleteTranscript(counseling.getS3Link());
+		// 종료 작업도 지운다. ARCHIVE 를 마친 작업이면 상담에 링크가 반영되기 전이라도 그 키의 원문을 지운다
+		Optional<CounselCloseTask> closeTask = counselCloseTaskService.discard(counsId);
+		// CLEANUP 전에 멈춘 작업이면 Redis 에 남은 대화 이력도 지운다
+		if (closeTask.filter(t -> !t.isDone()).isPresent()) {
+			counselSessionStore.deleteRoom(counsId);
+		}
+		String transcript = closeTask
+			.filter(CounselCloseTask::isArchived)
+			.map(CounselCloseTask::getS3Key)
+			.orElse(counseling.getS3Link());
+		boolean hasTranscript = StringUtils.hasText(transcript);
+		if (hasTranscript) {
+			s3FileUploadService.deleteTranscript(transcript);
 		}
 
 		counselingRepository.delete(counseling);
+
+		// 롤업에 반영된 상담(원문이 있는 상담)만 해당 날짜를 다시 계산한다 (삭제가 커밋된 뒤 비동기로)
+		if (hasTranscript) {
+			emotionRollupService.rebuildAfterDelete(user.getUserId(), counsId, counseling.getCreatedAt());
+		}
 	}
 
 	@Override
@@ -186,31 +219,52 @@ public class CounselServiceImpl implements CounselService {
 
 	@Override
 	@Transactional
-	public Long reportCounsel(Long counsId) throws JsonProcessingException {
+	public CounselCloseTaskResponse requestClose(Long counsId) {
+		Users user = validateUser();
+		Counseling counseling = counselingRepository.findById(counsId)
+			.orElseThrow(() -> new CounsException(COUNSEL_NOT_FOUND));
 
-		SessionReport sReport = sessionReportRepository.findByCounseling_CounsId(counsId)
-			.orElse(null);
+		if (!counseling.getUsers().getUserId().equals(user.getUserId())) {
+			throw new CounsException(NOT_YOUR_COUNSEL);
+		}
 
-		if (sReport != null) {
-			return sReport.getSReportId();
+		// 종료 작업 없이 이미 발행된 레포트 (파이프라인 도입 전)
+		if (counselCloseTaskService.findByCounsId(counsId).isEmpty()) {
+			SessionReport sReport = sessionReportRepository.findByCounseling_CounsId(counsId).orElse(null);
+			if (sReport != null) {
+				return CounselCloseTaskResponse.ofExistingReport(counsId, sReport.getSReportId());
+			}
+			// 스냅샷할 대화 이력이 없으면 작업을 만들지 않고 바로 알린다
+			if (counselSessionStore.find(counsId).isEmpty()) {
+				throw new RedisException(REDIS_SESSION_NOT_FOUND);
+			}
 		}
 
-		LlmSummaryResponse response = aiService.getSessionReport(counsId);
+		// 종료 요청 이후의 메시지는 스냅샷에 못 들어가고 CLEANUP 에서 지워지므로 지금부터 새 턴을 받지 않는다
+		counselSessionStore.markClosing(counsId);
 
+		CounselCloseTaskService.Opened opened =
+			counselCloseTaskService.open(counsId, user.getUserId(), s3FileUploadService.newTranscriptKey());
+		if (opened.started()) {
+			counselCloseWorker.startAfterCommit(opened.response().getCloseTaskId());
+		}
+		return opened.response();
+	}
+
+	@Override
+	public CounselCloseTaskResponse getCloseTask(Long counsId) {
+		Users user = validateUser();
 		Counseling counseling = counselingRepository.findById(counsId)
 			.orElseThrow(() -> new CounsException(COUNSEL_NOT_FOUND));
 
-		SessionReport sessionReport = SessionReport.of(
-			counseling,
-			response.getSummary(),
-			response.getAnalyze(),
-			response.getArousal(),
-			response.getValence()
-		);
-
-		sessionReportRepository.save(sessionReport);
-
-		return sessionReport.getSReportId();
+		if (!counseling.getUsers().getUserId().equals(user.getUserId())) {
+			throw new CounsException(NOT_YOUR_COUNSEL);
+		}
 
+		return counselCloseTaskService.findByCounsId(counsId)
+			.map(CounselCloseTaskResponse::from)
+			.or(() -> sessionReportRepository.findByCounseling_CounsId(counsId)
+				.map(r -> CounselCloseTaskResponse.ofExistingReport(counsId, r.getSReportId())))
+			.orElseThrow(() -> new CounsException(CLOSE_TASK_NOT_FOUND));
 	}
 }
@@ -0,0 +1,124 @@
+package com.ssafy.damdam.domain.counsels.service;
+
+import static com.ssafy.damdam.domain.counsels.exception.CounsExceptionCode.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ssafy.damdam.domain.counsels.exception.CounsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 상담 방 단위 직렬 실행기.
+ * 같은 방에 들어온 작업(텍스트/음성 턴, 방 정리)은 제출 순서대로 하나씩 실행되고, 서로 다른 방은 완전히 병렬로 실행된다.
+ * 작업은 CompletableFuture 를 돌려주는 비동기 파이프라인이어도 되며, 그 파이프라인이 끝나야 다음 작업이 시작된다.
+ * 방에 쌓인 작업이 maxDepth 를 넘으면 ROOM_BUSY 로 거절하고, 방별 대기 깊이는 damdam.chat.room.mailbox.depth 게이지로 노출한다.
+ */
+@Slf4j
+@Component
+public class RoomMailbox {
+
+	private static final String DEPTH_GAUGE = "damdam.chat.room.mailbox.depth";
+
+	private final ConcurrentHashMap<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+	private final ExecutorService virtualThreadExecutor;
+	private final MeterRegistry meterRegistry;
+	private final Counter rejected;
+	private final int maxDepth;
+
+	public RoomMailbox(
+		ExecutorService virtualThreadExecutor,
+		MeterRegistry meterRegistry,
+		@Value("${chat.mailbox.max-depth:8}") int maxDepth
+	) {
+		this.virtualThreadExecutor = virtualThreadExecutor;
+		this.meterRegistry = meterRegistry;
+		this.maxDepth = maxDepth;
+		this.rejected = meterRegistry.counter("damdam.chat.room.mailbox.rejected");
+	}
+
+	// 대기 깊이 제한을 적용해 작업을 방의 큐 끝에 붙인다
+	public <T> CompletableFuture<T> submit(Long roomId, Supplier<CompletableFuture<T>> task) {
+		return enqueue(roomId, task, true);
+	}
+
+	// 방 정리처럼 거절되면 안 되는 작업용 (깊이 제한 없이 큐 끝에 붙인다)
+	public <T> CompletableFuture<T> submitUnbounded(Long roomId, Supplier<CompletableFuture<T>> task) {
+		return enqueue(roomId, task, false);
+	}
+
+	public int depth(Long roomId) {
+		Mailbox box = mailboxes.get(roomId);
+		return box == null ? 0 : box.depth.get();
+	}
+
+	private <T> CompletableFuture<T> enqueue(Long roomId, Supplier<CompletableFuture<T>> task, boolean bounded) {
+		AtomicReference<CompletableFuture<T>> submitted = new AtomicReference<>();
+
+		// compute 안에서 꼬리 교체까지 끝내야 같은 방의 제출 순서가 실행 순서와 같아진다
+		mailboxes.compute(roomId, (id, box) -> {
+			if (box == null) {
+				box = new Mailbox(id);
+			}
+			if (bounded && box.depth.get() >= maxDepth) {
+				rejected.increment();
+				log.warn("[RoomMailbox] 대기 작업 초과로 거절: roomId={}, depth={}", id, box.depth.get());
+				if (box.depth.get() == 0) {
+					box.close();
+				}
+				throw new CounsException(ROOM_BUSY);
+			}
+			box.depth.incrementAndGet();
+
+			// 앞선 작업의 성공/실패와 무관하게 다음 작업을 이어서 실행한다
+			CompletableFuture<T> next = box.tail
+				.handle((result, error) -> null)
+				.thenComposeAsync(ignored -> task.get(), virtualThreadExecutor);
+			box.tail = next;
+			submitted.set(next);
+			return box;
+		});
+
+		CompletableFuture<T> next = submitted.get();
+		next.whenComplete((result, error) -> release(roomId));
+		return next;
+	}
+
+	// 방의 작업이 모두 끝나면 메일박스와 게이지를 정리한다
+	private void release(Long roomId) {
+		mailboxes.computeIfPresent(roomId, (id, box) -> {
+			if (box.depth.decrementAndGet() > 0) {
+				return box;
+			}
+			box.close();
+			return null;
+		});
+	}
+
+	private final class Mailbox {
+		private final AtomicInteger depth = new AtomicInteger();
+		private final Gauge gauge;
+		private CompletableFuture<?> tail = CompletableFuture.completedFuture(null);
+
+		private Mailbox(Long roomId) {
+			this.gauge = Gauge.builder(DEPTH_GAUGE, depth, AtomicInteger::get)
+				.tag("roomId", String.valueOf(roomId))
+				.register(meterRegistry);
+		}
+
+		private void close() {
+			meterRegistry.remove(gauge);
+		}
+	}
+}
@@ -15,12 +15,16 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.ssafy.damdam.domain.reports.dto.CreatePeriodReportResponse;
+import com.ssafy.damdam.domain.reports.dto.EmotionTrendDto;
 import com.ssafy.damdam.domain.reports.dto.PeriodReportInputDto;
+import com.ssafy.damdam.domain.reports.dto.PeriodReportJobDto;
 import com.ssafy.damdam.domain.reports.dto.PeriodReportListDto;
 import com.ssafy.damdam.domain.reports.dto.PeriodReportOutputDto;
 import com.ssafy.damdam.domain.reports.dto.SessionReportListDto;
 import com.ssafy.damdam.domain.reports.dto.SessionReportOutputDto;
+import com.ssafy.damdam.domain.reports.dto.TrendUnit;
+import com.ssafy.damdam.domain.reports.service.EmotionRollupService;
+import com.ssafy.damdam.domain.reports.service.PeriodReportJobService;
 import com.ssafy.damdam.domain.reports.service.ReportService;
 
 import lombok.RequiredArgsConstructor;
@@ -33,6 +37,8 @@ import lombok.extern.slf4j.Slf4j;
 public class ReportController {
 
 	private final ReportService reportService;
+	private final PeriodReportJobService periodReportJobService;
+	private final EmotionRollupService emotionRollupService;
 
 	@GetMapping("")
 	public ResponseEntity<List<Object>> getReportList(
@@ -100,14 +106,34 @@ public class ReportController {
 		return ResponseEntity.noContent().build();
 	}
 
+	// 레포트 생성은 비동기 작업으로 접수만 하고 바로 반환한다 (완료는 상태 조회 또는 /sub/reports/period/{jobId} 로 확인)
 	@PostMapping("/periodic")
-	public ResponseEntity<CreatePeriodReportResponse> createPeriodReport(
+	public ResponseEntity<PeriodReportJobDto> createPeriodReport(
 		@RequestBody PeriodReportInputDto periodReportInputDto
 	) {
-		Long pReportId = reportService.createPeriodReport(periodReportInputDto);
+		PeriodReportJobDto job = periodReportJobService.submit(periodReportInputDto);
 		return ResponseEntity
-			.created(URI.create(String.valueOf(pReportId)))
-			.body(new CreatePeriodReportResponse(pReportId));
+			.accepted()
+			.location(URI.create("periodic/jobs/" + job.getJobId()))
+			.body(job);
+	}
+
+	@GetMapping("/periodic/jobs/{jobId}")
+	public ResponseEntity<PeriodReportJobDto> getPeriodReportJob(
+		@PathVariable String jobId
+	) {
+		return ResponseEntity.ok(periodReportJobService.getJob(jobId));
+	}
+
+	// 일별 감정 롤업 기반 추이 (start/end: yyyyMMdd, 점 수가 maxPoints 를 넘으면 서버에서 구간을 묶어 내려준다)
+	@GetMapping("/trends")
+	public ResponseEntity<EmotionTrendDto> getEmotionTrend(
+		@RequestParam(value = "start") String start,
+		@RequestParam(value = "end") String end,
+		@RequestParam(value = "unit", required = false) TrendUnit unit,
+		@RequestParam(value = "maxPoints", required = false) Integer maxPoints
+	) {
+		return ResponseEntity.ok(emotionRollupService.getTrend(start, end, unit, maxPoints));
 	}
 
 }
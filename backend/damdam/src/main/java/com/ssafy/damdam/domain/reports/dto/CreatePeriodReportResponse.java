@@ -1,10 +0,0 @@
-package com.ssafy.damdam.domain.reports.dto;
-
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-
-@Getter
-@AllArgsConstructor
-public class CreatePeriodReportResponse {
-	private Long pReportId;
-}
@@ -0,0 +1,101 @@
+package com.ssafy.damdam.domain.reports.dto;
+
+import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
+
+import lombok.Getter;
+
+/**
+ * 감정 5개 차원의 메시지 수 / 합 / 최소 / 최대 누적값.
+ * 일별 롤업의 증분(delta)과 추이 조회 시 구간 병합에 같이 쓰며, 합·수·최소·최대는 병합해도 정확하다.
+ */
+@Getter
+public class EmotionStats {
+
+	private int messageCount;
+	private int sessionCount;
+	private final Dimension happiness = new Dimension();
+	private final Dimension sadness = new Dimension();
+	private final Dimension angry = new Dimension();
+	private final Dimension neutral = new Dimension();
+	private final Dimension other = new Dimension();
+
+	public void add(EmotionDto emotion) {
+		messageCount++;
+		happiness.add(emotion.getHappiness());
+		sadness.add(emotion.getSadness());
+		angry.add(emotion.getAngry());
+		neutral.add(emotion.getNeutral());
+		other.add(emotion.getOther());
+	}
+
+	public void addSession() {
+		sessionCount++;
+	}
+
+	public void merge(EmotionStats o) {
+		messageCount += o.messageCount;
+		sessionCount += o.sessionCount;
+		happiness.merge(o.happiness);
+		sadness.merge(o.sadness);
+		angry.merge(o.angry);
+		neutral.merge(o.neutral);
+		other.merge(o.other);
+	}
+
+	public boolean isEmpty() {
+		return messageCount == 0 && sessionCount == 0;
+	}
+
+	@Getter
+	public static class Dimension {
+		private long sum;
+		private Integer min;   // 메시지가 없으면 null
+		private Integer max;
+
+		public Dimension() {
+		}
+
+		public Dimension(long sum, Integer min, Integer max) {
+			this.sum = sum;
+			this.min = min;
+			this.max = max;
+		}
+
+		void add(int value) {
+			sum += value;
+			min = (min == null) ? value : Math.min(min, value);
+			max = (max == null) ? value : Math.max(max, value);
+		}
+
+		void merge(Dimension o) {
+			sum += o.sum;
+			if (o.min != null) {
+				min = (min == null) ? o.min : Math.min(min, o.min);
+			}
+			if (o.max != null) {
+				max = (max == null) ? o.max : Math.max(max, o.max);
+			}
+		}
+	}
+
+	// 엔티티(롤업 행)에서 읽은 값으로 채울 때 사용
+	public static EmotionStats of(
+		int messageCount,
+		int sessionCount,
+		Dimension happiness,
+		Dimension sadness,
+		Dimension angry,
+		Dimension neutral,
+		Dimension other
+	) {
+		EmotionStats s = new EmotionStats();
+		s.messageCount = messageCount;
+		s.sessionCount = sessionCount;
+		s.happiness.merge(happiness);
+		s.sadness.merge(sadness);
+		s.angry.merge(angry);
+		s.neutral.merge(neutral);
+		s.other.merge(other);
+		return s;
+	}
+}
@@ -0,0 +1,54 @@
+package com.ssafy.damdam.domain.reports.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 기간별 레포트 llm 요청용 감정 요약 (메시지별 감정 대신 평균과 우세 감정만 보낸다)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmotionSummaryDto {
+	private int messageCount;
+	private double happiness;
+	private double sadness;
+	private double angry;
+	private double neutral;
+	private double other;
+	private String dominant;
+
+	public static EmotionSummaryDto from(EmotionStats stats) {
+		int n = Math.max(1, stats.getMessageCount());
+		double happiness = avg(stats.getHappiness(), n);
+		double sadness = avg(stats.getSadness(), n);
+		double angry = avg(stats.getAngry(), n);
+		double neutral = avg(stats.getNeutral(), n);
+		double other = avg(stats.getOther(), n);
+
+		// 동률이면 앞쪽(happiness → other 순) 감정을 우세로 본다
+		String[] names = {"happiness", "sadness", "angry", "neutral", "other"};
+		double[] values = {happiness, sadness, angry, neutral, other};
+		int top = 0;
+		for (int i = 1; i < values.length; i++) {
+			if (values[i] > values[top]) {
+				top = i;
+			}
+		}
+
+		return EmotionSummaryDto.builder()
+			.messageCount(stats.getMessageCount())
+			.happiness(happiness)
+			.sadness(sadness)
+			.angry(angry)
+			.neutral(neutral)
+			.other(other)
+			.dominant(stats.getMessageCount() == 0 ? null : names[top])
+			.build();
+	}
+
+	private static double avg(EmotionStats.Dimension d, int n) {
+		return Math.round(d.getSum() * 10.0 / n) / 10.0;
+	}
+}
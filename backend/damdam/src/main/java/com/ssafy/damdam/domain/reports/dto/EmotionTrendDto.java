@@ -0,0 +1,22 @@
+package com.ssafy.damdam.domain.reports.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmotionTrendDto {
+	private LocalDate startDate;
+	private LocalDate endDate;
+	private TrendUnit unit;
+	// 다운샘플링으로 한 점에 합쳐진 기본 구간(unit) 수. 1 이면 원본 해상도
+	private int bucketsPerPoint;
+	private List<EmotionTrendPointDto> points;
+}
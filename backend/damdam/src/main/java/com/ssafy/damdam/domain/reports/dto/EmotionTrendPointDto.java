@@ -0,0 +1,34 @@
+package com.ssafy.damdam.domain.reports.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmotionTrendPointDto {
+	private LocalDate startDate;
+	private LocalDate endDate;
+	private int messageCount;
+	private int sessionCount;
+	private DimensionDto happiness;
+	private DimensionDto sadness;
+	private DimensionDto angry;
+	private DimensionDto neutral;
+	private DimensionDto other;
+
+	// 구간에 메시지가 없으면 avg/min/max 모두 null
+	@Getter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class DimensionDto {
+		private Double avg;
+		private Integer min;
+		private Integer max;
+	}
+}
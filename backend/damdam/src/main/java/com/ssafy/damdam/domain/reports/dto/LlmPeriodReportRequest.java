@@ -3,6 +3,7 @@ package com.ssafy.damdam.domain.reports.dto;
 import java.time.LocalDate;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.ssafy.damdam.domain.counsels.dto.UserContextDto;
 
 import lombok.AllArgsConstructor;
@@ -18,5 +19,11 @@ public class LlmPeriodReportRequest {
 	private LocalDate startDate;
 	private LocalDate endDate;
 	private UserContextDto userContext;
+	// 계층형 모드에서는 상담 레포트가 없는 상담의 메시지만 담긴다
 	private List<SparkResultDto> messageList;
+	// 계층형 모드: 상담 레포트가 있는 상담의 요약/분석과 감정 요약, 기간 전체 감정 요약
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private List<SessionDigestDto> sessionList;
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private EmotionSummaryDto periodEmotion;
 }
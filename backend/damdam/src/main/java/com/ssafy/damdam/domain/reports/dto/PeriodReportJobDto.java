@@ -0,0 +1,27 @@
+package com.ssafy.damdam.domain.reports.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 기간별 레포트 생성 작업 상태 (상태 조회 응답 + /sub/reports/period/{jobId} 로 push)
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodReportJobDto {
+	private String jobId;
+	private PeriodReportJobStatus status;
+	private LocalDate startDate;
+	private LocalDate endDate;
+	// DONE 일 때만 값이 있다
+	private Long pReportId;
+	// FAILED 일 때만 값이 있다
+	private String errorCode;
+	private String errorMessage;
+	private LocalDateTime updatedAt;
+}
@@ -0,0 +1,14 @@
+package com.ssafy.damdam.domain.reports.dto;
+
+// 기간별 레포트 생성 작업 진행 단계
+public enum PeriodReportJobStatus {
+	QUEUED,      // 접수됨
+	COLLECTING,  // Spark 에서 기간 내 상담 데이터 수집 중
+	GENERATING,  // LLM 레포트 생성 중
+	DONE,
+	FAILED;
+
+	public boolean isFinished() {
+		return this == DONE || this == FAILED;
+	}
+}
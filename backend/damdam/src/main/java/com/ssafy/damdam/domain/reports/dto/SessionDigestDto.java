@@ -0,0 +1,23 @@
+package com.ssafy.damdam.domain.reports.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 이미 생성된 상담 레포트 한 건을 기간별 레포트 llm 입력으로 압축한 것
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SessionDigestDto {
+	private Long counsId;
+	private LocalDateTime counseledAt;
+	private String summary;
+	private String analyze;
+	private String valence;
+	private String arousal;
+	private EmotionSummaryDto emotion;
+}
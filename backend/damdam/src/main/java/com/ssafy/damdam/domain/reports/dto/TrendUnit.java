@@ -0,0 +1,7 @@
+package com.ssafy.damdam.domain.reports.dto;
+
+// 감정 추이 기본 구간 단위 (WEEK 는 월요일 시작)
+public enum TrendUnit {
+	DAY,
+	WEEK
+}
@@ -0,0 +1,94 @@
+package com.ssafy.damdam.domain.reports.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.ssafy.damdam.domain.reports.dto.EmotionStats;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 유저별 일별 감정 집계. 상담 레포트 발행(대화 원문 확정) 시 증분 upsert 로만 갱신되며
+ * (EmotionDailyRollupRepositoryCustom.upsert), 엔티티는 조회 전용으로 쓴다.
+ * 날짜는 메시지 시각(KST) 기준이고 session_count 는 상담 생성일에 더한다.
+ */
+@Entity
+@Getter
+@ToString
+@IdClass(EmotionDailyRollupId.class)
+@Table(name = "emotion_daily_rollup")
+public class EmotionDailyRollup {
+
+	@Id
+	@Column(name = "user_id")
+	private Long userId;
+
+	@Id
+	@Column(name = "stat_date")
+	private LocalDate statDate;
+
+	@Column(name = "message_count", nullable = false)
+	private int messageCount;
+
+	@Column(name = "session_count", nullable = false)
+	private int sessionCount;
+
+	@Column(name = "happiness_sum", nullable = false)
+	private long happinessSum;
+	@Column(name = "happiness_min")
+	private Integer happinessMin;
+	@Column(name = "happiness_max")
+	private Integer happinessMax;
+
+	@Column(name = "sadness_sum", nullable = false)
+	private long sadnessSum;
+	@Column(name = "sadness_min")
+	private Integer sadnessMin;
+	@Column(name = "sadness_max")
+	private Integer sadnessMax;
+
+	@Column(name = "angry_sum", nullable = false)
+	private long angrySum;
+	@Column(name = "angry_min")
+	private Integer angryMin;
+	@Column(name = "angry_max")
+	private Integer angryMax;
+
+	@Column(name = "neutral_sum", nullable = false)
+	private long neutralSum;
+	@Column(name = "neutral_min")
+	private Integer neutralMin;
+	@Column(name = "neutral_max")
+	private Integer neutralMax;
+
+	@Column(name = "other_sum", nullable = false)
+	private long otherSum;
+	@Column(name = "other_min")
+	private Integer otherMin;
+	@Column(name = "other_max")
+	private Integer otherMax;
+
+	@Column(name = "updated_at", nullable = false)
+	private LocalDateTime updatedAt;
+
+	protected EmotionDailyRollup() {
+	}
+
+	public EmotionStats toStats() {
+		return EmotionStats.of(
+			messageCount,
+			sessionCount,
+			new EmotionStats.Dimension(happinessSum, happinessMin, happinessMax),
+			new EmotionStats.Dimension(sadnessSum, sadnessMin, sadnessMax),
+			new EmotionStats.Dimension(angrySum, angryMin, angryMax),
+			new EmotionStats.Dimension(neutralSum, neutralMin, neutralMax),
+			new EmotionStats.Dimension(otherSum, otherMin, otherMax)
+		);
+	}
+}
@@ -0,0 +1,20 @@
+package com.ssafy.damdam.domain.reports.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@EqualsAndHashCode
+public class EmotionDailyRollupId implements Serializable {
+
+	private Long userId;
+	private LocalDate statDate;
+
+	public EmotionDailyRollupId(Long userId, LocalDate statDate) {
+		this.userId = userId;
+		this.statDate = statDate;
+	}
+}
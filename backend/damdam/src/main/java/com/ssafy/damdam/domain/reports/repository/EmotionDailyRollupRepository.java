@@ -0,0 +1,37 @@
+package com.ssafy.damdam.domain.reports.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.ssafy.damdam.domain.reports.entity.EmotionDailyRollup;
+import com.ssafy.damdam.domain.reports.entity.EmotionDailyRollupId;
+
+public interface EmotionDailyRollupRepository extends JpaRepository<EmotionDailyRollup, EmotionDailyRollupId>,
+	EmotionDailyRollupRepositoryCustom {
+
+	List<EmotionDailyRollup> findByUserIdAndStatDateBetweenOrderByStatDateAsc(
+		Long userId, LocalDate start, LocalDate end
+	);
+
+	@Query("""
+		SELECT COALESCE(SUM(r.sessionCount), 0)
+		FROM EmotionDailyRollup r
+		WHERE r.userId = :userId
+		  AND r.statDate BETWEEN :start AND :end
+		""")
+	long sumSessionCount(
+		@Param("userId") Long userId,
+		@Param("start") LocalDate start,
+		@Param("end") LocalDate end
+	);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("DELETE FROM EmotionDailyRollup r WHERE r.userId = :userId AND r.statDate IN :days")
+	void deleteDays(@Param("userId") Long userId, @Param("days") Collection<LocalDate> days);
+}
@@ -0,0 +1,11 @@
+package com.ssafy.damdam.domain.reports.repository;
+
+import java.time.LocalDate;
+
+import com.ssafy.damdam.domain.reports.dto.EmotionStats;
+
+public interface EmotionDailyRollupRepositoryCustom {
+
+	// (userId, statDate) 행에 delta 를 더한다. 행이 없으면 새로 만든다
+	void upsert(Long userId, LocalDate statDate, EmotionStats delta);
+}
@@ -0,0 +1,67 @@
+package com.ssafy.damdam.domain.reports.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.stereotype.Repository;
+
+import com.ssafy.damdam.domain.reports.dto.EmotionStats;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+@Repository
+public class EmotionDailyRollupRepositoryCustomImpl implements EmotionDailyRollupRepositoryCustom {
+
+	private static final String[] DIMENSIONS = {"happiness", "sadness", "angry", "neutral", "other"};
+
+	// 동시에 같은 (유저, 날짜)에 더해도 행 잠금으로 직렬화되도록 INSERT .. ON CONFLICT 로 한 번에 처리한다 (PostgreSQL)
+	// min/max 는 LEAST/GREATEST 가 NULL 을 무시하므로 메시지 없는 delta(세션 수만 있는 경우)도 그대로 더할 수 있다
+	private static final String UPSERT_SQL = buildUpsertSql();
+
+	@PersistenceContext
+	private EntityManager em;
+
+	@Override
+	public void upsert(Long userId, LocalDate statDate, EmotionStats delta) {
+		Query query = em.createNativeQuery(UPSERT_SQL)
+			.setParameter("userId", userId)
+			.setParameter("statDate", statDate)
+			.setParameter("messageCount", delta.getMessageCount())
+			.setParameter("sessionCount", delta.getSessionCount());
+		bind(query, "happiness", delta.getHappiness());
+		bind(query, "sadness", delta.getSadness());
+		bind(query, "angry", delta.getAngry());
+		bind(query, "neutral", delta.getNeutral());
+		bind(query, "other", delta.getOther());
+		query.executeUpdate();
+	}
+
+	private void bind(Query query, String name, EmotionStats.Dimension d) {
+		query.setParameter(name + "Sum", d.getSum())
+			.setParameter(name + "Min", d.getMin())
+			.setParameter(name + "Max", d.getMax());
+	}
+
+	private static String buildUpsertSql() {
+		StringBuilder columns = new StringBuilder("user_id, stat_date, message_count, session_count");
+		StringBuilder values = new StringBuilder(":userId, :statDate, :messageCount, :sessionCount");
+		StringBuilder updates = new StringBuilder()
+			.append("message_count = r.message_count + EXCLUDED.message_count, ")
+			.append("session_count = r.session_count + EXCLUDED.session_count");
+
+		for (String d : DIMENSIONS) {
+			columns.append(", ").append(d).append("_sum, ").append(d).append("_min, ").append(d).append("_max");
+			values.append(", :").append(d).append("Sum")
+				.append(", CAST(:").append(d).append("Min AS integer)")
+				.append(", CAST(:").append(d).append("Max AS integer)");
+			updates.append(", ").append(d).append("_sum = r.").append(d).append("_sum + EXCLUDED.").append(d).append("_sum")
+				.append(", ").append(d).append("_min = LEAST(r.").append(d).append("_min, EXCLUDED.").append(d).append("_min)")
+				.append(", ").append(d).append("_max = GREATEST(r.").append(d).append("_max, EXCLUDED.").append(d).append("_max)");
+		}
+
+		return "INSERT INTO emotion_daily_rollup AS r (" + columns + ", updated_at) "
+			+ "VALUES (" + values + ", now()) "
+			+ "ON CONFLICT (user_id, stat_date) DO UPDATE SET " + updates + ", updated_at = now()";
+	}
+}
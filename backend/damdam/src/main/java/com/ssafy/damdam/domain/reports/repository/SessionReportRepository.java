@@ -1,12 +1,15 @@
 package com.ssafy.damdam.domain.reports.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import com.ssafy.damdam.domain.reports.dto.SessionReportOutputDto;
 import com.ssafy.damdam.domain.users.entity.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.ssafy.damdam.domain.reports.entity.SessionReport;
 
@@ -15,4 +18,7 @@ SessionReportRepositoryCustom {
 
     Optional<SessionReport> findByCounseling_CounsId(Long counsId);
 
+    @Query("SELECT r FROM SessionReport r JOIN FETCH r.counseling c WHERE c.counsId IN :counsIds")
+    List<SessionReport> findAllWithCounselingByCounsIdIn(@Param("counsIds") Collection<Long> counsIds);
+
 }
@@ -0,0 +1,311 @@
+package com.ssafy.damdam.domain.reports.service;
+
+import static com.ssafy.damdam.domain.reports.exception.ReportExceptionCode.*;
+import static com.ssafy.damdam.domain.users.exception.auth.AuthExceptionCode.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ssafy.damdam.domain.counsels.dto.ChatMessageDto;
+import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
+import com.ssafy.damdam.domain.counsels.dto.TranscriptDto;
+import com.ssafy.damdam.domain.counsels.entity.Counseling;
+import com.ssafy.damdam.domain.counsels.repository.CounselingRepository;
+import com.ssafy.damdam.domain.reports.dto.EmotionStats;
+import com.ssafy.damdam.domain.reports.dto.EmotionTrendDto;
+import com.ssafy.damdam.domain.reports.dto.EmotionTrendPointDto;
+import com.ssafy.damdam.domain.reports.dto.TrendUnit;
+import com.ssafy.damdam.domain.reports.entity.EmotionDailyRollup;
+import com.ssafy.damdam.domain.reports.exception.ReportException;
+import com.ssafy.damdam.domain.reports.repository.EmotionDailyRollupRepository;
+import com.ssafy.damdam.domain.users.entity.Users;
+import com.ssafy.damdam.domain.users.exception.auth.AuthException;
+import com.ssafy.damdam.global.aws.s3.S3FileUploadService;
+import com.ssafy.damdam.global.util.user.UserUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 유저별 일별 감정 롤업(emotion_daily_rollup) 갱신과 추이 조회.
+ * 상담 레포트 발행으로 대화 원문이 확정될 때 그 상담분만 증분으로 더하고, 상담 삭제 시에는 영향받는 날짜만 다시 계산한다.
+ * 감정은 AI 레코드에 붙어 있고 같은 messageOrder 의 USER 메시지에 매칭한다 (상담 레포트 요약, Spark 와 같은 규칙).
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class EmotionRollupService {
+
+	private static final DateTimeFormatter PARAM_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+	private final EmotionDailyRollupRepository rollupRepository;
+	private final CounselingRepository counselingRepository;
+	private final S3FileUploadService s3FileUploadService;
+	private final UserUtil userUtil;
+	private final TransactionTemplate transactionTemplate;
+	private final ExecutorService virtualThreadExecutor;
+	private final int maxRangeDays;
+	private final int defaultMaxPoints;
+
+	public EmotionRollupService(
+		EmotionDailyRollupRepository rollupRepository,
+		CounselingRepository counselingRepository,
+		S3FileUploadService s3FileUploadService,
+		UserUtil userUtil,
+		TransactionTemplate transactionTemplate,
+		ExecutorService virtualThreadExecutor,
+		@Value("${report.trend.max-range-days:731}") int maxRangeDays,
+		@Value("${report.trend.default-max-points:60}") int defaultMaxPoints
+	) {
+		this.rollupRepository = rollupRepository;
+		this.counselingRepository = counselingRepository;
+		this.s3FileUploadService = s3FileUploadService;
+		this.userUtil = userUtil;
+		this.transactionTemplate = transactionTemplate;
+		this.virtualThreadExecutor = virtualThreadExecutor;
+		this.maxRangeDays = maxRangeDays;
+		this.defaultMaxPoints = defaultMaxPoints;
+	}
+
+	// 상담 레포트 발행 시 호출. 호출 측 트랜잭션에 참여하므로 레포트 저장이 롤백되면 롤업도 같이 롤백된다
+	@Transactional
+	public void applySession(Long userId, LocalDate sessionDate, List<ChatMessageDto> messages) {
+		Map<LocalDate, EmotionStats> deltas = accumulate(messages);
+		deltas.computeIfAbsent(sessionDate, d -> new EmotionStats()).addSession();
+
+		deltas.forEach((day, delta) -> rollupRepository.upsert(userId, day, delta));
+	}
+
+	/**
+	 * 상담 삭제 트랜잭션 안에서 호출한다. 재계산은 S3 에서 대화 원문을 받아야 하므로 삭제가 커밋된 뒤 가상 스레드에서 한다
+	 * (삭제 트랜잭션이 네트워크 I/O 동안 락과 커넥션을 잡지 않고, S3 오류로 삭제가 롤백되지 않도록).
+	 */
+	public void rebuildAfterDelete(Long userId, Long deletedCounsId, LocalDateTime counselCreatedAt) {
+		Runnable rebuild = () -> virtualThreadExecutor.execute(() -> {
+			try {
+				rebuild(userId, deletedCounsId, counselCreatedAt);
+			} catch (RuntimeException e) {
+				log.error("[EmotionRollup] 상담 삭제 후 재계산 실패: userId={}, counsId={}", userId, deletedCounsId, e);
+			}
+		});
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			rebuild.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				rebuild.run();
+			}
+		});
+	}
+
+	// min/max 는 뺄 수 없으므로 삭제된 상담이 걸쳐 있을 수 있는 날짜(생성일, 다음날)를 남은 상담으로 다시 계산한다.
+	// 원문 조회는 트랜잭션 밖에서 하고, 롤업 교체만 짧은 트랜잭션으로 묶는다
+	private void rebuild(Long userId, Long deletedCounsId, LocalDateTime counselCreatedAt) {
+		LocalDate day = counselCreatedAt.toLocalDate();
+		Set<LocalDate> days = Set.of(day, day.plusDays(1));
+
+		// 전날 시작해 자정을 넘긴 상담도 대상 날짜에 메시지가 있을 수 있다.
+		// applySession 은 레포트 저장과 함께 반영되므로, 재계산도 레포트가 있는 상담만 센다
+		List<Counseling> counselings = counselingRepository.findReportedCounselings(
+			userId, day.minusDays(1).atStartOfDay(), day.plusDays(1).atTime(LocalTime.MAX)
+		);
+
+		Map<LocalDate, EmotionStats> rebuilt = new TreeMap<>();
+		for (Counseling c : counselings) {
+			if (c.getCounsId().equals(deletedCounsId)) {
+				continue;
+			}
+			try {
+				TranscriptDto transcript = s3FileUploadService.downloadTranscript(c.getS3Link());
+				accumulate(toMessages(transcript)).forEach((d, stats) -> {
+					if (days.contains(d)) {
+						rebuilt.computeIfAbsent(d, k -> new EmotionStats()).merge(stats);
+					}
+				});
+			} catch (RuntimeException e) {
+				// 원문 하나를 못 읽었다고 재계산 전체를 포기하지 않도록 해당 상담분만 빼고 진행한다
+				log.warn("[EmotionRollup] 재계산 중 대화 원문 조회 실패: counsId={}, {}", c.getCounsId(), e.getMessage());
+			}
+			LocalDate created = c.getCreatedAt().toLocalDate();
+			if (days.contains(created)) {
+				rebuilt.computeIfAbsent(created, k -> new EmotionStats()).addSession();
+			}
+		}
+
+		transactionTemplate.executeWithoutResult(status -> {
+			rollupRepository.deleteDays(userId, days);
+			rebuilt.forEach((d, stats) -> rollupRepository.upsert(userId, d, stats));
+		});
+	}
+
+	public long countSessions(Long userId, LocalDate start, LocalDate end) {
+		return rollupRepository.sumSessionCount(userId, start, end);
+	}
+
+	public EmotionTrendDto getTrend(String startDate, String endDate, TrendUnit unit, Integer maxPoints) {
+		Users user = userUtil.getUser();
+		if (user == null) {
+			throw new AuthException(AUTH_MEMBER_NOT_FOUND);
+		}
+
+		LocalDate start = parseDate(startDate);
+		LocalDate end = parseDate(endDate);
+		if (end.isBefore(start) || ChronoUnit.DAYS.between(start, end) >= maxRangeDays) {
+			throw new ReportException(INVALID_TREND_RANGE);
+		}
+		TrendUnit u = (unit == null) ? TrendUnit.DAY : unit;
+		int limit = Math.max(1, (maxPoints == null) ? defaultMaxPoints : maxPoints);
+
+		List<EmotionDailyRollup> rows = rollupRepository
+			.findByUserIdAndStatDateBetweenOrderByStatDateAsc(user.getUserId(), start, end);
+
+		// 데이터가 없는 구간도 빈 점으로 채워 시간축을 유지한다
+		List<Bucket> buckets = buildBuckets(start, end, u);
+		int i = 0;
+		for (Bucket b : buckets) {
+			while (i < rows.size() && !rows.get(i).getStatDate().isAfter(b.end)) {
+				b.stats.merge(rows.get(i).toStats());
+				i++;
+			}
+		}
+
+		// 점 수가 limit 을 넘으면 이웃한 구간을 같은 개수씩 묶는다 (합·수·최소·최대라 병합해도 정확하다)
+		int perPoint = (buckets.size() + limit - 1) / limit;
+		List<EmotionTrendPointDto> points = new ArrayList<>();
+		for (int from = 0; from < buckets.size(); from += perPoint) {
+			List<Bucket> group = buckets.subList(from, Math.min(from + perPoint, buckets.size()));
+			EmotionStats merged = new EmotionStats();
+			group.forEach(b -> merged.merge(b.stats));
+			points.add(toPoint(group.get(0).start, group.get(group.size() - 1).end, merged));
+		}
+
+		return EmotionTrendDto.builder()
+			.startDate(start)
+			.endDate(end)
+			.unit(u)
+			.bucketsPerPoint(perPoint)
+			.points(points)
+			.build();
+	}
+
+	private Map<LocalDate, EmotionStats> accumulate(List<ChatMessageDto> messages) {
+		Map<Integer, EmotionDto> emotionMap = messages.stream()
+			.filter(m -> m.getEmotion() != null)
+			.collect(Collectors.toMap(
+				ChatMessageDto::getMessageOrder,
+				ChatMessageDto::getEmotion,
+				(e1, e2) -> e1
+			));
+
+		Map<LocalDate, EmotionStats> perDay = new TreeMap<>();
+		for (ChatMessageDto m : messages) {
+			if (!"USER".equals(m.getSender()) || m.getTimestamp() == null) {
+				continue;
+			}
+			EmotionDto emo = emotionMap.get(m.getMessageOrder());
+			if (emo == null) {
+				continue;
+			}
+			perDay.computeIfAbsent(m.getTimestamp().toLocalDate(), d -> new EmotionStats()).add(emo);
+		}
+		return perDay;
+	}
+
+	private List<ChatMessageDto> toMessages(TranscriptDto transcript) {
+		if (transcript.getMessageList() == null) {
+			return List.of();
+		}
+		return transcript.getMessageList().stream()
+			.map(r -> ChatMessageDto.builder()
+				.sender(r.getSender())
+				.isVoice(r.getIsVoice())
+				.messageOrder(r.getMessageOrder())
+				.message(r.getMessage())
+				.timestamp(r.getTimestamp())
+				.emotion(r.getEmotion())
+				.build())
+			.toList();
+	}
+
+	private LocalDate parseDate(String raw) {
+		if (raw == null || raw.isBlank()) {
+			throw new ReportException(INVALID_TREND_RANGE);
+		}
+		try {
+			return LocalDate.parse(raw, PARAM_FORMAT);
+		} catch (DateTimeParseException e) {
+			throw new ReportException(INVALID_TREND_RANGE);
+		}
+	}
+
+	private List<Bucket> buildBuckets(LocalDate start, LocalDate end, TrendUnit unit) {
+		List<Bucket> buckets = new ArrayList<>();
+		LocalDate cursor = start;
+		while (!cursor.isAfter(end)) {
+			LocalDate bucketEnd = (unit == TrendUnit.WEEK)
+				? cursor.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY))
+				: cursor;
+			if (bucketEnd.isAfter(end)) {
+				bucketEnd = end;
+			}
+			buckets.add(new Bucket(cursor, bucketEnd));
+			cursor = bucketEnd.plusDays(1);
+		}
+		return buckets;
+	}
+
+	private EmotionTrendPointDto toPoint(LocalDate start, LocalDate end, EmotionStats stats) {
+		int count = stats.getMessageCount();
+		return EmotionTrendPointDto.builder()
+			.startDate(start)
+			.endDate(end)
+			.messageCount(count)
+			.sessionCount(stats.getSessionCount())
+			.happiness(toDimension(stats.getHappiness(), count))
+			.sadness(toDimension(stats.getSadness(), count))
+			.angry(toDimension(stats.getAngry(), count))
+			.neutral(toDimension(stats.getNeutral(), count))
+			.other(toDimension(stats.getOther(), count))
+			.build();
+	}
+
+	private EmotionTrendPointDto.DimensionDto toDimension(EmotionStats.Dimension d, int count) {
+		if (count == 0) {
+			return new EmotionTrendPointDto.DimensionDto(null, null, null);
+		}
+		double avg = Math.round(d.getSum() * 10.0 / count) / 10.0;
+		return new EmotionTrendPointDto.DimensionDto(avg, d.getMin(), d.getMax());
+	}
+
+	private static class Bucket {
+		private final LocalDate start;
+		private final LocalDate end;
+		private final EmotionStats stats = new EmotionStats();
+
+		Bucket(LocalDate start, LocalDate end) {
+			this.start = start;
+			this.end = end;
+		}
+	}
+}
@@ -0,0 +1,181 @@
+package com.ssafy.damdam.domain.reports.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ssafy.damdam.domain.counsels.dto.ChatRecordDto;
+import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
+import com.ssafy.damdam.domain.counsels.dto.TranscriptDto;
+import com.ssafy.damdam.domain.counsels.entity.Counseling;
+import com.ssafy.damdam.domain.counsels.repository.CounselingRepository;
+import com.ssafy.damdam.domain.reports.dto.SparkResultDto;
+import com.ssafy.damdam.global.aws.s3.S3FileUploadService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기간별 레포트용 감정 데이터를 Spark 없이 JVM 안에서 모은다.
+ * Spark 작업은 버킷의 origin_texts/*.json 전체를 읽고 유저 한 명의 상담만 걸러내지만,
+ * 백엔드는 해당 유저/기간의 Counseling.s3Link 를 이미 알고 있으므로 그 대화 원문만 병렬로 받아
+ * Spark 와 같은 형태(USER 메시지 + 같은 messageOrder 의 AI 감정)의 SparkResultDto 목록을 만든다.
+ * 상담 수가 상한을 넘거나 수집이 실패/시간 초과되면 Optional.empty 를 돌려 호출 측이 Spark 로 넘어가게 한다.
+ */
+@Slf4j
+@Component
+public class PeriodAggregationEngine {
+
+	private final CounselingRepository counselingRepository;
+	private final S3FileUploadService s3FileUploadService;
+	private final ExecutorService virtualThreadExecutor;
+	private final boolean enabled;
+	private final int maxCounselings;
+	private final int concurrency;
+	private final Duration timeout;
+	private final Timer collectTimer;
+	private final MeterRegistry meterRegistry;
+
+	public PeriodAggregationEngine(
+		CounselingRepository counselingRepository,
+		S3FileUploadService s3FileUploadService,
+		ExecutorService virtualThreadExecutor,
+		MeterRegistry meterRegistry,
+		@Value("${report.period-aggregation.in-process-enabled:true}") boolean enabled,
+		@Value("${report.period-aggregation.max-counselings:300}") int maxCounselings,
+		@Value("${report.period-aggregation.concurrency:8}") int concurrency,
+		@Value("${report.period-aggregation.timeout:60s}") Duration timeout
+	) {
+		this.counselingRepository = counselingRepository;
+		this.s3FileUploadService = s3FileUploadService;
+		this.virtualThreadExecutor = virtualThreadExecutor;
+		this.meterRegistry = meterRegistry;
+		this.enabled = enabled;
+		this.maxCounselings = maxCounselings;
+		this.concurrency = Math.max(1, concurrency);
+		this.timeout = timeout;
+		this.collectTimer = Timer.builder("damdam.report.aggregation.in_process")
+			.description("기간별 레포트 대화 원문 JVM 내 수집 시간")
+			.register(meterRegistry);
+	}
+
+	public Optional<List<SparkResultDto>> aggregate(Long userId, LocalDate start, LocalDate end) {
+		if (!enabled) {
+			return Optional.empty();
+		}
+
+		List<Counseling> counselings = counselingRepository.findValidCounselings(
+			userId, start.atStartOfDay(), end.atTime(LocalTime.MAX)
+		);
+		if (counselings.size() > maxCounselings) {
+			log.info("[PeriodAggregation] 상담 수 {}건이 상한 {}건을 넘어 Spark 로 수집: userId={}",
+				counselings.size(), maxCounselings, userId);
+			fallback("too_large");
+			return Optional.empty();
+		}
+
+		Timer.Sample sample = Timer.start(meterRegistry);
+		try {
+			List<SparkResultDto> results = collect(userId, counselings);
+			return Optional.of(results);
+		} catch (Exception e) {
+			log.warn("[PeriodAggregation] JVM 내 수집 실패, Spark 로 재시도: userId={}, {}", userId, e.toString());
+			fallback("error");
+			return Optional.empty();
+		} finally {
+			sample.stop(collectTimer);
+		}
+	}
+
+	// 세마포어로 S3 동시 다운로드 수만 제한하고, 전체 작업은 timeout 안에 끝나지 않으면 취소한다
+	private List<SparkResultDto> collect(Long userId, List<Counseling> counselings) throws Exception {
+		Semaphore permits = new Semaphore(concurrency);
+		List<Callable<List<SparkResultDto>>> tasks = counselings.stream()
+			.<Callable<List<SparkResultDto>>>map(c -> () -> {
+				TranscriptDto transcript;
+				permits.acquire();
+				try {
+					transcript = s3FileUploadService.downloadTranscript(c.getS3Link());
+				} finally {
+					permits.release();
+				}
+				return extractUserMessages(c.getCounsId(), userId, transcript);
+			})
+			.toList();
+
+		List<Future<List<SparkResultDto>>> futures =
+			virtualThreadExecutor.invokeAll(tasks, timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+		List<SparkResultDto> results = new ArrayList<>();
+		for (Future<List<SparkResultDto>> future : futures) {
+			try {
+				results.addAll(future.get());
+			} catch (ExecutionException e) {
+				throw e.getCause() instanceof Exception cause ? cause : e;
+			}
+		}
+		// Spark 결과와 같이 시간순으로 맞춘다
+		results.sort(Comparator.comparing(SparkResultDto::getTimestamp,
+			Comparator.nullsLast(Comparator.naturalOrder())));
+		return results;
+	}
+
+	// getSessionReport 와 같은 규칙: 감정은 AI 레코드에 붙어 있고, 같은 messageOrder 의 USER 메시지에 매칭한다
+	static List<SparkResultDto> extractUserMessages(Long counsId, Long userId, TranscriptDto transcript) {
+		List<ChatRecordDto> records = transcript.getMessageList();
+		if (records == null || records.isEmpty()) {
+			return List.of();
+		}
+
+		Map<Integer, EmotionDto> emotionMap = records.stream()
+			.filter(r -> r.getEmotion() != null)
+			.collect(Collectors.toMap(
+				ChatRecordDto::getMessageOrder,
+				ChatRecordDto::getEmotion,
+				(e1, e2) -> e1
+			));
+
+		return records.stream()
+			.filter(r -> "USER".equals(r.getSender()))
+			.map(r -> {
+				EmotionDto emo = emotionMap.get(r.getMessageOrder());
+				if (emo == null)
+					return null;
+				return SparkResultDto.builder()
+					.counsId(counsId)
+					.userId(userId)
+					.timestamp(r.getTimestamp())
+					.message(r.getMessage())
+					.emotion(emo)
+					.build();
+			})
+			.filter(Objects::nonNull)
+			.toList();
+	}
+
+	private void fallback(String reason) {
+		Counter.builder("damdam.report.aggregation.fallback")
+			.description("JVM 내 수집 대신 Spark 로 넘긴 횟수")
+			.tag("reason", reason)
+			.register(meterRegistry)
+			.increment();
+	}
+}
@@ -0,0 +1,223 @@
+package com.ssafy.damdam.domain.reports.service;
+
+import static com.ssafy.damdam.domain.reports.exception.ReportExceptionCode.*;
+import static com.ssafy.damdam.domain.users.exception.auth.AuthExceptionCode.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import com.ssafy.damdam.domain.reports.dto.PeriodReportInputDto;
+import com.ssafy.damdam.domain.reports.dto.PeriodReportJobDto;
+import com.ssafy.damdam.domain.reports.dto.PeriodReportJobStatus;
+import com.ssafy.damdam.domain.reports.exception.ReportException;
+import com.ssafy.damdam.domain.users.entity.Users;
+import com.ssafy.damdam.domain.users.exception.auth.AuthException;
+import com.ssafy.damdam.global.exception.ExceptionCode;
+import com.ssafy.damdam.global.redis.RedisScripts;
+import com.ssafy.damdam.global.util.user.UserUtil;
+import com.ssafy.damdam.global.webclient.exception.WebClientException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기간별 레포트 생성을 HTTP 요청과 분리한 비동기 작업으로 처리한다.
+ * 접수 시 작업 id 를 바로 돌려주고, 진행 상태는 Redis 해시(report:period-job:{jobId})에 기록해 상태 조회 API 와
+ * STOMP(/sub/reports/period/{jobId}) 로 알린다. 같은 (userId, 시작일, 종료일) 요청이 진행 중이면 새 작업을 만들지 않고
+ * 진행 중인 작업 id 를 돌려준다.
+ */
+@Slf4j
+@Service
+public class PeriodReportJobService {
+
+	private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+	private static final RedisScript<Long> DELETE_IF_EQUALS = RedisScripts.longScript("key_delete_if_equals.lua");
+
+	private final ReportService reportService;
+	private final StringRedisTemplate stringRedisTemplate;
+	private final SimpMessagingTemplate messagingTemplate;
+	private final ExecutorService virtualThreadExecutor;
+	private final UserUtil userUtil;
+	private final Duration inFlightTtl;
+	private final Duration resultTtl;
+
+	public PeriodReportJobService(
+		ReportService reportService,
+		StringRedisTemplate stringRedisTemplate,
+		SimpMessagingTemplate messagingTemplate,
+		ExecutorService virtualThreadExecutor,
+		UserUtil userUtil,
+		@Value("${report.period-job.in-flight-ttl:30m}") Duration inFlightTtl,
+		@Value("${report.period-job.result-ttl:1d}") Duration resultTtl
+	) {
+		this.reportService = reportService;
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.messagingTemplate = messagingTemplate;
+		this.virtualThreadExecutor = virtualThreadExecutor;
+		this.userUtil = userUtil;
+		this.inFlightTtl = inFlightTtl;
+		this.resultTtl = resultTtl;
+	}
+
+	public PeriodReportJobDto submit(PeriodReportInputDto input) {
+		Users user = userUtil.getUser();
+		if (user == null) {
+			throw new AuthException(AUTH_MEMBER_NOT_FOUND);
+		}
+		Long userId = user.getUserId();
+
+		DateTimeFormatter formatter = DateTimeFormatter.BASIC_ISO_DATE;
+		LocalDate start = LocalDate.parse(input.getStartDate(), formatter);
+		LocalDate end = LocalDate.parse(input.getEndDate(), formatter);
+
+		// 데이터가 부족한 요청은 작업을 만들기 전에 바로 거절한다
+		reportService.validatePeriodReportRange(userId, start, end);
+
+		String dedupeKey = dedupeKey(userId, start, end);
+		String jobId = UUID.randomUUID().toString();
+		// 키를 잡은 요청만 작업을 시작한다. 진행 중인 작업이 그 사이 끝나 키가 지워졌다면 다시 잡기를 시도한다
+		while (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(dedupeKey, jobId, inFlightTtl))) {
+			String running = stringRedisTemplate.opsForValue().get(dedupeKey);
+			if (running != null) {
+				log.info("[PeriodReportJob] 진행 중인 작업으로 합침: userId={}, jobId={}", userId, running);
+				return findJob(running).orElseGet(() -> queued(running, start, end));
+			}
+		}
+
+		PeriodReportJobDto job = queued(jobId, start, end);
+		save(jobId, userId, job);
+		virtualThreadExecutor.execute(() -> run(jobId, userId, start, end, dedupeKey));
+		return job;
+	}
+
+	public PeriodReportJobDto getJob(String jobId) {
+		Users user = userUtil.getUser();
+		if (user == null) {
+			throw new AuthException(AUTH_MEMBER_NOT_FOUND);
+		}
+		Map<Object, Object> hash = stringRedisTemplate.opsForHash().entries(jobKey(jobId));
+		if (hash.isEmpty()) {
+			throw new ReportException(REPORT_JOB_NOT_FOUND);
+		}
+		if (!user.getUserId().toString().equals(hash.get("userId"))) {
+			throw new ReportException(NOT_YOUR_REPORT);
+		}
+		return toDto(jobId, hash);
+	}
+
+	private void run(String jobId, Long userId, LocalDate start, LocalDate end, String dedupeKey) {
+		try {
+			Long pReportId = reportService.generatePeriodReport(userId, start, end, status ->
+				update(jobId, userId, builder(jobId, start, end).status(status).build()));
+
+			update(jobId, userId, builder(jobId, start, end)
+				.status(PeriodReportJobStatus.DONE)
+				.pReportId(pReportId)
+				.build());
+			log.info("[PeriodReportJob] 완료: jobId={}, userId={}, pReportId={}", jobId, userId, pReportId);
+
+		} catch (Exception e) {
+			ExceptionCode code = exceptionCodeOf(e);
+			log.error("[PeriodReportJob] 실패: jobId={}, userId={}", jobId, userId, e);
+			update(jobId, userId, builder(jobId, start, end)
+				.status(PeriodReportJobStatus.FAILED)
+				.errorCode(code != null ? code.getCode() : null)
+				.errorMessage(code != null ? code.getMessage() : "기간별 레포트 생성 중 알 수 없는 오류가 발생했습니다.")
+				.build());
+
+		} finally {
+			// 같은 기간을 다시 요청하면 새 작업으로 만들 수 있도록 푼다 (다른 작업이 잡은 키는 지우지 않도록 비교와 삭제를 한 번에)
+			stringRedisTemplate.execute(DELETE_IF_EQUALS, List.of(dedupeKey), jobId);
+		}
+	}
+
+	// 상태를 기록하고 구독 중인 클라이언트에 push
+	private void update(String jobId, Long userId, PeriodReportJobDto job) {
+		save(jobId, userId, job);
+		messagingTemplate.convertAndSend("/sub/reports/period/" + jobId, job);
+	}
+
+	private void save(String jobId, Long userId, PeriodReportJobDto job) {
+		Map<String, String> fields = new LinkedHashMap<>();
+		fields.put("userId", String.valueOf(userId));
+		fields.put("status", job.getStatus().name());
+		fields.put("startDate", job.getStartDate().toString());
+		fields.put("endDate", job.getEndDate().toString());
+		fields.put("updatedAt", job.getUpdatedAt().toString());
+		if (job.getPReportId() != null) {
+			fields.put("pReportId", String.valueOf(job.getPReportId()));
+		}
+		if (job.getErrorMessage() != null) {
+			fields.put("errorMessage", job.getErrorMessage());
+		}
+		if (job.getErrorCode() != null) {
+			fields.put("errorCode", job.getErrorCode());
+		}
+		String key = jobKey(jobId);
+		stringRedisTemplate.opsForHash().putAll(key, fields);
+		stringRedisTemplate.expire(key, resultTtl);
+	}
+
+	private Optional<PeriodReportJobDto> findJob(String jobId) {
+		Map<Object, Object> hash = stringRedisTemplate.opsForHash().entries(jobKey(jobId));
+		return hash.isEmpty() ? Optional.empty() : Optional.of(toDto(jobId, hash));
+	}
+
+	private PeriodReportJobDto toDto(String jobId, Map<Object, Object> hash) {
+		Object pReportId = hash.get("pReportId");
+		return PeriodReportJobDto.builder()
+			.jobId(jobId)
+			.status(PeriodReportJobStatus.valueOf((String)hash.get("status")))
+			.startDate(LocalDate.parse((String)hash.get("startDate")))
+			.endDate(LocalDate.parse((String)hash.get("endDate")))
+			.pReportId(pReportId == null ? null : Long.valueOf((String)pReportId))
+			.errorCode((String)hash.get("errorCode"))
+			.errorMessage((String)hash.get("errorMessage"))
+			.updatedAt(LocalDateTime.parse((String)hash.get("updatedAt")))
+			.build();
+	}
+
+	private PeriodReportJobDto queued(String jobId, LocalDate start, LocalDate end) {
+		return builder(jobId, start, end).status(PeriodReportJobStatus.QUEUED).build();
+	}
+
+	private PeriodReportJobDto.PeriodReportJobDtoBuilder builder(String jobId, LocalDate start, LocalDate end) {
+		return PeriodReportJobDto.builder()
+			.jobId(jobId)
+			.startDate(start)
+			.endDate(end)
+			.updatedAt(LocalDateTime.now(SEOUL));
+	}
+
+	private ExceptionCode exceptionCodeOf(Exception e) {
+		if (e instanceof ReportException reportException) {
+			return reportException.getExceptionCode();
+		}
+		if (e instanceof WebClientException webClientException) {
+			return webClientException.getExceptionCode();
+		}
+		return null;
+	}
+
+	private String jobKey(String jobId) {
+		return "report:period-job:" + jobId;
+	}
+
+	private String dedupeKey(Long userId, LocalDate start, LocalDate end) {
+		return "report:period-job:inflight:" + userId + ":" + start + ":" + end;
+	}
+}
@@ -1,8 +1,10 @@
 package com.ssafy.damdam.domain.reports.service;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
-import com.ssafy.damdam.domain.reports.dto.PeriodReportInputDto;
+import com.ssafy.damdam.domain.reports.dto.PeriodReportJobStatus;
 import com.ssafy.damdam.domain.reports.dto.PeriodReportListDto;
 import com.ssafy.damdam.domain.reports.dto.PeriodReportOutputDto;
 import com.ssafy.damdam.domain.reports.dto.SessionReportListDto;
@@ -25,5 +27,7 @@ public interface ReportService {
 
 	void deletePeriodReport(Long pReportId);
 
-	Long createPeriodReport(PeriodReportInputDto periodReportInputDto);
+	void validatePeriodReportRange(Long userId, LocalDate start, LocalDate end);
+
+	Long generatePeriodReport(Long userId, LocalDate start, LocalDate end, Consumer<PeriodReportJobStatus> progress);
 }
@@ -2,7 +2,6 @@ package com.ssafy.damdam.domain.reports.service;
 
 import static com.ssafy.damdam.domain.reports.exception.ReportExceptionCode.*;
 import static com.ssafy.damdam.domain.users.exception.auth.AuthExceptionCode.*;
-import static com.ssafy.damdam.domain.users.exception.user.UserExceptionCode.*;
 import static com.ssafy.damdam.global.webclient.exception.WebClientExceptionCode.*;
 
 import java.time.Instant;
@@ -11,13 +10,17 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -30,12 +33,15 @@ import com.ssafy.damdam.domain.counsels.dto.UserContextDto;
 import com.ssafy.damdam.domain.counsels.entity.Counseling;
 import com.ssafy.damdam.domain.counsels.repository.CounselingRepository;
 import com.ssafy.damdam.domain.reports.dto.EmotionPerTimestamp;
+import com.ssafy.damdam.domain.reports.dto.EmotionStats;
+import com.ssafy.damdam.domain.reports.dto.EmotionSummaryDto;
 import com.ssafy.damdam.domain.reports.dto.LlmPeriodReportRequest;
 import com.ssafy.damdam.domain.reports.dto.LlmPeriodReportResponse;
-import com.ssafy.damdam.domain.reports.dto.PeriodReportInputDto;
+import com.ssafy.damdam.domain.reports.dto.PeriodReportJobStatus;
 import com.ssafy.damdam.domain.reports.dto.PeriodReportListDto;
 import com.ssafy.damdam.domain.reports.dto.PeriodReportOutputDto;
 import com.ssafy.damdam.domain.reports.dto.SessionReportListDto;
+import com.ssafy.damdam.domain.reports.dto.SessionDigestDto;
 import com.ssafy.damdam.domain.reports.dto.SessionReportOutputDto;
 import com.ssafy.damdam.domain.reports.dto.SparkResponseDto;
 import com.ssafy.damdam.domain.reports.dto.SparkResultDto;
@@ -44,22 +50,17 @@ import com.ssafy.damdam.domain.reports.entity.SessionReport;
 import com.ssafy.damdam.domain.reports.exception.ReportException;
 import com.ssafy.damdam.domain.reports.repository.PeriodReportRepository;
 import com.ssafy.damdam.domain.reports.repository.SessionReportRepository;
-import com.ssafy.damdam.domain.users.entity.Age;
-import com.ssafy.damdam.domain.users.entity.Gender;
-import com.ssafy.damdam.domain.users.entity.Mbti;
-import com.ssafy.damdam.domain.users.entity.UserInfo;
-import com.ssafy.damdam.domain.users.entity.UserSetting;
-import com.ssafy.damdam.domain.users.entity.UserSurvey;
 import com.ssafy.damdam.domain.users.entity.Users;
 import com.ssafy.damdam.domain.users.exception.auth.AuthException;
-import com.ssafy.damdam.domain.users.exception.user.UserException;
-import com.ssafy.damdam.domain.users.repository.UserInfoRepository;
-import com.ssafy.damdam.domain.users.repository.UserSettingRepository;
-import com.ssafy.damdam.domain.users.repository.UserSurveyRepository;
+import com.ssafy.damdam.domain.users.repository.UsersRepository;
 import com.ssafy.damdam.global.aws.s3.S3FileUploadService;
+import com.ssafy.damdam.global.cache.UserContextCache;
 import com.ssafy.damdam.global.util.user.UserUtil;
 import com.ssafy.damdam.global.webclient.client.LlmPeriodClient;
 import com.ssafy.damdam.global.webclient.client.SparkPeriodClient;
+import com.ssafy.damdam.global.webclient.config.LlmApiProperties;
+import com.ssafy.damdam.global.webclient.dispatch.LlmDispatcher;
+import com.ssafy.damdam.global.webclient.dispatch.LlmLane;
 import com.ssafy.damdam.global.webclient.exception.WebClientException;
 
 import lombok.RequiredArgsConstructor;
@@ -74,12 +75,15 @@ public class ReportServiceImpl implements ReportService {
 	private final PeriodReportRepository periodReportRepository;
 	private final SessionReportRepository sessionReportRepository;
 	private final CounselingRepository counselingRepository;
-	private final UserSettingRepository settingRepository;
-	private final UserInfoRepository infoRepository;
-	private final UserSurveyRepository surveyRepository;
+	private final UsersRepository usersRepository;
+	private final UserContextCache userContextCache;
 	private final S3FileUploadService s3FileUploadService;
 	private final LlmPeriodClient llmClient;
+	private final LlmDispatcher llmDispatcher;
 	private final SparkPeriodClient sparkClient;
+	private final PeriodAggregationEngine periodAggregationEngine;
+	private final EmotionRollupService emotionRollupService;
+	private final LlmApiProperties llmApiProperties;
 	private final ObjectMapper objectMapper;
 	private final UserUtil userUtil;
 
@@ -114,13 +118,6 @@ public class ReportServiceImpl implements ReportService {
 		return report;
 	}
 
-	// 값이 없거나 특정되지 않은 경우 null화 하는 함수
-	private String normalizeEnumValue(String v) {
-		if (v == null || v.isBlank() || "UNKNOWN".equalsIgnoreCase(v))
-			return null;
-		return v.trim();
-	}
-
 	private boolean isBlank(String s) {
 		return s == null || s.isBlank();
 	}
@@ -297,27 +294,138 @@ public class ReportServiceImpl implements ReportService {
 		periodReportRepository.delete(report);
 	}
 
+	// 작업 접수 전에 요청 스레드에서 빠르게 확인한다 (기간 내 유효 상담 2건 이상)
 	@Override
-	@Transactional
-	public Long createPeriodReport(PeriodReportInputDto periodReportInputDto) {
-		Users user = validateUser();
-		Long userId = user.getUserId();
-
-		String startDate = periodReportInputDto.getStartDate();
-		String endDate = periodReportInputDto.getEndDate();
-		DateTimeFormatter formatter = DateTimeFormatter.BASIC_ISO_DATE;
-		LocalDate start = LocalDate.parse(startDate, formatter);
-		LocalDate end = LocalDate.parse(endDate, formatter);
-
-		LocalDateTime startAt = start.atStartOfDay();             // 00:00:00
-		LocalDateTime endAt = end.atTime(LocalTime.MAX);
-		
-		long validCount = counselingRepository.countValidCounselings(userId, startAt, endAt);
+	public void validatePeriodReportRange(Long userId, LocalDate start, LocalDate end) {
+		// 일별 롤업의 세션 수로 먼저 확인하고, 롤업 도입 전 상담은 집계에 없으므로 부족할 때만 상담 테이블을 센다
+		long validCount = emotionRollupService.countSessions(userId, start, end);
+		if (validCount < 2) {
+			LocalDateTime startAt = start.atStartOfDay();             // 00:00:00
+			LocalDateTime endAt = end.atTime(LocalTime.MAX);
+			validCount = counselingRepository.countValidCounselings(userId, startAt, endAt);
+		}
 
 		if (validCount < 2) {
 			throw new ReportException(CANT_CREATE_PERIOD_REPORT);
 		}
+	}
+
+	// 레포트 생성 작업 본체. 감정 데이터 수집과 LLM 생성에 수 분이 걸릴 수 있으므로 트랜잭션(DB 커넥션)을 잡지 않고,
+	// 저장만 repository 의 트랜잭션으로 처리한다
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public Long generatePeriodReport(
+		Long userId,
+		LocalDate start,
+		LocalDate end,
+		Consumer<PeriodReportJobStatus> progress
+	) {
+		progress.accept(PeriodReportJobStatus.COLLECTING);
+
+		// 대부분의 유저는 상담 수가 적으므로 s3Link 로 원문만 받아 JVM 에서 모으고, 큰 기간이나 실패 시에만 Spark 를 쓴다
+		List<SparkResultDto> processed = periodAggregationEngine.aggregate(userId, start, end)
+			.orElseGet(() -> collectFromSpark(userId, start, end));
+
+		if (processed.isEmpty()) {
+			throw new ReportException(CANT_CREATE_PERIOD_REPORT);
+		}
+
+		// DB에 저장할 상담 목록 리스트
+		List<Long> counselList = processed.stream()
+			.map(SparkResultDto::getCounsId)
+			.distinct()
+			.toList();
+
+		progress.accept(PeriodReportJobStatus.GENERATING);
+
+		// LLM 요청을 위한 유저 컨텍스트
+		UserContextDto userContext = userContextCache.get(userId);
+
+		LlmPeriodReportRequest llmRequest = llmApiProperties.isPeriodHierarchical()
+			? buildHierarchicalRequest(userContext, start, end, processed, counselList)
+			: LlmPeriodReportRequest.builder()
+				.userContext(userContext)
+				.startDate(start)
+				.endDate(end)
+				.messageList(processed)
+				.build();
+
+		// 기간별 레포트는 채팅보다 뒤로 밀리는 LOW lane
+		LlmPeriodReportResponse response = llmDispatcher.call(LlmLane.LOW,
+			() -> llmClient.requestPeriodReport(llmRequest));
+
+		Users user = usersRepository.findById(userId)
+			.orElseThrow(() -> new AuthException(AUTH_MEMBER_NOT_FOUND));
+
+		PeriodReport report = new PeriodReport();
+		report.createPeriodReport(
+			user,
+			start,
+			end,
+			processed.size(),
+			counselList,
+			response
+		);
+		periodReportRepository.save(report);
+
+		return report.getPReportId();
+	}
+
+	// 상담 레포트가 있는 상담은 이미 만들어진 요약/분석 + 감정 요약으로 대신해, llm 입력이 메시지 수가 아니라 상담 수에 비례하게 한다.
+	// 레포트가 없는 상담(요약 생성 전 삭제/실패 등)만 원본 메시지를 그대로 보낸다
+	private LlmPeriodReportRequest buildHierarchicalRequest(
+		UserContextDto userContext,
+		LocalDate start,
+		LocalDate end,
+		List<SparkResultDto> processed,
+		List<Long> counselList
+	) {
+		Map<Long, SessionReport> reports = sessionReportRepository.findAllWithCounselingByCounsIdIn(counselList)
+			.stream()
+			.collect(Collectors.toMap(r -> r.getCounseling().getCounsId(), Function.identity()));
+
+		Map<Long, EmotionStats> statsByCounsel = new HashMap<>();
+		EmotionStats periodStats = new EmotionStats();
+		List<SparkResultDto> rawMessages = new ArrayList<>();
+		for (SparkResultDto m : processed) {
+			periodStats.add(m.getEmotion());
+			if (reports.containsKey(m.getCounsId())) {
+				statsByCounsel.computeIfAbsent(m.getCounsId(), id -> new EmotionStats()).add(m.getEmotion());
+			} else {
+				rawMessages.add(m);
+			}
+		}
 
+		List<SessionDigestDto> sessionList = counselList.stream()
+			.filter(reports::containsKey)
+			.map(counsId -> {
+				SessionReport r = reports.get(counsId);
+				return SessionDigestDto.builder()
+					.counsId(counsId)
+					.counseledAt(r.getCounseling().getCreatedAt())
+					.summary(r.getSummary())
+					.analyze(r.getAnalyze())
+					.valence(r.getValence())
+					.arousal(r.getArousal())
+					.emotion(EmotionSummaryDto.from(statsByCounsel.getOrDefault(counsId, new EmotionStats())))
+					.build();
+			})
+			.toList();
+
+		log.info("[PeriodReport] 계층형 요청: 상담 레포트 {}건, 원본 메시지 {}/{}건",
+			sessionList.size(), rawMessages.size(), processed.size());
+
+		return LlmPeriodReportRequest.builder()
+			.userContext(userContext)
+			.startDate(start)
+			.endDate(end)
+			.messageList(rawMessages)
+			.sessionList(sessionList)
+			.periodEmotion(EmotionSummaryDto.from(periodStats))
+			.build();
+	}
+
+	private List<SparkResultDto> collectFromSpark(Long userId, LocalDate start, LocalDate end) {
 		SparkResponseDto rawResp = sparkClient.getRawResults(
 			userId, start, end
 		);
@@ -326,7 +434,7 @@ public class ReportServiceImpl implements ReportService {
 			throw new ReportException(CANT_CREATE_PERIOD_REPORT);
 		}
 
-		List<SparkResultDto> processed = rawResp.getResults().stream()
+		return rawResp.getResults().stream()
 			.map(raw -> {
 				try {
 					EmotionDto emo = objectMapper.readValue(raw.getEmotion(), EmotionDto.class);
@@ -347,76 +455,5 @@ public class ReportServiceImpl implements ReportService {
 				}
 			})
 			.toList();
-
-		// DB에 저장할 상담 목록 리스트
-		List<Long> counselList = processed.stream()
-			.map(SparkResultDto::getCounsId)
-			.distinct()
-			.toList();
-
-		// LLM 요청을 위한 유저 컨텍스트
-		UserInfo infos = infoRepository.findById(userId)
-			.orElseThrow(() -> new UserException(USER_INFO_NOT_FOUND));
-		UserSetting setting = settingRepository.findById(userId)
-			.orElseThrow(() -> new UserException(USER_SETTING_NOT_FOUND));
-
-		UserSurvey survey = surveyRepository.findById(userId).orElse(null);
-		int depression = -1, anxiety = -1, stress = -1;
-		Boolean isSuicidal = null;
-		String stressReason = null;
-
-		if (survey != null) {
-			depression = survey.getDepression();
-			anxiety = survey.getAnxiety();
-			stress = survey.getStress();
-			isSuicidal = survey.getIsSuicidal();
-			stressReason = normalizeEnumValue(survey.getStressReason());
-		}
-
-		String rawAge = normalizeEnumValue(String.valueOf(infos.getAge()));
-		Age ageEnum = rawAge != null ? Age.valueOf(rawAge) : null;
-
-		String rawMbti = normalizeEnumValue(String.valueOf(infos.getMbti()));
-		Mbti mbtiEnum = rawMbti != null ? Mbti.valueOf(rawMbti) : null;
-
-		String rawGender = normalizeEnumValue(String.valueOf(infos.getGender()));
-		Gender genderEnum = rawGender != null ? Gender.valueOf(rawGender) : null;
-
-		UserContextDto userContext = UserContextDto.builder()
-			.nickname(user.getNickname())
-			.botCustom(normalizeEnumValue(setting.getBotCustom()))
-			.age(ageEnum)   // Age enum or null
-			.mbti(mbtiEnum)   // Mbti enum or null
-			.career(normalizeEnumValue(infos.getCareer()))
-			.gender(genderEnum)   // Gender enum or null
-			.depression(depression)
-			.anxiety(anxiety)
-			.stress(stress)
-			.isSuicidal(isSuicidal)
-			.stressReason(stressReason)
-			.build();
-
-		LlmPeriodReportRequest llmRequest = LlmPeriodReportRequest.builder()
-			.userContext(userContext)
-			.startDate(start)
-			.endDate(end)
-			.userContext(userContext)
-			.messageList(processed)
-			.build();
-
-		LlmPeriodReportResponse response = llmClient.requestPeriodReport(llmRequest);
-
-		PeriodReport report = new PeriodReport();
-		report.createPeriodReport(
-			user,
-			start,
-			end,
-			processed.size(),
-			counselList,
-			response
-		);
-		periodReportRepository.save(report);
-
-		return report.getPReportId();
 	}
 }
@@ -9,6 +9,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.ssafy.damdam.domain.users.repository.UserInfoRepository;
 import com.ssafy.damdam.domain.users.repository.UsersRepository;
+import com.ssafy.damdam.global.aws.s3.S3FileUploadService;
+import com.ssafy.damdam.global.cache.UserContextCache;
 import com.ssafy.damdam.global.util.user.UserUtil;
 
 import lombok.RequiredArgsConstructor;
@@ -26,6 +28,8 @@ public class UserAuthServiceImpl extends DefaultOAuth2UserService {
 	private final UserInfoRepository userInfoRepository;
 	private final UserSettingRepository userSettingRepository;
 	private final UserUtil userUtil;
+	private final UserContextCache userContextCache;
+	private final S3FileUploadService s3FileUploadService;
 
 
 	public void deleteUser() {
@@ -34,8 +38,15 @@ public class UserAuthServiceImpl extends DefaultOAuth2UserService {
 			log.error("사용자를 찾을 수 없습니다.");
 			throw new AuthException(AUTH_MEMBER_NOT_FOUND);
 		}
+		// 공개 읽기로 올라간 프로필/봇 이미지도 함께 지운다
+		s3FileUploadService.deleteImage(user.getProfileImage());
+		userSettingRepository.findByUsers_UserId(user.getUserId())
+			.ifPresent(setting -> s3FileUploadService.deleteImage(setting.getBotImage()));
+
 		userSettingRepository.deleteById(user.getUserId());
 		userInfoRepository.deleteById(user.getUserId());
 		usersRepository.deleteById(user.getUserId());
+
+		userContextCache.evictAfterCommit(user.getUserId());
 	}
 }
@@ -8,6 +8,7 @@ import com.ssafy.damdam.domain.users.entity.UserSurvey;
 import com.ssafy.damdam.domain.users.exception.user.UserException;
 import com.ssafy.damdam.domain.users.repository.UserSurveyRepository;
 import com.ssafy.damdam.global.aws.s3.S3FileUploadService;
+import com.ssafy.damdam.global.cache.UserContextCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,6 +39,7 @@ public class UserServiceImpl implements UserService {
 	private final UserUtil userUtil;
 	private final UserSurveyRepository userSurveyRepository;
 	private final S3FileUploadService s3FileUploadService;
+	private final UserContextCache userContextCache;
 
 	// 유저 검증 메서드
 	private Users validateUser() {
@@ -82,7 +84,7 @@ public class UserServiceImpl implements UserService {
 				.orElseThrow(() -> new AuthException(AUTH_MEMBER_NOT_FOUND));
 
 		if (file != null && !file.isEmpty()) {
-			String imageUrl = s3FileUploadService.uploadFile(file, "profile_images", userOrigin.getProfileImage());
+			String imageUrl = s3FileUploadService.uploadFile(file, "profile_images", user.getUserId(), userOrigin.getProfileImage());
 			userOrigin.modifyProfileUrl(imageUrl);
 		}
 
@@ -104,6 +106,8 @@ public class UserServiceImpl implements UserService {
 			}
 		}
 
+		// llm 유저 컨텍스트 캐시는 커밋 이후 비운다
+		userContextCache.evictAfterCommit(user.getUserId());
 	}
 
 	@Override
@@ -125,7 +129,7 @@ public class UserServiceImpl implements UserService {
 			.orElseThrow(() -> new AuthException(AUTH_MEMBER_NOT_FOUND));
 
 		if (file != null && !file.isEmpty()) {
-			String imageUrl = s3FileUploadService.uploadFile(file, "bot_images", setting.getBotImage());
+			String imageUrl = s3FileUploadService.uploadFile(file, "bot_images", user.getUserId(), setting.getBotImage());
 			setting.modifyBotImage(imageUrl);
 		}
 		if (dto != null) {
@@ -134,6 +138,8 @@ public class UserServiceImpl implements UserService {
 				setting.modifyBotCustom(dto.getBotCustom());
 			setting.modifyAlarm(dto.getIsAlarm());
 		}
+
+		userContextCache.evictAfterCommit(user.getUserId());
 	}
 
 	@Override
@@ -152,6 +158,8 @@ public class UserServiceImpl implements UserService {
 		Users user = validateUser();
 		UserSurvey newSurvey = UserSurvey.of(user, survey);
 		userSurveyRepository.save(newSurvey);
+
+		userContextCache.evictAfterCommit(user.getUserId());
 	}
 
 	@Override
@@ -165,5 +173,7 @@ public class UserServiceImpl implements UserService {
 			throw new UserException(USER_SURVEY_NOT_FOUND);
 		}
 		userSurveyRepository.delete(survey);
+
+		userContextCache.evictAfterCommit(user.getUserId());
 	}
 }
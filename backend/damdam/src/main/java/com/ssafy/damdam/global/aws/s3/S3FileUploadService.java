@@ -3,33 +3,34 @@ package com.ssafy.damdam.global.aws.s3;
 import static com.ssafy.damdam.global.aws.s3.exception.S3ExceptionCode.*;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletionException;
+import java.util.regex.Pattern;
 
-import com.ssafy.damdam.global.util.secret.AESUtil;
 import org.apache.tika.Tika;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.ssafy.damdam.domain.counsels.dto.LlmSummaryRequest;
+import com.ssafy.damdam.domain.counsels.dto.ChatRecordDto;
+import com.ssafy.damdam.domain.counsels.dto.MessagePage;
 import com.ssafy.damdam.domain.counsels.dto.TranscriptDto;
 import com.ssafy.damdam.global.aws.s3.exception.S3Exception;
+import com.ssafy.damdam.global.cache.TranscriptCache;
+import com.ssafy.damdam.global.util.audio.AudioClip;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.ObjectCannedACL;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.transfer.s3.S3TransferManager;
@@ -47,218 +48,327 @@ public class S3FileUploadService {
 	@Value("${spring.cloud.aws.s3.bucket.url}")
 	private String defaultUrl;
 
-	private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(5);
+	// 소유자 없이 내용 해시(SHA-256)로만 지은 이전 이미지 키. 여러 유저가 같은 객체를 가리킬 수 있어 지우지 않는다
+	private static final Pattern SHARED_HASH_KEY = Pattern.compile("[^/]+/[0-9a-f]{64}\\.[a-z]+");
 
 	private final S3TransferManager transferManager;
 	private final S3AsyncClient s3AsyncClient;
 	private final Tika tika;
-	private final AESUtil aesUtil;
-	private final ExecutorService virtualThreadExecutor;
-	private final ObjectMapper objectMapper;
-
+	private final TranscriptCache transcriptCache;
+	private final TranscriptCodec transcriptCodec;
 
 	/**
 	 * 이미지 파일을 S3에 업로드하고, 이전 파일이 있으면 삭제 후 새 URL을 반환합니다.
+	 * 객체 키는 소유자별 내용 해시(folder/{ownerId}/{sha256}.ext)라 같은 유저가 같은 이미지를 다시 올리면 업로드를 건너뜁니다.
+	 * 다른 유저와 객체를 공유하지 않으므로 교체된 이전 이미지는 바로 지울 수 있습니다.
 	 * @param uploadFile 업로드할 MultipartFile (이미지)
 	 * @param folder     버킷 내에 저장할 폴더명 (예: "profiles")
-	 * @param oldKey     이전에 저장된 S3 객체 키 (삭제할 대상), 없으면 null 또는 빈 문자열
+	 * @param ownerId    이미지 소유 유저 id
+	 * @param oldKey     이전에 저장된 S3 객체 키 또는 URL (삭제할 대상), 없으면 null 또는 빈 문자열
 	 * @return 업로드된 파일의 URL
 	 */
 	@Transactional
-	public String uploadFile(MultipartFile uploadFile, String folder, String oldKey) throws IOException {
-		if (!isImage(uploadFile)) {
-			throw new S3Exception(IS_NOT_IMAGE);
+	public String uploadFile(MultipartFile uploadFile, String folder, Long ownerId, String oldKey) throws IOException {
+		String ext = imageExtensionOf(uploadFile.getOriginalFilename());
+
+		// 스트림은 여기서 한 번만 읽는다 (형식 판별 + 해시 + 임시 파일)
+		StagedUpload staged;
+		try {
+			staged = StagedUpload.stage(uploadFile, tika);
+		} catch (IOException e) {
+			throw new S3Exception(IMAGE_TRANS_BAD_REQUEST);
 		}
 
-		String origName = uploadFile.getOriginalFilename();
-		String ext = origName.substring(origName.lastIndexOf('.'));
-		String saveFileName = UUID.randomUUID().toString().replaceAll("-", "") + ext;
-		String s3Key = folder + "/" + saveFileName;
+		try (staged) {
+			if (!staged.isImage()) {
+				throw new S3Exception(IS_NOT_IMAGE);
+			}
+
+			String s3Key = folder + "/" + ownerId + "/" + staged.getSha256() + ext;
+			if (exists(s3Key)) {
+				log.debug("[S3] 같은 내용의 이미지가 있어 업로드 생략: key={}", s3Key);
+			} else {
+				try {
+					put(staged, s3Key);
+				} catch (CompletionException e) {
+					log.error("[S3] 이미지 업로드 실패: key={}", s3Key, e);
+					throw new S3Exception(FILE_UPLOAD_FAIL);
+				}
+			}
+
+			deleteReplacedImage(oldKey, s3Key);
+			return defaultUrl + s3Key;
+		}
+	}
 
-		if (!ext.equalsIgnoreCase(".jpg")
-			&& !ext.equalsIgnoreCase(".jpeg")
-			&& !ext.equalsIgnoreCase(".png")) {
+	private String imageExtensionOf(String origName) {
+		int dot = (origName == null) ? -1 : origName.lastIndexOf('.');
+		if (dot < 0) {
+			throw new S3Exception(IS_NOT_IMAGE);
+		}
+		String ext = origName.substring(dot).toLowerCase();
+		if (!ext.equals(".jpg") && !ext.equals(".jpeg") && !ext.equals(".png")) {
 			throw new S3Exception(IS_NOT_IMAGE);
 		}
+		return ext;
+	}
+
+	private void deleteReplacedImage(String oldKey, String newKey) {
+		if (oldKey != null && !oldKey.replace(defaultUrl, "").equals(newKey)) {
+			deleteImage(oldKey);
+		}
+	}
+
+	/**
+	 * 프로필/봇 이미지를 지운다. 이미지 교체와 회원 탈퇴에서 쓴다.
+	 * 버킷 밖의 URL(소셜 로그인 프로필 등)과 소유자 없는 이전 해시 키는 건너뛰고, 삭제 실패는 기록만 한다.
+	 * @param imageUrl 저장된 이미지 URL 또는 S3 객체 키, 없으면 null 또는 빈 문자열
+	 */
+	public void deleteImage(String imageUrl) {
+		if (imageUrl == null || imageUrl.isBlank()) {
+			return;
+		}
+		if (imageUrl.startsWith("http") && !imageUrl.startsWith(defaultUrl)) {
+			return;
+		}
+		String key = imageUrl.replace(defaultUrl, "");
+		if (SHARED_HASH_KEY.matcher(key).matches()) {
+			return;
+		}
+		try {
+			s3AsyncClient.deleteObject(b -> b.bucket(bucket).key(key)).join();
+		} catch (CompletionException e) {
+			// 새 이미지 저장이나 탈퇴는 이미 진행됐으므로 요청은 성공시키고, 남은 객체만 기록한다
+			log.warn("[S3] 이미지 삭제 실패: key={}", key, e);
+		}
+	}
+
+	/**
+	 * 중복 제거용 존재 확인. s3:ListBucket 권한이 없으면 S3 는 없는 키에도 404 대신 403 을 주므로 403 도 없음으로 본다.
+	 * 그 밖의 실패도 업로드를 막지 않고 없음으로 보고 올린다 (같은 내용이면 덮어써도 결과가 같다).
+	 */
+	private boolean exists(String s3Key) {
+		try {
+			s3AsyncClient.headObject(b -> b.bucket(bucket).key(s3Key)).join();
+			return true;
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof software.amazon.awssdk.services.s3.model.S3Exception s3e
+				&& (s3e.statusCode() == 404 || s3e.statusCode() == 403)) {
+				return false;
+			}
+			log.warn("[S3] 이미지 존재 확인 실패, 업로드 진행: key={}, {}", s3Key, e.getMessage());
+			return false;
+		}
+	}
 
+	// 임시 파일로 옮겨 둔 본문을 그대로 올린다. 판별한 형식을 Content-Type 으로 쓴다
+	private void put(StagedUpload staged, String s3Key) {
 		PutObjectRequest putReq = PutObjectRequest.builder()
 			.bucket(bucket)
 			.key(s3Key)
 			.acl(ObjectCannedACL.PUBLIC_READ)
-			.contentType(tika.detect(uploadFile.getInputStream()))
+			.contentType(staged.getContentType())
+			.contentLength(staged.getSize())
 			.build();
 
 		Upload upload = transferManager.upload(
 			UploadRequest.builder()
 				.putObjectRequest(putReq)
-				.requestBody(
-					AsyncRequestBody.fromInputStream(
-						uploadFile.getInputStream(),
-						uploadFile.getSize(),
-						EXECUTOR
-					)
-				)
+				.requestBody(AsyncRequestBody.fromFile(staged.getPath()))
 				.build()
 		);
 
 		upload.completionFuture().join();
-
-		if (oldKey != null && !oldKey.isBlank()) {
-			s3AsyncClient.deleteObject(b -> b.bucket(bucket).key(oldKey)).join();
-		}
-
-		return defaultUrl + s3Key;
 	}
 
-	private boolean isImage(MultipartFile file) {
-		try {
-			String mime = tika.detect(file.getInputStream());
-			return mime.startsWith("image/");
+	public String uploadAudio(MultipartFile file, String folder) {
+		String ext = AudioClip.extensionOf(file.getOriginalFilename());
+		String s3Key = folder + "/" + UUID.randomUUID().toString().replaceAll("-", "") + ext;
+
+		try (StagedUpload staged = StagedUpload.stage(file, tika)) {
+			put(staged, s3Key);
+			return defaultUrl + s3Key;
 		} catch (IOException e) {
-			throw new S3Exception(IMAGE_TRANS_BAD_REQUEST);
+			log.error("[S3] 오디오 업로드 실패", e);
+			throw new UncheckedIOException(e);
+		} catch (CompletionException e) {
+			log.error("[S3] 오디오 업로드 실패: key={}", s3Key, e);
+			throw new S3Exception(AUDIO_UPLOAD_FAIL);
 		}
 	}
 
-	public String uploadAudio(MultipartFile file, String folder) {
-		try {
-			return virtualThreadExecutor.submit(() -> {
-				try {
-					// 1. 파일 이름과 확장자 처리
-					String origName = file.getOriginalFilename();
-					String ext = origName.substring(origName.lastIndexOf('.')).toLowerCase();
-					String saveFileName = UUID.randomUUID().toString().replaceAll("-", "") + ext;
-					String s3Key = folder + "/" + saveFileName;
-
-					if (!ext.equals(".mp3") && !ext.equals(".wav") && !ext.equals(".m4a")) {
-						throw new S3Exception(IS_NOT_AUDIO);
-					}
-
-					PutObjectRequest putReq = PutObjectRequest.builder()
-						.bucket(bucket)
-						.key(s3Key)
-						.acl(ObjectCannedACL.PUBLIC_READ)
-						.contentType(tika.detect(file.getInputStream()))
-						.build();
-
-					Upload upload = transferManager.upload(
-						UploadRequest.builder()
-							.putObjectRequest(putReq)
-							.requestBody(
-								AsyncRequestBody.fromInputStream(
-									file.getInputStream(),
-									file.getSize(),
-									EXECUTOR
-								)
-							)
-							.build()
-					);
-
-					upload.completionFuture().join();
-					return defaultUrl + s3Key;
-
-				} catch (IOException e) {
-					log.error("[S3] 오디오 업로드 실패", e);
-					throw new UncheckedIOException(e);
-				}
-			}).get();
+	// 임시 파일로 옮겨 둔 음성(AudioClip)을 올린다. 직접 전송 실패 시 폴백, 또는 감사용 보관에 쓴다
+	public String uploadAudio(AudioClip clip, String folder) {
+		String ext = AudioClip.extensionOf(clip.getFilename());
+		String s3Key = folder + "/" + UUID.randomUUID().toString().replaceAll("-", "") + ext;
+
+		PutObjectRequest putReq = PutObjectRequest.builder()
+			.bucket(bucket)
+			.key(s3Key)
+			.acl(ObjectCannedACL.PUBLIC_READ)
+			.contentType(clip.getContentType())
+			.build();
+
+		Upload upload = transferManager.upload(
+			UploadRequest.builder()
+				.putObjectRequest(putReq)
+				.requestBody(AsyncRequestBody.fromFile(clip.getPath()))
+				.build()
+		);
 
+		try {
+			upload.completionFuture().join();
 		} catch (Exception e) {
-			throw new RuntimeException("오디오 업로드 중 예외 발생", e); // .get()의 checked 예외 처리
+			log.error("[S3] 오디오 업로드 실패: key={}", s3Key, e);
+			throw new S3Exception(AUDIO_UPLOAD_FAIL);
 		}
+		return defaultUrl + s3Key;
 	}
 
-	public String uploadFullText(LlmSummaryRequest llmSummaryRequest) throws JsonProcessingException {
-		try {
-			String json = objectMapper.writeValueAsString(llmSummaryRequest);
-			String encryptedJson = aesUtil.encrypt(json);
-			byte[] bytes = encryptedJson.getBytes(StandardCharsets.UTF_8);
+	// 대화 원문 객체 키. 상담 종료 작업이 요청 시 정해 두고, 재시도해도 같은 키에 올린다
+	public String newTranscriptKey() {
+		return "origin_texts" + "/" + UUID.randomUUID() + ".json";
+	}
 
-			String fileName = UUID.randomUUID() + ".json";
-			String s3Key = "origin_texts" + "/" + fileName;
+	// 이미 저장 형식(TranscriptCodec)으로 인코딩된 대화 원문을 올린다. 같은 키로 다시 올리면 덮어쓴다
+	public String uploadTranscript(String s3Key, byte[] encoded) {
+		Path tmp = null;
+		try {
+			tmp = Files.createTempFile("damdam-transcript-", ".enc");
+			Files.write(tmp, encoded);
 
 			PutObjectRequest putReq = PutObjectRequest.builder()
 				.bucket(bucket)
 				.key(s3Key)
-				.contentType("application/json")
-				.contentLength((long)bytes.length)
+				.contentType(transcriptCodec.contentType())
+				.contentLength((long)encoded.length)
 				.build();
 
 			Upload upload = transferManager.upload(
 				UploadRequest.builder()
 					.putObjectRequest(putReq)
-					.requestBody(AsyncRequestBody.fromBytes(bytes))
+					.requestBody(AsyncRequestBody.fromFile(tmp))
 					.build()
 			);
 			upload.completionFuture().join();
 
+			// 올린 파일은 대화 원문 디스크 캐시로 옮겨, 바로 이어지는 레포트/내역 조회가 S3 를 다시 읽지 않게 한다
+			transcriptCache.adopt(s3Key, tmp);
 			return defaultUrl + s3Key;
-		} catch (JsonProcessingException e) {
-			log.error("[S3] JSON 직렬화 실패", e);
-			throw new S3Exception(JSON_SERIALIZATION_FAIL);
 		} catch (Exception e) {
-            throw new S3Exception(CANT_ENCRYPT_DOCS);
-        }
-    }
+			log.error("[S3] 대화 원문 업로드 실패: key={}", s3Key, e);
+			throw new S3Exception(FILE_UPLOAD_FAIL);
+		} finally {
+			deleteTempQuietly(tmp);
+		}
+	}
+
+	private void deleteTempQuietly(Path tmp) {
+		if (tmp == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(tmp);
+		} catch (IOException e) {
+			log.warn("[S3] 임시 파일 삭제 실패: {}", tmp);
+		}
+	}
 
+	// 종료된 상담 원문은 바뀌지 않으므로 TranscriptCache(L1 힙 / L2 디스크)를 거쳐 읽는다
 	public TranscriptDto downloadTranscript(String s3Link) {
 		String key = s3Link.replace(defaultUrl, "");
 		try {
-			ResponseBytes<GetObjectResponse> resp = s3AsyncClient.getObject(
-				GetObjectRequest.builder()
-					.bucket(bucket)
-					.key(key)
-					.build(),
-				AsyncResponseTransformer.toBytes()
-			).join();
-
-			String encryptedJson = new String(resp.asByteArray(), StandardCharsets.UTF_8);
-			String decryptedJson = aesUtil.decrypt(encryptedJson);
-			return objectMapper.readValue(decryptedJson, TranscriptDto.class);
-
+			return transcriptCache.get(key, this::fetchObject, this::decodeTranscript);
 		} catch (Exception e) {
 			log.error("[S3] 다운로드 실패: key={}", key, e);
 			throw new S3Exception(FILE_DOWNLOAD_FAIL);
 		}
 	}
 
-	public String uploadInquiryFile(MultipartFile file) {
+	/**
+	 * 종료된 상담 원문 중 순번 fromOrder 부터 limit 개 순번만 읽는다.
+	 * 원문 전체가 로컬 캐시에 있으면 그걸 자르고, 아니면 청크 색인을 보고 필요한 청크만 ranged GET 으로 받는다.
+	 * 색인이 없는 이전 형식(legacy, v1)은 전체를 받아(캐시에 남겨) 자른다.
+	 * transcript.storage.container-enabled 가 꺼져 있는 동안 새 원문은 legacy 로 저장되므로, 페이지 조회도 전체 다운로드 후 메모리에서 자르는 방식으로 동작한다.
+	 */
+	public MessagePage<ChatRecordDto> downloadTranscriptPage(String s3Link, int fromOrder, int limit) {
+		String key = s3Link.replace(defaultUrl, "");
+		try {
+			if (!transcriptCache.isLocal(key)) {
+				TranscriptIndex index = transcriptCache.index(key, this::readIndex);
+				if (index != null) {
+					return transcriptCodec.readPage(index, fromOrder, limit, range -> fetchRange(key, range));
+				}
+			}
+			TranscriptDto transcript = transcriptCache.get(key, this::fetchObject, this::decodeTranscript);
+			return MessagePage.of(transcript.getMessageList(), ChatRecordDto::getMessageOrder, fromOrder, limit);
+		} catch (Exception e) {
+			log.error("[S3] 부분 다운로드 실패: key={}", key, e);
+			throw new S3Exception(FILE_DOWNLOAD_FAIL);
+		}
+	}
+
+	private TranscriptIndex readIndex(String key) {
 		try {
-			String origName = file.getOriginalFilename();
-			String ext = origName.substring(origName.lastIndexOf('.'));
-			String saveFileName = UUID.randomUUID().toString().replaceAll("-", "") + ext;
-			String s3Key = "inquiry/" + saveFileName;
+			return transcriptCodec.readIndex(range -> fetchRange(key, range));
+		} catch (Exception e) {
+			throw new IllegalStateException("대화 원문 색인 복호화/파싱 실패", e);
+		}
+	}
 
-			PutObjectRequest putReq = PutObjectRequest.builder()
+	// 작은 구간(색인, 청크 몇 개)만 받으므로 byte[] 로 받는다
+	private byte[] fetchRange(String key, String range) {
+		return s3AsyncClient.getObject(
+			GetObjectRequest.builder()
 				.bucket(bucket)
-				.key(s3Key)
-				.acl(ObjectCannedACL.PUBLIC_READ)
-				.contentType(tika.detect(file.getInputStream()))
-				.build();
+				.key(key)
+				.range(range)
+				.build(),
+			AsyncResponseTransformer.toBytes()
+		).join().asByteArray();
+	}
 
-			Upload upload = transferManager.upload(
-				UploadRequest.builder()
-					.putObjectRequest(putReq)
-					.requestBody(
-						AsyncRequestBody.fromInputStream(
-							file.getInputStream(),
-							file.getSize(),
-							EXECUTOR
-						)
-					)
-					.build()
-			);
+	// 응답 본문을 byte[] 로 모으지 않고 스트림으로 넘긴다
+	private InputStream fetchObject(String key) {
+		return s3AsyncClient.getObject(
+			GetObjectRequest.builder()
+				.bucket(bucket)
+				.key(key)
+				.build(),
+			AsyncResponseTransformer.toBlockingInputStream()
+		).join();
+	}
 
-			upload.completionFuture().join();
+	// 형식 판별(legacy Base64 / v1 / v2 청크) -> 복호화 -> 압축 해제 -> Jackson 스트리밍 파싱을 이어, 원문 전체 복사본을 만들지 않는다
+	private TranscriptDto decodeTranscript(InputStream encrypted) {
+		try {
+			return transcriptCodec.read(encrypted);
+		} catch (Exception e) {
+			throw new IllegalStateException("대화 원문 복호화/파싱 실패", e);
+		}
+	}
+
+	public String uploadInquiryFile(MultipartFile file) {
+		String origName = file.getOriginalFilename();
+		String ext = origName.substring(origName.lastIndexOf('.'));
+		String saveFileName = UUID.randomUUID().toString().replaceAll("-", "") + ext;
+		String s3Key = "inquiry/" + saveFileName;
 
+		try (StagedUpload staged = StagedUpload.stage(file, tika)) {
+			put(staged, s3Key);
 			return defaultUrl + s3Key;
 		} catch (IOException e) {
 			log.error("[S3] 문의 파일 업로드 실패", e);
 			throw new UncheckedIOException(e);
+		} catch (CompletionException e) {
+			log.error("[S3] 문의 파일 업로드 실패: key={}", s3Key, e);
+			throw new S3Exception(FILE_UPLOAD_FAIL);
 		}
 	}
 
 	public void deleteTranscript(String s3Link) {
 		String key = s3Link.replace(defaultUrl, "");
+		transcriptCache.evict(key);
 		try {
 			s3AsyncClient.deleteObject(b -> b.bucket(bucket).key(key)).join();
 		} catch (Exception e) {
@@ -0,0 +1,80 @@
+package com.ssafy.damdam.global.aws.s3;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.apache.tika.Tika;
+import org.springframework.web.multipart.MultipartFile;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 업로드할 multipart 스트림을 한 번만 읽으면서 앞부분으로 형식을 판별(Tika 매직 넘버)하고,
+ * SHA-256 을 계산하며 임시 파일로 옮긴다. S3 업로드는 이 파일을 그대로 보내므로(AsyncRequestBody.fromFile)
+ * 본문을 밀어 넣을 별도 스레드 풀이 필요 없다. 업로드가 끝나면 close 로 임시 파일을 지운다.
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class StagedUpload implements AutoCloseable {
+
+	// Tika 매직 넘버 판별에 충분한 앞부분 크기
+	private static final int SNIFF_BYTES = 8192;
+
+	private final Path path;
+	private final long size;
+	private final String contentType;
+	private final String sha256;
+
+	static StagedUpload stage(MultipartFile file, Tika tika) throws IOException {
+		Path tmp = Files.createTempFile("damdam-upload-", ".tmp");
+		try (InputStream raw = file.getInputStream()) {
+			BufferedInputStream in = new BufferedInputStream(raw, SNIFF_BYTES);
+			in.mark(SNIFF_BYTES);
+			String contentType = tika.detect(in.readNBytes(SNIFF_BYTES));
+			in.reset();
+
+			MessageDigest digest = sha256();
+			long size;
+			try (OutputStream out = Files.newOutputStream(tmp)) {
+				size = new DigestInputStream(in, digest).transferTo(out);
+			}
+			return new StagedUpload(tmp, size, contentType, HexFormat.of().formatHex(digest.digest()));
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(tmp);
+			throw e;
+		}
+	}
+
+	boolean isImage() {
+		return contentType.startsWith("image/");
+	}
+
+	@Override
+	public void close() {
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			log.warn("[S3] 업로드 임시 파일 삭제 실패: {}", path);
+		}
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 미지원 JVM", e);
+		}
+	}
+}
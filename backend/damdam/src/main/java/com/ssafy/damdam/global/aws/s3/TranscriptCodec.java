@@ -0,0 +1,291 @@
+package com.ssafy.damdam.global.aws.s3;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.damdam.domain.counsels.dto.ChatMessageDto;
+import com.ssafy.damdam.domain.counsels.dto.ChatRecordDto;
+import com.ssafy.damdam.domain.counsels.dto.LlmSummaryRequest;
+import com.ssafy.damdam.domain.counsels.dto.MessagePage;
+import com.ssafy.damdam.domain.counsels.dto.TranscriptDto;
+import com.ssafy.damdam.global.util.secret.AESUtil;
+
+/**
+ * origin_texts/ 에 저장하는 대화 원문 형식.
+ * <pre>
+ * v2 청크    : [0xDD 'D' 'T'] [version=2] [codec=1(gzip)]
+ *              ([len:int32] [AES(gzip(JSON 레코드 배열))])...  [0:int32]
+ *              [len:int32] [AES(gzip(JSON TranscriptIndex))]
+ *              [색인 offset:int64] [색인 len:int32] [0xDD 'D' 'T' 'X']
+ * v1 컨테이너 : [0xDD 'D' 'T'] [version=1] [codec=1(gzip)] [AES(gzip(JSON))]
+ * legacy      : Base64(AES(JSON)) 텍스트
+ * </pre>
+ * 첫 바이트 0xDD 는 Base64 문자가 아니므로 앞 5바이트만 보고 형식을 구분한다.
+ * v2 는 청크마다 따로 압축/암호화하고 끝에 색인을 두어, 긴 상담도 끝부분 ranged GET 으로 색인을 읽고 필요한 청크만 받아 풀 수 있다.
+ * 처음부터 순서대로 읽을 때는 길이 접두어로 청크를 이어 읽는다.
+ * 읽기는 세 형식을 모두 지원하고, 쓰기는 transcript.storage.container-enabled 가 true 면 v2, false 면 legacy 로 한다
+ * (Spark 등 다른 소비자가 컨테이너를 읽을 수 있게 된 뒤 켠다).
+ */
+@Component
+public class TranscriptCodec {
+
+	private static final byte[] MAGIC = {(byte)0xDD, 'D', 'T'};
+	private static final byte[] TRAILER_MAGIC = {(byte)0xDD, 'D', 'T', 'X'};
+	private static final byte VERSION_1 = 1;
+	private static final byte VERSION_2 = 2;
+	private static final byte CODEC_GZIP = 1;
+	private static final int HEADER_LENGTH = MAGIC.length + 2;
+	private static final int TRAILER_LENGTH = Long.BYTES + Integer.BYTES + TRAILER_MAGIC.length;
+	private static final int BUFFER_SIZE = 8192;
+	// 끝부분 ranged GET 한 번에 트레일러와 색인을 같이 받을 수 있도록 넉넉히 읽는다
+	private static final int TAIL_PREFETCH_BYTES = 16 * 1024;
+	// 손상된 길이 값으로 큰 배열을 잡지 않도록 하는 상한
+	private static final int MAX_BLOCK_BYTES = 16 * 1024 * 1024;
+
+	private final AESUtil aesUtil;
+	private final ObjectMapper objectMapper;
+	private final boolean writeContainer;
+	private final int recordsPerChunk;
+	private final JavaType recordListType;
+
+	public TranscriptCodec(
+		AESUtil aesUtil,
+		ObjectMapper objectMapper,
+		@Value("${transcript.storage.container-enabled:false}") boolean writeContainer,
+		@Value("${transcript.storage.records-per-chunk:40}") int recordsPerChunk
+	) {
+		this.aesUtil = aesUtil;
+		this.objectMapper = objectMapper;
+		this.writeContainer = writeContainer;
+		this.recordsPerChunk = Math.max(1, recordsPerChunk);
+		this.recordListType = objectMapper.getTypeFactory().constructCollectionType(List.class, ChatRecordDto.class);
+	}
+
+	// 대화 원문을 저장 형식으로 raw 에 쓴다. raw 는 호출 측에서 닫는다
+	public void write(LlmSummaryRequest request, OutputStream raw) throws Exception {
+		if (!writeContainer) {
+			try (OutputStream out = aesUtil.encryptingStream(raw)) {
+				objectMapper.writeValue(out, request);
+			}
+			return;
+		}
+
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(raw, BUFFER_SIZE));
+		out.write(MAGIC);
+		out.writeByte(VERSION_2);
+		out.writeByte(CODEC_GZIP);
+		long offset = HEADER_LENGTH;
+
+		List<ChatMessageDto> messages = (request.getMessageList() == null) ? List.of() : request.getMessageList();
+		List<TranscriptIndex.Chunk> chunks = new ArrayList<>();
+		int from = 0;
+		while (from < messages.size()) {
+			int to = Math.min(from + recordsPerChunk, messages.size());
+			// 같은 순번(USER/AI 한 쌍)은 한 청크에 둔다
+			while (to < messages.size() && messages.get(to).getMessageOrder() == messages.get(to - 1).getMessageOrder()) {
+				to++;
+			}
+			List<ChatMessageDto> part = messages.subList(from, to);
+			byte[] block = seal(part);
+			out.writeInt(block.length);
+			offset += Integer.BYTES;
+			chunks.add(TranscriptIndex.Chunk.builder()
+				.offset(offset)
+				.length(block.length)
+				.fromOrder(part.get(0).getMessageOrder())
+				.toOrder(part.get(part.size() - 1).getMessageOrder())
+				.recordCount(part.size())
+				.build());
+			out.write(block);
+			offset += block.length;
+			from = to;
+		}
+		out.writeInt(0);
+		offset += Integer.BYTES;
+
+		byte[] index = seal(TranscriptIndex.builder()
+			.counsId(request.getCounsId())
+			.userId(request.getUserId())
+			.messageCount(messages.size())
+			.chunks(chunks)
+			.build());
+		out.writeInt(index.length);
+		offset += Integer.BYTES;
+		out.write(index);
+		out.writeLong(offset);
+		out.writeInt(index.length);
+		out.write(TRAILER_MAGIC);
+		out.flush();
+	}
+
+	// 저장된 원문(세 형식 모두)을 처음부터 읽어 파싱한다. 원문 전체를 한 번에 메모리에 올리지 않는다
+	public TranscriptDto read(InputStream raw) throws Exception {
+		BufferedInputStream in = new BufferedInputStream(raw, BUFFER_SIZE);
+		in.mark(HEADER_LENGTH);
+		byte[] header = in.readNBytes(HEADER_LENGTH);
+
+		if (!startsWith(header, MAGIC, HEADER_LENGTH)) {
+			in.reset();
+			return objectMapper.readValue(aesUtil.decryptingStream(in), TranscriptDto.class);
+		}
+		if (header[4] != CODEC_GZIP) {
+			throw new IOException("지원하지 않는 대화 원문 압축 코덱: " + header[4]);
+		}
+		return switch (header[3]) {
+			case VERSION_1 -> objectMapper.readValue(
+				new GZIPInputStream(aesUtil.decryptingRawStream(in), BUFFER_SIZE), TranscriptDto.class);
+			case VERSION_2 -> readChunked(new DataInputStream(in));
+			default -> throw new IOException("지원하지 않는 대화 원문 형식 버전: " + header[3]);
+		};
+	}
+
+	/**
+	 * 객체 끝부분만 받아 v2 색인을 읽는다. 색인이 없는 이전 형식이면 null.
+	 * @param ranged HTTP Range 값("bytes=...")으로 객체 일부를 받는 함수 (S3 ranged GET)
+	 */
+	public TranscriptIndex readIndex(Function<String, byte[]> ranged) throws Exception {
+		byte[] tail = ranged.apply("bytes=-" + TAIL_PREFETCH_BYTES);
+		if (tail.length < TRAILER_LENGTH
+			|| !Arrays.equals(tail, tail.length - TRAILER_MAGIC.length, tail.length, TRAILER_MAGIC, 0, TRAILER_MAGIC.length)) {
+			return null;
+		}
+		ByteBuffer trailer = ByteBuffer.wrap(tail, tail.length - TRAILER_LENGTH, TRAILER_LENGTH);
+		long indexOffset = trailer.getLong();
+		int indexLength = trailer.getInt();
+		if (indexOffset < HEADER_LENGTH || indexLength <= 0 || indexLength > MAX_BLOCK_BYTES) {
+			return null;
+		}
+
+		// 객체 크기 = 색인 끝 + 트레일러. 받아 둔 끝부분에 색인이 다 들어 있으면 추가 요청 없이 쓴다
+		long tailStart = indexOffset + indexLength + TRAILER_LENGTH - tail.length;
+		if (indexOffset >= tailStart) {
+			return unseal(tail, (int)(indexOffset - tailStart), indexLength, objectMapper.constructType(TranscriptIndex.class));
+		}
+		byte[] index = ranged.apply(range(indexOffset, indexLength));
+		return unseal(index, 0, index.length, objectMapper.constructType(TranscriptIndex.class));
+	}
+
+	/**
+	 * 색인을 보고 fromOrder 부터 limit 개 순번에 필요한 청크만 ranged GET 으로 받아 푼다.
+	 * 이어지는 청크는 한 번의 요청으로 받고, 다음 페이지가 있는지 알기 위해 순번 하나를 더 읽는다.
+	 */
+	public MessagePage<ChatRecordDto> readPage(
+		TranscriptIndex index,
+		int fromOrder,
+		int limit,
+		Function<String, byte[]> ranged
+	) throws Exception {
+		List<TranscriptIndex.Chunk> chunks = index.getChunks();
+		int i = 0;
+		while (i < chunks.size() && chunks.get(i).getToOrder() < fromOrder) {
+			i++;
+		}
+
+		List<ChatRecordDto> collected = new ArrayList<>();
+		int orders = 0;
+		Integer lastOrder = null;
+		while (i < chunks.size() && orders <= limit) {
+			// 순번이 대체로 연속이므로 청크의 순번 범위로 남은 개수를 채울 만큼의 청크를 어림한다
+			int j = i;
+			long estimated = 0;
+			while (j < chunks.size() && estimated <= limit - orders) {
+				TranscriptIndex.Chunk c = chunks.get(j);
+				estimated += c.getToOrder() - Math.max(fromOrder, c.getFromOrder()) + 1;
+				j++;
+			}
+
+			TranscriptIndex.Chunk first = chunks.get(i);
+			TranscriptIndex.Chunk last = chunks.get(j - 1);
+			byte[] span = ranged.apply(range(first.getOffset(), last.getOffset() + last.getLength() - first.getOffset()));
+			for (int k = i; k < j; k++) {
+				TranscriptIndex.Chunk c = chunks.get(k);
+				List<ChatRecordDto> records = unseal(span, (int)(c.getOffset() - first.getOffset()), c.getLength(), recordListType);
+				for (ChatRecordDto r : records) {
+					if (r.getMessageOrder() < fromOrder) {
+						continue;
+					}
+					if (lastOrder == null || r.getMessageOrder() != lastOrder) {
+						orders++;
+						lastOrder = r.getMessageOrder();
+					}
+					collected.add(r);
+				}
+			}
+			i = j;
+		}
+		return MessagePage.of(collected, ChatRecordDto::getMessageOrder, fromOrder, limit);
+	}
+
+	public String contentType() {
+		return writeContainer ? "application/octet-stream" : "application/json";
+	}
+
+	private TranscriptDto readChunked(DataInputStream in) throws Exception {
+		List<ChatRecordDto> records = new ArrayList<>();
+		for (int len = readLength(in); len > 0; len = readLength(in)) {
+			records.addAll(unseal(readBlock(in, len), 0, len, recordListType));
+		}
+		int len = readLength(in);
+		TranscriptIndex index = unseal(readBlock(in, len), 0, len, objectMapper.constructType(TranscriptIndex.class));
+		return new TranscriptDto(index.getCounsId(), index.getUserId(), records);
+	}
+
+	// 청크/색인 하나를 따로 압축·암호화한다
+	private byte[] seal(Object value) throws Exception {
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		try (OutputStream out = new GZIPOutputStream(aesUtil.encryptingRawStream(buf), BUFFER_SIZE)) {
+			objectMapper.writeValue(out, value);
+		}
+		return buf.toByteArray();
+	}
+
+	private <T> T unseal(byte[] buf, int off, int len, JavaType type) throws Exception {
+		try (InputStream in = new GZIPInputStream(aesUtil.decryptingRawStream(new ByteArrayInputStream(buf, off, len)))) {
+			return objectMapper.readValue(in, type);
+		}
+	}
+
+	private static int readLength(DataInputStream in) throws IOException {
+		int len = in.readInt();
+		if (len < 0 || len > MAX_BLOCK_BYTES) {
+			throw new IOException("손상된 대화 원문 청크 길이: " + len);
+		}
+		return len;
+	}
+
+	private static byte[] readBlock(DataInputStream in, int len) throws IOException {
+		byte[] block = in.readNBytes(len);
+		if (block.length != len) {
+			throw new EOFException("대화 원문 청크가 잘렸습니다");
+		}
+		return block;
+	}
+
+	private static String range(long offset, long length) {
+		return "bytes=" + offset + "-" + (offset + length - 1);
+	}
+
+	private static boolean startsWith(byte[] bytes, byte[] prefix, int minLength) {
+		return bytes.length >= minLength && Arrays.equals(bytes, 0, prefix.length, prefix, 0, prefix.length);
+	}
+}
@@ -0,0 +1,33 @@
+package com.ssafy.damdam.global.aws.s3;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// v2 대화 원문 객체 끝에 붙는 청크 색인. offset/length 는 객체 안에서 각 청크(암호화된 바이트)의 위치
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranscriptIndex {
+
+	private Long counsId;
+	private Long userId;
+	private int messageCount;
+	private List<Chunk> chunks;
+
+	@Getter
+	@Builder
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Chunk {
+		private long offset;
+		private int length;
+		private int fromOrder;
+		private int toOrder;
+		private int recordCount;
+	}
+}
@@ -21,7 +21,9 @@ public enum S3ExceptionCode implements ExceptionCode {
 	FILE_DOWNLOAD_FAIL(BAD_REQUEST, "S3-S-006", "파일 다운로드에 실패했습니다."),
 	FILE_DELETE_FAIL(BAD_REQUEST, "S3-S-007", "파일 삭제에 실패했습니다."),
 	CANT_ENCRYPT_DOCS(BAD_REQUEST, "S3-S-008", "JSON파일을 암호화할 수 없습니다."),
-	CANT_DECRYPT_DOCS(BAD_REQUEST, "S3-S-008", "JSON파일을 복호화할 수 없습니다.");
+	CANT_DECRYPT_DOCS(BAD_REQUEST, "S3-S-008", "JSON파일을 복호화할 수 없습니다."),
+	AUDIO_UPLOAD_FAIL(BAD_GATEWAY, "S3-S-009", "오디오 파일 업로드에 실패했습니다."),
+	FILE_UPLOAD_FAIL(BAD_GATEWAY, "S3-S-010", "파일 업로드에 실패했습니다.");
 
 	private final HttpStatus httpStatus;
 	private final String code;
@@ -0,0 +1,97 @@
+package com.ssafy.damdam.global.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 텍스트 감정 분석 결과의 로컬 캐시.
+ * "네", "ㅠㅠ", "모르겠어요" 처럼 짧고 반복되는 문장은 정규화한 텍스트의 SHA-256 을 키로 결과를 재사용한다.
+ * 같은 문장이 동시에 들어오면 분석 요청은 한 번만 나가고 나머지는 그 결과를 기다린다.
+ */
+@Slf4j
+@Component
+public class EmotionResultCache {
+
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+	// 같은 자모가 3번 이상 반복되면 2번으로 (ㅠㅠㅠㅠ -> ㅠㅠ, ㅋㅋㅋㅋ -> ㅋㅋ)
+	private static final Pattern REPEATED_JAMO = Pattern.compile("([\\u3131-\\u318E])\\1{2,}");
+	// 같은 문장부호가 반복되면 1번으로 (!!!! -> !, ... -> ., ~~~ -> ~)
+	private static final Pattern REPEATED_PUNCT = Pattern.compile("([\\p{P}~])\\1+");
+
+	private final AsyncCache<String, EmotionDto> cache;
+	private final ExecutorService virtualThreadExecutor;
+	private final EmotionResultCacheProperties properties;
+
+	public EmotionResultCache(
+		ExecutorService virtualThreadExecutor,
+		EmotionResultCacheProperties properties,
+		MeterRegistry meterRegistry
+	) {
+		this.virtualThreadExecutor = virtualThreadExecutor;
+		this.properties = properties;
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(properties.getMaximumSize())
+			.expireAfterWrite(properties.getExpireAfterWrite())
+			.recordStats()
+			.buildAsync();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "emotionResult");
+	}
+
+	// 캐시에 없으면 analyzer 로 분석한다. 실패한 분석 결과는 캐시에 남지 않는다
+	public EmotionDto get(String text, Function<String, EmotionDto> analyzer) {
+		String normalized = normalize(text);
+		if (!properties.isEnabled() || normalized.isEmpty() || normalized.length() > properties.getMaxTextLength()) {
+			return analyzer.apply(text);
+		}
+
+		// 로딩은 가상 스레드에서: 동기 Cache 의 compute 안에서 HTTP 를 기다리면 캐리어 스레드가 묶인다
+		CompletableFuture<EmotionDto> result = cache.get(hash(normalized),
+			(key, executor) -> CompletableFuture.supplyAsync(() -> analyzer.apply(text), virtualThreadExecutor));
+		try {
+			return result.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+		normalized = WHITESPACE.matcher(normalized).replaceAll(" ").strip();
+		normalized = REPEATED_JAMO.matcher(normalized).replaceAll("$1$1");
+		return REPEATED_PUNCT.matcher(normalized).replaceAll("$1");
+	}
+
+	private static String hash(String normalized) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 미지원 JVM", e);
+		}
+	}
+}
@@ -0,0 +1,9 @@
+package com.ssafy.damdam.global.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EmotionResultCacheProperties.class)
+public class EmotionResultCacheConfig {
+}
@@ -0,0 +1,20 @@
+package com.ssafy.damdam.global.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache.emotion")
+public class EmotionResultCacheProperties {
+	private boolean enabled = true;
+	private long maximumSize = 50_000;
+	// 분석 모델이 바뀌어도 하루 안에는 새 결과로 교체된다
+	private Duration expireAfterWrite = Duration.ofHours(24);
+	// 정규화 후 이 길이를 넘는 문장은 반복될 일이 거의 없으므로 캐시하지 않는다
+	private int maxTextLength = 50;
+}
@@ -0,0 +1,218 @@
+package com.ssafy.damdam.global.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ssafy.damdam.domain.counsels.dto.ChatRecordDto;
+import com.ssafy.damdam.domain.counsels.dto.TranscriptDto;
+import com.ssafy.damdam.global.aws.s3.TranscriptIndex;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 종료된 상담의 대화 원문(TranscriptDto) 2단 캐시. 상담 내역 화면과 상담 레포트 화면을 오갈 때마다
+ * S3 GET + 복호화/압축 해제 + JSON 파싱을 반복하지 않도록 한다.
+ * L1 은 파싱된 객체를 추정 크기(weigher) 기준으로 힙에 두고, L2 는 암호화 상태의 원문을 로컬 디스크에 둔다(TranscriptDiskStore).
+ * 원문은 어느 단계에서도 통째로 byte[]/String 으로 만들지 않고 스트림으로 복호화/파싱한다.
+ * 같은 키의 동시 미스는 하나의 로딩(S3 GET 한 번)으로 합쳐지며, 원문은 저장 후 바뀌지 않으므로 삭제 시에만 비운다.
+ * 페이지 단위 조회용으로 청크 색인(TranscriptIndex)도 따로 둔다. 색인은 작아서 개수 기준으로만 제한한다.
+ * 반환된 객체는 여러 요청이 공유하므로 호출 측에서 수정하면 안 된다.
+ */
+@Slf4j
+@Component
+public class TranscriptCache {
+
+	private static final int INDEX_MAXIMUM_SIZE = 10_000;
+
+	private final AsyncCache<String, TranscriptDto> memory;
+	private final Cache<String, TranscriptIndex> indexes;
+	private final TranscriptDiskStore disk;
+	private final ExecutorService virtualThreadExecutor;
+	private final TranscriptCacheProperties properties;
+	private final Counter diskLoads;
+	private final Counter remoteLoads;
+
+	public TranscriptCache(
+		ExecutorService virtualThreadExecutor,
+		TranscriptCacheProperties properties,
+		MeterRegistry meterRegistry
+	) {
+		this.virtualThreadExecutor = virtualThreadExecutor;
+		this.properties = properties;
+		this.memory = Caffeine.newBuilder()
+			.maximumWeight(properties.getMemoryMaximumSize().toBytes())
+			.weigher((String key, TranscriptDto value) -> estimateBytes(value))
+			.expireAfterAccess(properties.getExpireAfterAccess())
+			.recordStats()
+			.buildAsync();
+		this.indexes = Caffeine.newBuilder()
+			.maximumSize(INDEX_MAXIMUM_SIZE)
+			.expireAfterAccess(properties.getExpireAfterAccess())
+			.build();
+		this.disk = createDiskStore(properties);
+		CaffeineCacheMetrics.monitor(meterRegistry, memory.synchronous(), "transcript");
+
+		this.diskLoads = Counter.builder("damdam.transcript.cache.load")
+			.description("L1 미스 후 원문을 읽어 온 위치")
+			.tag("source", "disk")
+			.register(meterRegistry);
+		this.remoteLoads = Counter.builder("damdam.transcript.cache.load")
+			.description("L1 미스 후 원문을 읽어 온 위치")
+			.tag("source", "s3")
+			.register(meterRegistry);
+		if (disk != null) {
+			Gauge.builder("damdam.transcript.cache.disk.bytes", disk, TranscriptDiskStore::totalBytes)
+				.register(meterRegistry);
+		}
+	}
+
+	/**
+	 * @param key     S3 객체 키
+	 * @param fetcher 키로 암호화된 원문 스트림을 여는 함수 (S3 GET)
+	 * @param decoder 암호화된 원문 스트림을 복호화/파싱하는 함수 (전체를 한 번에 메모리에 올리지 않는다)
+	 */
+	public TranscriptDto get(
+		String key,
+		Function<String, InputStream> fetcher,
+		Function<InputStream, TranscriptDto> decoder
+	) {
+		if (!properties.isEnabled()) {
+			return decodeAndClose(fetcher.apply(key), decoder);
+		}
+
+		// 로딩(S3 GET, 파일 읽기, 복호화)은 가상 스레드에서 하고, 같은 키의 다른 요청은 이 future 를 기다린다
+		CompletableFuture<TranscriptDto> result = memory.get(key,
+			(k, executor) -> CompletableFuture.supplyAsync(() -> load(k, fetcher, decoder), virtualThreadExecutor));
+		try {
+			return result.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	// 원문 전체가 이미 로컬(L1 완료 / L2 파일)에 있으면 true. 이때는 ranged GET 보다 로컬 원문을 자르는 편이 싸다
+	public boolean isLocal(String key) {
+		if (!properties.isEnabled()) {
+			return false;
+		}
+		CompletableFuture<TranscriptDto> cached = memory.getIfPresent(key);
+		if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+			return true;
+		}
+		return disk != null && disk.contains(key);
+	}
+
+	/**
+	 * @param loader 키로 청크 색인을 읽는 함수. 색인이 없는 형식이면 null 을 돌려주며, null 은 캐시하지 않는다
+	 */
+	public TranscriptIndex index(String key, Function<String, TranscriptIndex> loader) {
+		if (!properties.isEnabled()) {
+			return loader.apply(key);
+		}
+		return indexes.get(key, loader);
+	}
+
+	// 업로드에 쓴 암호화 원문 파일을 L2 로 옮겨 둔다 (상담 종료 직후 레포트 화면 진입 시 S3 GET 생략)
+	public void adopt(String key, Path encryptedFile) {
+		if (disk != null) {
+			disk.adopt(key, encryptedFile);
+		}
+	}
+
+	public void evict(String key) {
+		memory.synchronous().invalidate(key);
+		indexes.invalidate(key);
+		if (disk != null) {
+			disk.delete(key);
+		}
+	}
+
+	private TranscriptDto load(
+		String key,
+		Function<String, InputStream> fetcher,
+		Function<InputStream, TranscriptDto> decoder
+	) {
+		if (disk == null) {
+			TranscriptDto transcript = decodeAndClose(fetcher.apply(key), decoder);
+			remoteLoads.increment();
+			return transcript;
+		}
+
+		InputStream cached = disk.open(key);
+		if (cached != null) {
+			try {
+				TranscriptDto transcript = decodeAndClose(cached, decoder);
+				diskLoads.increment();
+				return transcript;
+			} catch (RuntimeException e) {
+				// 깨졌거나 키가 바뀐 파일이면 버리고 S3 에서 다시 받는다
+				log.warn("[TranscriptCache] 디스크 캐시 원문 복호화 실패, 다시 받음: {}", e.getMessage());
+				disk.delete(key);
+			}
+		}
+
+		// S3 응답을 복호화하며 읽는 동안 디스크에도 기록하고, 복호화까지 성공한 원문만 캐시 파일로 남긴다
+		TranscriptDiskStore.TeeWrite tee = disk.tee(key, fetcher.apply(key));
+		try {
+			TranscriptDto transcript = decoder.apply(tee);
+			tee.commit();
+			remoteLoads.increment();
+			return transcript;
+		} finally {
+			tee.abort();
+		}
+	}
+
+	private static TranscriptDto decodeAndClose(InputStream in, Function<InputStream, TranscriptDto> decoder) {
+		try (in) {
+			return decoder.apply(in);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// 문자열은 UTF-16 기준 2바이트/문자, 레코드 하나당 객체 헤더와 필드 몫으로 대략 128바이트
+	private static int estimateBytes(TranscriptDto transcript) {
+		List<ChatRecordDto> records = transcript.getMessageList();
+		if (records == null) {
+			return 64;
+		}
+		long bytes = 64;
+		for (ChatRecordDto r : records) {
+			bytes += 128 + (r.getMessage() == null ? 0 : 2L * r.getMessage().length());
+		}
+		return (int)Math.min(Integer.MAX_VALUE, bytes);
+	}
+
+	private static TranscriptDiskStore createDiskStore(TranscriptCacheProperties properties) {
+		if (!properties.isEnabled() || !properties.isDiskEnabled()) {
+			return null;
+		}
+		try {
+			return new TranscriptDiskStore(properties.getDiskDir(), properties.getDiskMaximumSize().toBytes());
+		} catch (IOException e) {
+			// 디스크를 못 쓰면 L1 만으로 동작한다
+			log.warn("[TranscriptCache] 디스크 캐시 비활성화: dir={}, {}", properties.getDiskDir(), e.getMessage());
+			return null;
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package com.ssafy.damdam.global.cache;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache.transcript")
+public class TranscriptCacheProperties {
+	private boolean enabled = true;
+	// L1: 파싱된 TranscriptDto 의 추정 크기 합 상한
+	private DataSize memoryMaximumSize = DataSize.ofMegabytes(64);
+	private Duration expireAfterAccess = Duration.ofMinutes(30);
+	// L2: 암호화 상태 그대로의 원문 파일 (인스턴스 로컬 디스크)
+	private boolean diskEnabled = true;
+	private Path diskDir = Path.of(System.getProperty("java.io.tmpdir"), "damdam-transcripts");
+	private DataSize diskMaximumSize = DataSize.ofMegabytes(512);
+}
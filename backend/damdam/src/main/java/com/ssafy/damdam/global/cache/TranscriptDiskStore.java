@@ -0,0 +1,325 @@
+package com.ssafy.damdam.global.cache;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 대화 원문 캐시의 L2: S3 에서 받은 암호화 상태 그대로의 원문을 로컬 디스크에 파일로 둔다.
+ * 읽기는 파일을 메모리 매핑한 스트림으로 복호화 스트림에 바로 넘기고, 쓰기는 S3 응답 스트림을 읽는 동안 함께 기록한다(tee).
+ * 용량이 넘으면 오래 안 쓴 파일부터 지운다.
+ * 파일 이름은 S3 키의 SHA-256 이라 키(경로)가 디스크에 그대로 드러나지 않는다.
+ */
+@Slf4j
+class TranscriptDiskStore {
+
+	private static final String SUFFIX = ".bin";
+
+	private final Path dir;
+	private final long maxBytes;
+	private final Object lock = new Object();
+	// 파일 이름 -> 크기, 접근 순서 (가장 오래 안 쓴 항목이 앞)
+	private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(64, 0.75f, true);
+	private long totalBytes;
+
+	TranscriptDiskStore(Path dir, long maxBytes) throws IOException {
+		this.dir = dir;
+		this.maxBytes = maxBytes;
+		Files.createDirectories(dir);
+		loadIndex();
+	}
+
+	// 파일을 메모리 매핑한 스트림을 연다. 없으면 null
+	InputStream open(String key) {
+		String name = fileName(key);
+		synchronized (lock) {
+			if (index.get(name) == null) {
+				return null;
+			}
+		}
+		try (FileChannel channel = FileChannel.open(dir.resolve(name), StandardOpenOption.READ)) {
+			// 매핑은 채널을 닫아도 유지된다
+			return new MappedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		} catch (NoSuchFileException e) {
+			forget(name);
+			return null;
+		} catch (IOException e) {
+			log.warn("[TranscriptCache] 디스크 캐시 읽기 실패: {}", e.getMessage());
+			delete(key);
+			return null;
+		}
+	}
+
+	boolean contains(String key) {
+		String name = fileName(key);
+		synchronized (lock) {
+			return index.containsKey(name);
+		}
+	}
+
+	/**
+	 * in 을 읽는 만큼 임시 파일에도 쓰는 스트림을 돌려준다. 호출 측이 끝까지 읽은 뒤 commit 하면 캐시 파일이 되고,
+	 * 실패하거나 상한을 넘으면 임시 파일은 버려진다. 임시 파일에 쓴 뒤 이름을 바꾸므로 읽는 쪽은 쓰다 만 파일을 보지 않는다.
+	 */
+	TeeWrite tee(String key, InputStream in) {
+		String name = fileName(key);
+		try {
+			Path tmp = Files.createTempFile(dir, name, ".tmp");
+			return new TeeWrite(name, tmp, in, Files.newOutputStream(tmp));
+		} catch (IOException e) {
+			log.warn("[TranscriptCache] 디스크 캐시 임시 파일 생성 실패: {}", e.getMessage());
+			return new TeeWrite(name, null, in, null);
+		}
+	}
+
+	// 이미 만들어 둔 파일(업로드에 쓴 암호화 원문 등)을 그대로 캐시 파일로 옮긴다
+	void adopt(String key, Path file) {
+		try {
+			long size = Files.size(file);
+			if (size > maxBytes) {
+				return;
+			}
+			String name = fileName(key);
+			Files.move(file, dir.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+			register(name, size);
+		} catch (IOException e) {
+			log.warn("[TranscriptCache] 디스크 캐시 적재 실패: {}", e.getMessage());
+		}
+	}
+
+	private void register(String name, long size) {
+		synchronized (lock) {
+			Long prev = index.put(name, size);
+			totalBytes += size - (prev == null ? 0 : prev);
+			evictIfNeeded();
+		}
+	}
+
+	void delete(String key) {
+		String name = fileName(key);
+		forget(name);
+		deleteQuietly(dir.resolve(name));
+	}
+
+	long totalBytes() {
+		synchronized (lock) {
+			return totalBytes;
+		}
+	}
+
+	private void forget(String name) {
+		synchronized (lock) {
+			Long size = index.remove(name);
+			if (size != null) {
+				totalBytes -= size;
+			}
+		}
+	}
+
+	// lock 안에서 호출
+	private void evictIfNeeded() {
+		Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+		while (totalBytes > maxBytes && it.hasNext()) {
+			Map.Entry<String, Long> eldest = it.next();
+			it.remove();
+			totalBytes -= eldest.getValue();
+			deleteQuietly(dir.resolve(eldest.getKey()));
+		}
+	}
+
+	// 재시작 후에도 디스크 캐시를 이어 쓰도록 기존 파일을 수정 시각 순으로 색인한다. 쓰다 만 임시 파일은 지운다
+	private void loadIndex() throws IOException {
+		List<Path> files;
+		try (Stream<Path> stream = Files.list(dir)) {
+			files = stream.toList();
+		}
+		files.stream()
+			.filter(p -> p.getFileName().toString().endsWith(".tmp"))
+			.forEach(this::deleteQuietly);
+
+		List<Path> entries = files.stream()
+			.filter(p -> p.getFileName().toString().endsWith(SUFFIX))
+			.sorted(Comparator.comparingLong(this::lastModified))
+			.toList();
+		synchronized (lock) {
+			for (Path p : entries) {
+				long size = p.toFile().length();
+				index.put(p.getFileName().toString(), size);
+				totalBytes += size;
+			}
+			evictIfNeeded();
+		}
+		log.info("[TranscriptCache] 디스크 캐시 {}건, {}B 적재: {}", index.size(), totalBytes, dir);
+	}
+
+	private long lastModified(Path p) {
+		return p.toFile().lastModified();
+	}
+
+	private void deleteQuietly(Path p) {
+		if (p == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(p);
+		} catch (IOException e) {
+			log.warn("[TranscriptCache] 디스크 캐시 파일 삭제 실패: {}", p.getFileName());
+		}
+	}
+
+	class TeeWrite extends FilterInputStream {
+		private final String name;
+		private final Path tmp;
+		private OutputStream out;
+		private long written;
+
+		private TeeWrite(String name, Path tmp, InputStream in, OutputStream out) {
+			super(in);
+			this.name = name;
+			this.tmp = tmp;
+			this.out = out;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) {
+				copy(new byte[] {(byte)b}, 0, 1);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n > 0) {
+				copy(b, off, n);
+			}
+			return n;
+		}
+
+		// 디코더(Jackson)는 다 읽으면 스트림을 닫으므로, 원본 정리는 commit/abort 에서 한다
+		@Override
+		public void close() {
+		}
+
+		// 복호화/파싱이 끝난 뒤 호출. 파서가 남긴 꼬리까지 읽어 원본 전체를 파일에 남긴다
+		void commit() {
+			try {
+				if (out != null) {
+					transferTo(OutputStream.nullOutputStream());
+				}
+				if (out != null) {
+					out.close();
+					out = null;
+					Files.move(tmp, dir.resolve(name), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+					register(name, written);
+				}
+			} catch (IOException e) {
+				log.warn("[TranscriptCache] 디스크 캐시 쓰기 실패: {}", e.getMessage());
+			} finally {
+				abort();
+			}
+		}
+
+		// 쓰던 임시 파일을 버리고 원본 스트림을 닫는다. commit 뒤에 불러도 된다
+		void abort() {
+			discardCopy();
+			try {
+				in.close();
+			} catch (IOException ignored) {
+				// 이미 다 읽었거나 끊긴 연결
+			}
+		}
+
+		private void discardCopy() {
+			if (out != null) {
+				try {
+					out.close();
+				} catch (IOException ignored) {
+					// 임시 파일은 아래에서 지운다
+				}
+				out = null;
+			}
+			deleteQuietly(tmp);
+		}
+
+		// 파일 쓰기 실패나 상한 초과는 캐시만 포기하고 읽기는 계속한다
+		private void copy(byte[] b, int off, int len) {
+			if (out == null) {
+				return;
+			}
+			written += len;
+			try {
+				if (written > maxBytes) {
+					discardCopy();
+					return;
+				}
+				out.write(b, off, len);
+			} catch (IOException e) {
+				log.warn("[TranscriptCache] 디스크 캐시 쓰기 실패: {}", e.getMessage());
+				discardCopy();
+			}
+		}
+	}
+
+	private static class MappedInputStream extends InputStream {
+		private final ByteBuffer buffer;
+
+		private MappedInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int n = Math.min(len, buffer.remaining());
+			buffer.get(b, off, n);
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+
+	private static String fileName(String key) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8))) + SUFFIX;
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 미지원 JVM", e);
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package com.ssafy.damdam.global.cache;
+
+import static com.ssafy.damdam.domain.users.exception.user.UserExceptionCode.*;
+
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ssafy.damdam.domain.counsels.dto.UserContextDto;
+import com.ssafy.damdam.domain.users.entity.UserInfo;
+import com.ssafy.damdam.domain.users.entity.UserSetting;
+import com.ssafy.damdam.domain.users.entity.UserSurvey;
+import com.ssafy.damdam.domain.users.exception.user.UserException;
+import com.ssafy.damdam.domain.users.repository.UserInfoRepository;
+import com.ssafy.damdam.domain.users.repository.UserSettingRepository;
+import com.ssafy.damdam.domain.users.repository.UserSurveyRepository;
+import com.ssafy.damdam.domain.users.repository.UsersRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * llm 요청마다 함께 보내는 유저 컨텍스트(닉네임, 유저 정보/설정/설문)의 로컬 캐시.
+ * 원본은 거의 바뀌지 않지만 매 턴마다 읽히므로, 조회한 스냅샷을 메모리에 두고 수정 트랜잭션 커밋 후 비운다.
+ * 웹소켓 CONNECT 시점에 미리 채워 첫 메시지부터 캐시를 타도록 한다.
+ */
+@Slf4j
+@Component
+public class UserContextCache {
+
+	private final Cache<Long, UserContextDto> cache;
+	private final UsersRepository usersRepository;
+	private final UserInfoRepository infoRepository;
+	private final UserSettingRepository settingRepository;
+	private final UserSurveyRepository surveyRepository;
+	private final ExecutorService virtualThreadExecutor;
+	private final StringRedisTemplate stringRedisTemplate;
+	private final UserContextCacheProperties properties;
+
+	public UserContextCache(
+		UsersRepository usersRepository,
+		UserInfoRepository infoRepository,
+		UserSettingRepository settingRepository,
+		UserSurveyRepository surveyRepository,
+		ExecutorService virtualThreadExecutor,
+		StringRedisTemplate stringRedisTemplate,
+		UserContextCacheProperties properties,
+		MeterRegistry meterRegistry
+	) {
+		this.usersRepository = usersRepository;
+		this.infoRepository = infoRepository;
+		this.settingRepository = settingRepository;
+		this.surveyRepository = surveyRepository;
+		this.virtualThreadExecutor = virtualThreadExecutor;
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.properties = properties;
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(properties.getMaximumSize())
+			.expireAfterWrite(properties.getExpireAfterWrite())
+			.recordStats()
+			.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "userContext");
+	}
+
+	public UserContextDto get(Long userId) {
+		return cache.get(userId, this::load);
+	}
+
+	// 웹소켓 연결 직후 비동기로 미리 적재 (실패해도 첫 채팅에서 다시 조회하므로 로그만 남긴다)
+	public void warm(Long userId) {
+		if (cache.getIfPresent(userId) != null) {
+			return;
+		}
+		virtualThreadExecutor.execute(() -> {
+			try {
+				get(userId);
+			} catch (Exception e) {
+				log.warn("[UserContextCache] 캐시 선적재 실패: userId={}, {}", userId, e.getMessage());
+			}
+		});
+	}
+
+	// 진행 중인 트랜잭션이 있으면 커밋 이후에 비운다 (커밋 전에 비우면 다른 스레드가 옛 값을 다시 채울 수 있음)
+	public void evictAfterCommit(Long userId) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			evict(userId);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				evict(userId);
+			}
+		});
+	}
+
+	public void evict(Long userId) {
+		evictLocal(userId);
+		if (!properties.isInvalidationBroadcast()) {
+			return;
+		}
+		try {
+			stringRedisTemplate.convertAndSend(properties.getInvalidationChannel(), String.valueOf(userId));
+		} catch (Exception e) {
+			log.warn("[UserContextCache] 캐시 무효화 전파 실패: userId={}, {}", userId, e.getMessage());
+		}
+	}
+
+	// 다른 노드에서 전파된 무효화 메시지 수신 시 호출
+	public void evictLocal(Long userId) {
+		cache.invalidate(userId);
+	}
+
+	private UserContextDto load(Long userId) {
+		String nickname = usersRepository.findById(userId)
+			.orElseThrow(() -> new UserException(USER_NOT_FOUND))
+			.getNickname();
+		UserInfo infos = infoRepository.findById(userId)
+			.orElseThrow(() -> new UserException(USER_INFO_NOT_FOUND));
+		UserSetting setting = settingRepository.findById(userId)
+			.orElseThrow(() -> new UserException(USER_SETTING_NOT_FOUND));
+		UserSurvey survey = surveyRepository.findById(userId).orElse(null);
+
+		return UserContextDto.of(nickname, infos, setting, survey);
+	}
+}
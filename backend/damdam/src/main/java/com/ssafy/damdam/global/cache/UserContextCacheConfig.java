@@ -0,0 +1,38 @@
+package com.ssafy.damdam.global.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(UserContextCacheProperties.class)
+public class UserContextCacheConfig {
+
+	// 여러 서버 노드로 띄울 때만 켠다. 다른 노드가 보낸 userId 를 받아 로컬 캐시를 비운다
+	@Bean
+	@ConditionalOnProperty(prefix = "cache.user-context", name = "invalidation-broadcast", havingValue = "true")
+	public RedisMessageListenerContainer userContextInvalidationListener(
+		RedisConnectionFactory connectionFactory,
+		UserContextCache userContextCache,
+		UserContextCacheProperties properties
+	) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+		container.addMessageListener((message, pattern) -> {
+			String body = new String(message.getBody());
+			try {
+				userContextCache.evictLocal(Long.valueOf(body));
+			} catch (NumberFormatException e) {
+				log.warn("[UserContextCache] 잘못된 무효화 메시지: {}", body);
+			}
+		}, new ChannelTopic(properties.getInvalidationChannel()));
+		return container;
+	}
+}
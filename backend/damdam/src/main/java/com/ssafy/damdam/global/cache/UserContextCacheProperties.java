@@ -0,0 +1,20 @@
+package com.ssafy.damdam.global.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache.user-context")
+public class UserContextCacheProperties {
+	private long maximumSize = 10_000;
+	// 수정 시 evict 되지만, 다른 경로로 바뀐 값이 있을 수 있어 최대 보관 시간을 둔다
+	private Duration expireAfterWrite = Duration.ofHours(6);
+	// true 이면 evict 시 Redis pub/sub 으로 다른 서버 노드의 캐시도 함께 비운다
+	private boolean invalidationBroadcast;
+	private String invalidationChannel = "damdam:user-context:invalidate";
+}
@@ -1,10 +1,7 @@
 package com.ssafy.damdam.global.config;
 
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.PropertyAccessor;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ssafy.damdam.domain.counsels.dto.ChatMessageDto;
+import com.ssafy.damdam.global.redis.ChatMessageCodec;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,12 +10,9 @@ import org.springframework.data.redis.connection.RedisPassword;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
-@EnableRedisRepositories(basePackages = "com.ssafy.damdam.global.redis")
 public class RedisConfig {
 
 	@Value("${spring.data.redis.host}")
@@ -38,26 +32,23 @@ public class RedisConfig {
 	}
 
 	@Bean
-	public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
-		RedisTemplate<String, Object> template = new RedisTemplate<>();
-		template.setConnectionFactory(connectionFactory);
-
-		// 1) Jackson ObjectMapper에 JavaTimeModule 등록
-		ObjectMapper mapper = new ObjectMapper()
-				.registerModule(new JavaTimeModule())
-				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-				.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+	public ChatMessageCodec chatMessageCodec() {
+		return new ChatMessageCodec();
+	}
 
-		// 2) JSR310 모듈이 적용된 Serializer 사용
-		GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(mapper);
+	// 대화 이력 list / USER 메시지 인덱스 전용 (값은 ChatMessageCodec 바이너리, 예전 JSON 도 읽기 가능)
+	@Bean
+	public RedisTemplate<String, ChatMessageDto> chatMessageRedisTemplate(
+			RedisConnectionFactory connectionFactory,
+			ChatMessageCodec chatMessageCodec
+	) {
+		RedisTemplate<String, ChatMessageDto> template = new RedisTemplate<>();
+		template.setConnectionFactory(connectionFactory);
 
-		// Key Serializer
 		template.setKeySerializer(new StringRedisSerializer());
 		template.setHashKeySerializer(new StringRedisSerializer());
-
-		// Value Serializer
-		template.setValueSerializer(serializer);
-		template.setHashValueSerializer(serializer);
+		template.setValueSerializer(chatMessageCodec);
+		template.setHashValueSerializer(chatMessageCodec);
 
 		template.afterPropertiesSet();
 		return template;
@@ -0,0 +1,231 @@
+package com.ssafy.damdam.global.redis;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ssafy.damdam.domain.counsels.dto.ChatMessageDto;
+import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
+
+/**
+ * 대화 이력(ChatMessageDto) 전용 바이너리 코덱.
+ *
+ * <pre>
+ * [0xCD][version=1][flags]
+ * [sender: 0=USER, 1=AI, 2=그 외(UTF-8 문자열 뒤따름)]
+ * [messageOrder: int]
+ * [timestamp: epochSecond long + nano int]      (FLAG_TIMESTAMP)
+ * [emotion: 5 x unsigned byte | 5 x int]        (FLAG_EMOTION, FLAG_EMOTION_WIDE)
+ * [message: length int + UTF-8]                 (FLAG_MESSAGE)
+ * emotion 순서: happiness, sadness, angry, neutral, other
+ * </pre>
+ *
+ * 첫 바이트가 0xCD 가 아니면 예전 GenericJackson2JsonRedisSerializer 로 적재된 JSON 으로 보고 읽는다.
+ * 그래서 진행 중인 상담의 list 에 두 형식이 섞여 있어도 그대로 조회된다.
+ */
+public class ChatMessageCodec implements RedisSerializer<ChatMessageDto> {
+
+	static final byte MAGIC = (byte)0xCD;
+	static final byte VERSION = 1;
+
+	private static final int FLAG_VOICE_PRESENT = 1;
+	private static final int FLAG_VOICE = 1 << 1;
+	private static final int FLAG_TIMESTAMP = 1 << 2;
+	private static final int FLAG_EMOTION = 1 << 3;
+	private static final int FLAG_EMOTION_WIDE = 1 << 4;
+	private static final int FLAG_MESSAGE = 1 << 5;
+
+	private static final int SENDER_USER = 0;
+	private static final int SENDER_AI = 1;
+	private static final int SENDER_OTHER = 2;
+
+	private final ObjectMapper legacyMapper = new ObjectMapper()
+		.registerModule(new JavaTimeModule())
+		.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+		.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+	@Override
+	public byte[] serialize(ChatMessageDto value) throws SerializationException {
+		if (value == null) {
+			return new byte[0];
+		}
+		String message = value.getMessage();
+		byte[] messageBytes = message == null ? null : message.getBytes(StandardCharsets.UTF_8);
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(32 + (messageBytes == null ? 0 : messageBytes.length));
+
+		try (DataOutputStream out = new DataOutputStream(buffer)) {
+			EmotionDto emotion = value.getEmotion();
+			int flags = 0;
+			if (value.getIsVoice() != null) {
+				flags |= FLAG_VOICE_PRESENT;
+				if (value.getIsVoice()) {
+					flags |= FLAG_VOICE;
+				}
+			}
+			if (value.getTimestamp() != null) {
+				flags |= FLAG_TIMESTAMP;
+			}
+			if (emotion != null) {
+				flags |= FLAG_EMOTION;
+				if (!fitsInByte(emotion)) {
+					flags |= FLAG_EMOTION_WIDE;
+				}
+			}
+			if (messageBytes != null) {
+				flags |= FLAG_MESSAGE;
+			}
+
+			out.writeByte(MAGIC);
+			out.writeByte(VERSION);
+			out.writeByte(flags);
+			writeSender(out, value.getSender());
+			out.writeInt(value.getMessageOrder());
+
+			if ((flags & FLAG_TIMESTAMP) != 0) {
+				out.writeLong(value.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+				out.writeInt(value.getTimestamp().getNano());
+			}
+			if ((flags & FLAG_EMOTION) != 0) {
+				writeEmotion(out, emotion, (flags & FLAG_EMOTION_WIDE) != 0);
+			}
+			if (messageBytes != null) {
+				out.writeInt(messageBytes.length);
+				out.write(messageBytes);
+			}
+		} catch (IOException e) {
+			throw new SerializationException("채팅 메시지 직렬화 실패", e);
+		}
+		return buffer.toByteArray();
+	}
+
+	@Override
+	public ChatMessageDto deserialize(byte[] bytes) throws SerializationException {
+		if (bytes == null || bytes.length == 0) {
+			return null;
+		}
+		if (bytes[0] != MAGIC) {
+			return readLegacyJson(bytes);
+		}
+
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+			in.readByte();
+			byte version = in.readByte();
+			if (version != VERSION) {
+				throw new SerializationException("지원하지 않는 채팅 메시지 버전: " + version);
+			}
+			int flags = in.readUnsignedByte();
+			String sender = readSender(in);
+			int messageOrder = in.readInt();
+
+			LocalDateTime timestamp = null;
+			if ((flags & FLAG_TIMESTAMP) != 0) {
+				long epochSecond = in.readLong();
+				int nano = in.readInt();
+				timestamp = LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+			}
+			EmotionDto emotion = null;
+			if ((flags & FLAG_EMOTION) != 0) {
+				emotion = readEmotion(in, (flags & FLAG_EMOTION_WIDE) != 0);
+			}
+			String message = null;
+			if ((flags & FLAG_MESSAGE) != 0) {
+				byte[] messageBytes = new byte[in.readInt()];
+				in.readFully(messageBytes);
+				message = new String(messageBytes, StandardCharsets.UTF_8);
+			}
+
+			return ChatMessageDto.builder()
+				.sender(sender)
+				.isVoice((flags & FLAG_VOICE_PRESENT) != 0 ? (flags & FLAG_VOICE) != 0 : null)
+				.messageOrder(messageOrder)
+				.message(message)
+				.timestamp(timestamp)
+				.emotion(emotion)
+				.build();
+		} catch (IOException e) {
+			throw new SerializationException("채팅 메시지 역직렬화 실패", e);
+		}
+	}
+
+	private ChatMessageDto readLegacyJson(byte[] bytes) {
+		try {
+			return legacyMapper.readValue(bytes, ChatMessageDto.class);
+		} catch (IOException e) {
+			throw new SerializationException("예전 형식(JSON) 채팅 메시지 역직렬화 실패", e);
+		}
+	}
+
+	private void writeSender(DataOutputStream out, String sender) throws IOException {
+		if ("USER".equals(sender)) {
+			out.writeByte(SENDER_USER);
+		} else if ("AI".equals(sender)) {
+			out.writeByte(SENDER_AI);
+		} else {
+			out.writeByte(SENDER_OTHER);
+			out.writeUTF(sender == null ? "" : sender);
+		}
+	}
+
+	private String readSender(DataInputStream in) throws IOException {
+		int code = in.readUnsignedByte();
+		return switch (code) {
+			case SENDER_USER -> "USER";
+			case SENDER_AI -> "AI";
+			default -> {
+				String sender = in.readUTF();
+				yield sender.isEmpty() ? null : sender;
+			}
+		};
+	}
+
+	// 감정 수치는 0~100 이라 보통 1바이트씩 들어간다
+	private boolean fitsInByte(EmotionDto emotion) {
+		return inByteRange(emotion.getHappiness()) && inByteRange(emotion.getSadness())
+			&& inByteRange(emotion.getAngry()) && inByteRange(emotion.getNeutral())
+			&& inByteRange(emotion.getOther());
+	}
+
+	private boolean inByteRange(int value) {
+		return value >= 0 && value <= 0xFF;
+	}
+
+	private void writeEmotion(DataOutputStream out, EmotionDto emotion, boolean wide) throws IOException {
+		int[] values = {
+			emotion.getHappiness(), emotion.getSadness(), emotion.getAngry(), emotion.getNeutral(), emotion.getOther()
+		};
+		for (int value : values) {
+			if (wide) {
+				out.writeInt(value);
+			} else {
+				out.writeByte(value);
+			}
+		}
+	}
+
+	private EmotionDto readEmotion(DataInputStream in, boolean wide) throws IOException {
+		int[] values = new int[5];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = wide ? in.readInt() : in.readUnsignedByte();
+		}
+		return EmotionDto.builder()
+			.happiness(values[0])
+			.sadness(values[1])
+			.angry(values[2])
+			.neutral(values[3])
+			.other(values[4])
+			.build();
+	}
+}
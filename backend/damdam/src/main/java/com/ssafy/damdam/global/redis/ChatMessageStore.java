@@ -0,0 +1,49 @@
+package com.ssafy.damdam.global.redis;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ssafy.damdam.domain.counsels.dto.ChatMessageDto;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 상담 대화 이력(counsel:{counsId}:messages list) 저장소.
+ * USER 메시지는 list 에 적재할 때 messageOrder 인덱스 해시에도 함께 기록되므로(turn_open.lua), 음성 업로드처럼
+ * 특정 순서의 메시지 하나만 필요한 경우 전체 이력을 읽지 않고 HGET 한 번으로 찾는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatMessageStore {
+
+	private final RedisTemplate<String, ChatMessageDto> chatMessageRedisTemplate;
+
+	public Optional<ChatMessageDto> findUserMessage(Long counsId, int messageOrder) {
+		ChatMessageDto indexed = chatMessageRedisTemplate.<String, ChatMessageDto>opsForHash()
+			.get(CounselRedisKeys.userMessageIndex(counsId), String.valueOf(messageOrder));
+		if (indexed != null) {
+			return Optional.of(indexed);
+		}
+
+		// 인덱스 도입 전에 시작된 상담은 인덱스가 없으므로 전체 이력에서 찾는다
+		if (Boolean.TRUE.equals(chatMessageRedisTemplate.hasKey(CounselRedisKeys.userMessageIndex(counsId)))) {
+			return Optional.empty();
+		}
+		log.debug("[ChatMessageStore] 인덱스 없음, 대화 이력 전체 탐색: counsId={}, messageOrder={}",
+			counsId, messageOrder);
+		return findAll(counsId).stream()
+			.filter(dto -> dto.getMessageOrder() == messageOrder && "USER".equals(dto.getSender()))
+			.findFirst();
+	}
+
+	public List<ChatMessageDto> findAll(Long counsId) {
+		List<ChatMessageDto> messages = chatMessageRedisTemplate.opsForList()
+			.range(CounselRedisKeys.messages(counsId), 0, -1);
+		return messages == null ? List.of() : messages;
+	}
+}
@@ -0,0 +1,85 @@
+package com.ssafy.damdam.global.redis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 해시태그 도입 전 키(counsel:session:{id}, counsel:{id}:messages[:user])를 새 키 규칙으로 옮긴다.
+ * 배포 직후 진행 중이던 상담이 끊기지 않도록 서버 시작 시 한 번 SCAN 후 RENAMENX 한다.
+ * 새 키가 이미 있으면(이미 새 규칙으로 턴이 진행된 방) 예전 키는 건드리지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "chat.redis", name = "migrate-legacy-keys", havingValue = "true", matchIfMissing = true)
+public class CounselRedisKeyMigrator implements ApplicationRunner {
+
+	// @RedisHash 시절 id 인덱스 set
+	private static final String LEGACY_SESSION_INDEX = "counsel:session";
+
+	private static final Pattern LEGACY_SESSION = Pattern.compile("^counsel:session:(\\d+)$");
+	private static final Pattern LEGACY_MESSAGES = Pattern.compile("^counsel:(\\d+):messages$");
+	private static final Pattern LEGACY_USER_INDEX = Pattern.compile("^counsel:(\\d+):messages:user$");
+
+	private final StringRedisTemplate stringRedisTemplate;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		int migrated = migrate("counsel:session:*", LEGACY_SESSION, KeyKind.SESSION)
+			+ migrate("counsel:*:messages", LEGACY_MESSAGES, KeyKind.MESSAGES)
+			+ migrate("counsel:*:messages:user", LEGACY_USER_INDEX, KeyKind.USER_INDEX);
+		stringRedisTemplate.delete(LEGACY_SESSION_INDEX);
+
+		if (migrated > 0) {
+			log.info("[CounselRedisKeyMigrator] 예전 상담 키 {}개를 새 키 규칙으로 이전", migrated);
+		}
+	}
+
+	private int migrate(String pattern, Pattern legacy, KeyKind kind) {
+		List<String> keys = new ArrayList<>();
+		ScanOptions options = ScanOptions.scanOptions().match(pattern).count(500).build();
+		try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+			cursor.forEachRemaining(keys::add);
+		}
+
+		int migrated = 0;
+		for (String key : keys) {
+			Matcher matcher = legacy.matcher(key);
+			if (!matcher.matches()) {
+				continue;
+			}
+			Long counsId = Long.valueOf(matcher.group(1));
+			if (Boolean.TRUE.equals(stringRedisTemplate.renameIfAbsent(key, kind.target(counsId)))) {
+				migrated++;
+			} else {
+				log.warn("[CounselRedisKeyMigrator] 새 키가 이미 있어 이전하지 않음: {}", key);
+			}
+		}
+		return migrated;
+	}
+
+	private enum KeyKind {
+		SESSION, MESSAGES, USER_INDEX;
+
+		String target(Long counsId) {
+			return switch (this) {
+				case SESSION -> CounselRedisKeys.session(counsId);
+				case MESSAGES -> CounselRedisKeys.messages(counsId);
+				case USER_INDEX -> CounselRedisKeys.userMessageIndex(counsId);
+			};
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package com.ssafy.damdam.global.redis;
+
+import java.util.List;
+
+/**
+ * 상담 관련 Redis 키 규칙을 한 곳에서 관리한다.
+ * 한 방의 키는 모두 {counsId} 해시태그를 공유해 같은 슬롯에 놓이므로, 클러스터로 옮겨도 한 스크립트/MULTI 로 묶을 수 있다.
+ */
+public final class CounselRedisKeys {
+
+	private CounselRedisKeys() {
+	}
+
+	public static String session(Long counsId) {
+		return "counsel:{" + counsId + "}:session";
+	}
+
+	public static String messages(Long counsId) {
+		return "counsel:{" + counsId + "}:messages";
+	}
+
+	// messageOrder → USER 메시지 인덱스 해시 (대화 이력 list 와 함께 유지)
+	public static String userMessageIndex(Long counsId) {
+		return "counsel:{" + counsId + "}:messages:user";
+	}
+
+	// 방 정리 시 한 번의 DEL 로 지울 키 목록
+	public static List<String> roomKeys(Long counsId) {
+		return List.of(session(counsId), messages(counsId), userMessageIndex(counsId));
+	}
+}
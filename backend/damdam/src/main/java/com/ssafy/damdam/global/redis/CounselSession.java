@@ -1,8 +1,6 @@
 package com.ssafy.damdam.global.redis;
 
 import lombok.*;
-import org.springframework.data.annotation.Id;
-import org.springframework.data.redis.core.RedisHash;
 
 import java.time.LocalDateTime;
 
@@ -10,9 +8,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Data
-@RedisHash(value = "counsel:session")
+// counsel:session:{counsId} 해시의 조회용 스냅샷 (쓰기는 CounselSessionStore 를 통해 필드 단위로 처리)
 public class CounselSession {
-	@Id
 	private Long counsId;
 
 	// 유저 아이디
@@ -46,8 +43,4 @@ public class CounselSession {
 
 	private int messageOrder;
 
-	public void decrementToken() {
-		if (tokenCount > 0) tokenCount--;
-	}
-
 }
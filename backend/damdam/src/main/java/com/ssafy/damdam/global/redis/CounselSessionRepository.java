@@ -1,6 +0,0 @@
-package com.ssafy.damdam.global.redis;
-
-import org.springframework.data.repository.CrudRepository;
-
-public interface CounselSessionRepository extends CrudRepository<CounselSession, Long> {
-}
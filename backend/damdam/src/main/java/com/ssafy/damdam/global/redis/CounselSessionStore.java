@@ -0,0 +1,229 @@
+package com.ssafy.damdam.global.redis;
+
+import static com.ssafy.damdam.global.redis.exception.RedisExceptionCode.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import com.ssafy.damdam.domain.counsels.dto.ChatMessageDto;
+import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
+import com.ssafy.damdam.global.redis.exception.RedisException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 상담 세션(counsel:{counsId}:session 해시) 저장소.
+ * 예전 CounselSessionRepository(@RedisHash) 와 같은 필드 이름을 그대로 쓰지만, 해시 전체를 다시 쓰지 않고
+ * Lua 스크립트로 필요한 필드만 원자적으로 바꾼다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CounselSessionStore {
+
+	@SuppressWarnings("rawtypes")
+	private static final RedisScript<List> OPEN_TURN = RedisScripts.listScript("turn_open.lua");
+	private static final RedisScript<Long> APPEND_AI_REPLY = RedisScripts.longScript("session_append_ai_reply.lua");
+	private static final RedisScript<Long> PATCH_EMOTION = RedisScripts.longScript("message_patch_emotion.lua");
+	private static final RedisScript<Long> MARK_CLOSING = RedisScripts.longScript("session_mark_closing.lua");
+	// 늦은 감정 결과를 반영할 AI 메시지를 대화 이력 끝에서부터 찾는 범위
+	private static final int PATCH_SCAN_WINDOW = 16;
+
+	private final StringRedisTemplate stringRedisTemplate;
+	private final RedisTemplate<String, ChatMessageDto> chatMessageRedisTemplate;
+	private final ChatMessageCodec chatMessageCodec;
+
+	/**
+	 * 유저 메시지 한 턴을 연다. 세션이 없으면 만들고, 대화 이력과 messageOrder 인덱스에 유저 메시지를 적재한 뒤
+	 * 갱신된 세션 스냅샷을 돌려준다. 모두 한 스크립트(한 번의 왕복)로 처리된다.
+	 * 종료 요청(markClosing)이 들어온 세션이면 메시지를 적재하지 않고 REDIS_SESSION_CLOSING 을 던진다.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public CounselSession openTurn(Long counsId, Long userId, int initialTokens, ChatMessageDto userMsg) {
+		// 결과 배열의 각 원소(bulk string)를 문자열로 받는다
+		List<Object> result = (List<Object>)chatMessageRedisTemplate.execute(
+			OPEN_TURN,
+			RawScriptArgsSerializer.INSTANCE,
+			(RedisSerializer)StringRedisSerializer.UTF_8,
+			CounselRedisKeys.roomKeys(counsId),
+			counsId,
+			userId,
+			initialTokens,
+			chatMessageCodec.serialize(userMsg),
+			userMsg.getMessageOrder()
+		);
+
+		if ("closing".equals(result.get(0))) {
+			throw new RedisException(REDIS_SESSION_CLOSING);
+		}
+		if ("1".equals(result.get(0))) {
+			log.info("[CounselSessionStore] 첫 세션 자동 생성:  roomId={}, userId={}", counsId, userId);
+		}
+		Map<Object, Object> hash = new HashMap<>();
+		for (int i = 1; i + 1 < result.size(); i += 2) {
+			hash.put(result.get(i), result.get(i + 1));
+		}
+		return toSession(counsId, hash);
+	}
+
+	/**
+	 * 음성 턴 시작 시 필요한 세션 스냅샷과 messageOrder 의 유저 메시지를 한 번의 파이프라인으로 읽는다.
+	 * 세션이 없으면 empty, 인덱스에 메시지가 없으면 userMessage 가 null 이다.
+	 */
+	@SuppressWarnings("unchecked")
+	public Optional<TurnSnapshot> findTurn(Long counsId, int messageOrder) {
+		byte[] sessionKey = StringRedisSerializer.UTF_8.serialize(CounselRedisKeys.session(counsId));
+		byte[] indexKey = StringRedisSerializer.UTF_8.serialize(CounselRedisKeys.userMessageIndex(counsId));
+		byte[] field = StringRedisSerializer.UTF_8.serialize(String.valueOf(messageOrder));
+
+		List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>)connection -> {
+			connection.hashCommands().hGetAll(sessionKey);
+			connection.hashCommands().hGet(indexKey, field);
+			return null;
+		}, null);
+
+		Map<byte[], byte[]> rawSession = (Map<byte[], byte[]>)results.get(0);
+		if (rawSession == null || rawSession.isEmpty()) {
+			return Optional.empty();
+		}
+		Map<Object, Object> hash = new HashMap<>();
+		rawSession.forEach((key, value) ->
+			hash.put(StringRedisSerializer.UTF_8.deserialize(key), StringRedisSerializer.UTF_8.deserialize(value)));
+
+		ChatMessageDto userMessage = chatMessageCodec.deserialize((byte[])results.get(1));
+		return Optional.of(new TurnSnapshot(toSession(counsId, hash), userMessage));
+	}
+
+	public Optional<CounselSession> find(Long counsId) {
+		Map<Object, Object> hash = stringRedisTemplate.opsForHash().entries(CounselRedisKeys.session(counsId));
+		if (hash.isEmpty()) {
+			return Optional.empty();
+		}
+		return Optional.of(toSession(counsId, hash));
+	}
+
+	/**
+	 * AI 응답 턴 반영: 대화 이력 append, 토큰 차감, 마지막 감정/메시지 갱신을 한 스크립트로 처리한다.
+	 * 대화 이력 값은 ChatMessageCodec 으로 직렬화해 적재한다.
+	 *
+	 * @return 차감 후 남은 토큰 수, 세션이 없으면 -1
+	 */
+	public int appendAiReply(Long counsId, ChatMessageDto aiMsg) {
+		EmotionDto emotion = aiMsg.getEmotion();
+
+		Long tokens = chatMessageRedisTemplate.execute(
+			APPEND_AI_REPLY,
+			RawScriptArgsSerializer.INSTANCE,
+			new GenericToStringSerializer<>(Long.class),
+			List.of(CounselRedisKeys.session(counsId), CounselRedisKeys.messages(counsId)),
+			chatMessageCodec.serialize(aiMsg),
+			emotion.getHappiness(),
+			emotion.getAngry(),
+			emotion.getNeutral(),
+			emotion.getSadness(),
+			emotion.getOther(),
+			aiMsg.getSender(),
+			aiMsg.getMessage(),
+			aiMsg.getTimestamp(),
+			aiMsg.getMessageOrder()
+		);
+		return tokens == null ? -1 : tokens.intValue();
+	}
+
+	/**
+	 * appendAiReply 로 적재한 AI 메시지의 감정을 늦게 도착한 분석 결과로 바꾼다.
+	 * 그 사이 다음 AI 응답이 없었다면 세션의 마지막 감정도 함께 갱신한다.
+	 *
+	 * @return 메시지를 찾아 교체했으면 true (방이 이미 정리되었으면 false)
+	 */
+	public boolean patchAiReplyEmotion(Long counsId, ChatMessageDto aiMsg, EmotionDto fresh) {
+		ChatMessageDto patched = ChatMessageDto.builder()
+			.sender(aiMsg.getSender())
+			.isVoice(aiMsg.getIsVoice())
+			.messageOrder(aiMsg.getMessageOrder())
+			.message(aiMsg.getMessage())
+			.timestamp(aiMsg.getTimestamp())
+			.emotion(fresh)
+			.build();
+
+		Long result = chatMessageRedisTemplate.execute(
+			PATCH_EMOTION,
+			RawScriptArgsSerializer.INSTANCE,
+			new GenericToStringSerializer<>(Long.class),
+			List.of(CounselRedisKeys.session(counsId), CounselRedisKeys.messages(counsId)),
+			chatMessageCodec.serialize(aiMsg),
+			chatMessageCodec.serialize(patched),
+			fresh.getHappiness(),
+			fresh.getAngry(),
+			fresh.getNeutral(),
+			fresh.getSadness(),
+			fresh.getOther(),
+			aiMsg.getMessageOrder(),
+			PATCH_SCAN_WINDOW
+		);
+		return result != null && result == 1L;
+	}
+
+	// 상담 종료 스냅샷 이후의 메시지가 유실되지 않도록 새 턴을 막는다. 세션이 없으면 false
+	public boolean markClosing(Long counsId) {
+		Long marked = stringRedisTemplate.execute(MARK_CLOSING, List.of(CounselRedisKeys.session(counsId)));
+		return marked != null && marked == 1L;
+	}
+
+	// 세션, 대화 이력, 인덱스를 한 번의 DEL 로 정리
+	public void deleteRoom(Long counsId) {
+		stringRedisTemplate.delete(CounselRedisKeys.roomKeys(counsId));
+	}
+
+	private CounselSession toSession(Long counsId, Map<Object, Object> hash) {
+		return CounselSession.builder()
+			.counsId(counsId)
+			.userId(toLong(hash.get("userId")))
+			.tokenCount(toInt(hash.get("tokenCount")))
+			.sender((String) hash.get("sender"))
+			.timestamp(toDateTime(hash.get("timestamp")))
+			.isVoice(toBoolean(hash.get("isVoice")))
+			.message((String) hash.get("message"))
+			.happiness(toInt(hash.get("happiness")))
+			.angry(toInt(hash.get("angry")))
+			.neutral(toInt(hash.get("neutral")))
+			.sadness(toInt(hash.get("sadness")))
+			.other(toInt(hash.get("other")))
+			.messageOrder(toInt(hash.get("messageOrder")))
+			.build();
+	}
+
+	private Long toLong(Object raw) {
+		return raw == null ? null : Long.valueOf((String) raw);
+	}
+
+	private int toInt(Object raw) {
+		return raw == null ? 0 : Integer.parseInt((String) raw);
+	}
+
+	private LocalDateTime toDateTime(Object raw) {
+		return raw == null ? null : LocalDateTime.parse((String) raw);
+	}
+
+	// @RedisHash 시절에는 Boolean 이 "1"/"0" 으로 저장되었다
+	private Boolean toBoolean(Object raw) {
+		if (raw == null) {
+			return null;
+		}
+		String value = (String) raw;
+		return "1".equals(value) || "true".equalsIgnoreCase(value);
+	}
+}
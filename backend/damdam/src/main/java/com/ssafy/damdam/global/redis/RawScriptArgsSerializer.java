@@ -0,0 +1,31 @@
+package com.ssafy.damdam.global.redis;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+// Lua 스크립트 인자 직렬화: 이미 직렬화된 byte[] 는 그대로, 나머지는 문자열로 전달
+final class RawScriptArgsSerializer implements RedisSerializer<Object> {
+
+	static final RawScriptArgsSerializer INSTANCE = new RawScriptArgsSerializer();
+
+	private RawScriptArgsSerializer() {
+	}
+
+	@Override
+	public byte[] serialize(Object value) throws SerializationException {
+		if (value == null) {
+			return new byte[0];
+		}
+		if (value instanceof byte[] bytes) {
+			return bytes;
+		}
+		return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public Object deserialize(byte[] bytes) throws SerializationException {
+		return bytes;
+	}
+}
@@ -0,0 +1,29 @@
+package com.ssafy.damdam.global.redis;
+
+import java.util.List;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+// resources/scripts/redis 아래 Lua 스크립트 로더 (EVALSHA 후 NOSCRIPT 면 EVAL 로 재시도)
+public final class RedisScripts {
+
+	private RedisScripts() {
+	}
+
+	public static RedisScript<Long> longScript(String name) {
+		DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+		script.setLocation(new ClassPathResource("scripts/redis/" + name));
+		script.setResultType(Long.class);
+		return script;
+	}
+
+	@SuppressWarnings("rawtypes")
+	public static RedisScript<List> listScript(String name) {
+		DefaultRedisScript<List> script = new DefaultRedisScript<>();
+		script.setLocation(new ClassPathResource("scripts/redis/" + name));
+		script.setResultType(List.class);
+		return script;
+	}
+}
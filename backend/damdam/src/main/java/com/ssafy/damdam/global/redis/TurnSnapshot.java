@@ -0,0 +1,14 @@
+package com.ssafy.damdam.global.redis;
+
+import com.ssafy.damdam.domain.counsels.dto.ChatMessageDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 턴을 시작할 때 한 번에 읽어 온 세션 스냅샷과 해당 턴의 유저 메시지
+@Getter
+@AllArgsConstructor
+public class TurnSnapshot {
+	private CounselSession session;
+	private ChatMessageDto userMessage;
+}
@@ -0,0 +1,95 @@
+package com.ssafy.damdam.global.util.async;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * JDK 21 의 StructuredTaskScope.ShutdownOnFailure 는 프리뷰 API 라 사용할 수 없어 같은 의미만 옮겨온 최소 구현.
+ * fork 한 작업 중 하나라도 실패하면 아직 끝나지 않은 형제 작업을 interrupt 로 취소하고, 첫 번째 실패를 그대로 전파한다.
+ *
+ * <pre>
+ * try (FailFastScope scope = new FailFastScope(virtualThreadExecutor)) {
+ *     Supplier&lt;A&gt; a = scope.fork(() -&gt; ...);
+ *     Supplier&lt;B&gt; b = scope.fork(() -&gt; ...);
+ *     scope.join().throwIfFailed();
+ *     return combine(a.get(), b.get());
+ * }
+ * </pre>
+ */
+public class FailFastScope implements AutoCloseable {
+
+	private final ExecutorService executor;
+	private final List<Future<?>> forks = new CopyOnWriteArrayList<>();
+	private volatile Throwable failure;
+
+	public FailFastScope(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	public <T> Supplier<T> fork(Callable<T> task) {
+		FutureTask<T> future = new FutureTask<>(task) {
+			@Override
+			protected void done() {
+				if (isCancelled()) {
+					return;
+				}
+				try {
+					get();
+				} catch (ExecutionException e) {
+					shutdown(e.getCause());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		forks.add(future);
+		executor.execute(future);
+		return future::resultNow;
+	}
+
+	// 모든 작업이 끝나거나, 하나가 실패해 나머지가 취소될 때까지 기다린다
+	public FailFastScope join() throws InterruptedException {
+		for (Future<?> fork : forks) {
+			try {
+				fork.get();
+			} catch (ExecutionException | CancellationException ignored) {
+				// 실패 원인은 failure 에 기록되어 throwIfFailed 에서 전파된다
+			}
+		}
+		return this;
+	}
+
+	public void throwIfFailed() {
+		Throwable cause = failure;
+		if (cause == null) {
+			return;
+		}
+		if (cause instanceof RuntimeException runtimeException) {
+			throw runtimeException;
+		}
+		if (cause instanceof Error error) {
+			throw error;
+		}
+		throw new CompletionException(cause);
+	}
+
+	private synchronized void shutdown(Throwable cause) {
+		if (failure == null) {
+			failure = cause;
+		}
+		forks.forEach(fork -> fork.cancel(true));
+	}
+
+	@Override
+	public void close() {
+		forks.forEach(fork -> fork.cancel(true));
+	}
+}
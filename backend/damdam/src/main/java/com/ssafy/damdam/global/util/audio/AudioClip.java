@@ -0,0 +1,84 @@
+package com.ssafy.damdam.global.util.audio;
+
+import static com.ssafy.damdam.global.aws.s3.exception.S3ExceptionCode.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ssafy.damdam.global.aws.s3.exception.S3Exception;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 음성 턴 하나의 원본 오디오.
+ * multipart 파일은 요청이 끝나면 사라지므로, 요청 스레드에서 임시 파일로 옮겨 두거나(직접 전송 모드)
+ * S3 에 올린 URL 을 들고(기존 모드) 메일박스의 분석 단계로 넘긴다.
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class AudioClip {
+
+	private static final Set<String> EXTENSIONS = Set.of(".mp3", ".wav", ".m4a");
+
+	private final Path path;
+	private final String filename;
+	private final String contentType;
+	private final String url;
+
+	public static AudioClip stage(MultipartFile file) {
+		String ext = extensionOf(file.getOriginalFilename());
+		try (InputStream in = file.getInputStream()) {
+			Path temp = Files.createTempFile("damdam-voice-", ext);
+			Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+			String contentType = file.getContentType() != null ? file.getContentType() : "application/octet-stream";
+			return new AudioClip(temp, file.getOriginalFilename(), contentType, null);
+		} catch (IOException e) {
+			log.error("[AudioClip] 음성 파일 임시 저장 실패", e);
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public static AudioClip ofUrl(String url) {
+		return new AudioClip(null, null, null, url);
+	}
+
+	// mp3, wav, m4a 만 허용한다
+	public static String extensionOf(String originalFilename) {
+		int dot = originalFilename == null ? -1 : originalFilename.lastIndexOf('.');
+		if (dot < 0) {
+			throw new S3Exception(IS_NOT_AUDIO);
+		}
+		String ext = originalFilename.substring(dot).toLowerCase();
+		if (!EXTENSIONS.contains(ext)) {
+			throw new S3Exception(IS_NOT_AUDIO);
+		}
+		return ext;
+	}
+
+	public boolean isStaged() {
+		return path != null;
+	}
+
+	// 턴 처리가 끝나면(성공/실패 무관) 임시 파일을 지운다
+	public void discard() {
+		if (path == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			log.warn("[AudioClip] 임시 파일 삭제 실패: {}", path, e);
+		}
+	}
+}
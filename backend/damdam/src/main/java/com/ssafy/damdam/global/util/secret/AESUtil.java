@@ -6,7 +6,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.CipherOutputStream;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
@@ -33,4 +37,31 @@ public class AESUtil {
         byte[] decrypted = cipher.doFinal(decodedBytes);
         return new String(decrypted, StandardCharsets.UTF_8);
     }
+
+    // encrypt 와 같은 형식(Base64(AES(평문)))을 스트림으로 쓴다. close 해야 마지막 블록과 패딩이 기록된다
+    public OutputStream encryptingStream(OutputStream out) throws Exception {
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "AES"));
+        return new CipherOutputStream(Base64.getEncoder().wrap(out), cipher);
+    }
+
+    // decrypt 의 스트림 버전: Base64 문자열 스트림을 평문 바이트 스트림으로 읽는다
+    public InputStream decryptingStream(InputStream in) throws Exception {
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "AES"));
+        return new CipherInputStream(Base64.getDecoder().wrap(in), cipher);
+    }
+
+    // 원시 바이트(Base64 없이) 암호화/복호화 스트림. 대화 원문 컨테이너(TranscriptCodec) 에서 쓴다
+    public OutputStream encryptingRawStream(OutputStream out) throws Exception {
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "AES"));
+        return new CipherOutputStream(out, cipher);
+    }
+
+    public InputStream decryptingRawStream(InputStream in) throws Exception {
+        Cipher cipher = Cipher.getInstance("AES");
+        cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "AES"));
+        return new CipherInputStream(in, cipher);
+    }
 }
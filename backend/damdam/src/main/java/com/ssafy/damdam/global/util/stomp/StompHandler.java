@@ -11,6 +11,7 @@ import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
+import com.ssafy.damdam.global.cache.UserContextCache;
 import com.ssafy.damdam.global.util.jwt.JwtUtil;
 
 import lombok.RequiredArgsConstructor;
@@ -23,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 public class StompHandler implements ChannelInterceptor {
 
 	private final JwtUtil jwtUtil;
+	private final UserContextCache userContextCache;
 
 	@Override
 	public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -52,6 +54,11 @@ public class StompHandler implements ChannelInterceptor {
 
 			accessor.setUser(new StompPrincipal(userId.toString()));
 			log.info("Principal set in StompHandler -> {}", accessor.getUser().getName());
+
+			// 연결 시점에 llm 유저 컨텍스트를 미리 캐시에 올려 첫 메시지의 DB 조회를 없앤다
+			if (StompCommand.CONNECT == accessor.getCommand()) {
+				userContextCache.warm(userId);
+			}
 		}
 		return MessageBuilder
 			.withPayload(message.getPayload())
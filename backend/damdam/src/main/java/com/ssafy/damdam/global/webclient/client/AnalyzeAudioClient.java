@@ -2,11 +2,23 @@ package com.ssafy.damdam.global.webclient.client;
 
 import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
 import com.ssafy.damdam.domain.counsels.dto.AudioApiFullResponse;
+import com.ssafy.damdam.global.util.audio.AudioClip;
+import com.ssafy.damdam.global.webclient.config.AnalyzeApiProperties;
+import com.ssafy.damdam.global.webclient.exception.WebClientException;
+import com.ssafy.damdam.global.webclient.gateway.AiDownstream;
+import com.ssafy.damdam.global.webclient.gateway.AiGateway;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 
 import java.util.Map;
 
@@ -15,7 +27,11 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AnalyzeAudioClient {
 
+    private static final int CHUNK_SIZE = 64 * 1024;
+
     private final WebClient audioWebClient;
+    private final AiGateway aiGateway;
+    private final AnalyzeApiProperties properties;
 
     public EmotionDto analyzeAudio(String audioUrl) {
         try {
@@ -23,15 +39,15 @@ public class AnalyzeAudioClient {
                     .bodyValue(Map.of("audio_url", audioUrl))
                     .retrieve()
                     .bodyToMono(AudioApiFullResponse.class)
+                    .retryWhen(aiGateway.retry(AiDownstream.AI_ANALYZE))
                     .block();
 
-            return EmotionDto.builder()
-                    .happiness((int)(full.getResult().getEmotion_scores().getHappiness()))
-                    .angry((int)(full.getResult().getEmotion_scores().getAngry()))
-                    .sadness((int)(full.getResult().getEmotion_scores().getSadness()))
-                    .neutral((int)(full.getResult().getEmotion_scores().getNeutral()))
-                    .other((int)(full.getResult().getEmotion_scores().getOther()))
-                    .build();
+            return toEmotion(full);
+
+        } catch (WebClientException e) {
+            // 서킷이 열려 있어 요청을 보내지 않은 경우
+            log.warn("[AudioClient] 감정 분석 서버 차단 중: {}", e.getMessage());
+            throw e;
 
         } catch (WebClientResponseException e) {
             log.error("[AudioClient] FastAPI 오류 응답: status={}, body={}",
@@ -43,4 +59,36 @@ public class AnalyzeAudioClient {
             throw new RuntimeException("서버 내부 오류", e);
         }
     }
+
+    // 오디오 원본을 S3 를 거치지 않고 multipart 본문으로 바로 보낸다. 파일은 청크 단위로 읽어 흘려보내며,
+    // 구독할 때마다 처음부터 다시 읽으므로 재시도해도 안전하다. 실패 처리(S3 폴백)는 호출하는 쪽에 맡긴다
+    public EmotionDto analyzeAudioFile(AudioClip clip) {
+        Flux<DataBuffer> content = DataBufferUtils.read(clip.getPath(), DefaultDataBufferFactory.sharedInstance, CHUNK_SIZE);
+
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.asyncPart("file", content, DataBuffer.class)
+                .filename(clip.getFilename())
+                .contentType(MediaType.parseMediaType(clip.getContentType()));
+
+        AudioApiFullResponse full = audioWebClient.post()
+                .uri(properties.getAudioUpload().getPath())
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .retrieve()
+                .bodyToMono(AudioApiFullResponse.class)
+                .retryWhen(aiGateway.retry(AiDownstream.AI_ANALYZE))
+                .block();
+
+        return toEmotion(full);
+    }
+
+    private static EmotionDto toEmotion(AudioApiFullResponse full) {
+        return EmotionDto.builder()
+                .happiness((int)(full.getResult().getEmotion_scores().getHappiness()))
+                .angry((int)(full.getResult().getEmotion_scores().getAngry()))
+                .sadness((int)(full.getResult().getEmotion_scores().getSadness()))
+                .neutral((int)(full.getResult().getEmotion_scores().getNeutral()))
+                .other((int)(full.getResult().getEmotion_scores().getOther()))
+                .build();
+    }
 }
@@ -3,12 +3,18 @@ package com.ssafy.damdam.global.webclient.client;
 import com.ssafy.damdam.domain.counsels.dto.AudioApiFullResponse;
 import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
 import com.ssafy.damdam.domain.counsels.dto.TextApiFullResponse;
+import com.ssafy.damdam.domain.counsels.dto.TextBatchApiResponse;
+import com.ssafy.damdam.global.webclient.config.AnalyzeApiProperties;
+import com.ssafy.damdam.global.webclient.exception.WebClientException;
+import com.ssafy.damdam.global.webclient.gateway.AiDownstream;
+import com.ssafy.damdam.global.webclient.gateway.AiGateway;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -17,6 +23,8 @@ import java.util.Map;
 public class AnalyzeTextClient {
 
     private final WebClient textWebClient;
+    private final AiGateway aiGateway;
+    private final AnalyzeApiProperties properties;
 
     public EmotionDto analyzeText(String text) {
 
@@ -25,15 +33,15 @@ public class AnalyzeTextClient {
                     .bodyValue(Map.of("text", text))
                     .retrieve()
                     .bodyToMono(TextApiFullResponse.class)
+                    .retryWhen(aiGateway.retry(AiDownstream.AI_ANALYZE))
                     .block();
 
-            return EmotionDto.builder()
-                    .happiness((int) (full.getResult().getEmotion_scores().getHappiness()))
-                    .angry((int) (full.getResult().getEmotion_scores().getAngry()))
-                    .sadness((int) (full.getResult().getEmotion_scores().getSadness()))
-                    .neutral((int) (full.getResult().getEmotion_scores().getNeutral()))
-                    .other((int) (full.getResult().getEmotion_scores().getOther()))
-                    .build();
+            return toEmotion(full.getResult());
+
+        } catch (WebClientException e) {
+            // 서킷이 열려 있어 요청을 보내지 않은 경우
+            log.warn("[TextClient] 감정 분석 서버 차단 중: {}", e.getMessage());
+            throw e;
 
         } catch (WebClientResponseException e) {
             log.error("[AudioClient] FastAPI 오류 응답: status={}, body={}",
@@ -46,4 +54,28 @@ public class AnalyzeTextClient {
         }
 
     }
+
+    // 여러 문장을 한 번의 요청으로 분석한다. 결과는 texts 와 같은 순서이며, 실패 처리는 호출하는 쪽(TextEmotionBatcher)에 맡긴다
+    public List<EmotionDto> analyzeTextBatch(List<String> texts) {
+        TextBatchApiResponse full = textWebClient.post()
+                .uri(properties.getTextBatch().getPath())
+                .bodyValue(Map.of("texts", texts))
+                .retrieve()
+                .bodyToMono(TextBatchApiResponse.class)
+                .block();
+
+        return full.getResults().stream()
+                .map(AnalyzeTextClient::toEmotion)
+                .toList();
+    }
+
+    private static EmotionDto toEmotion(TextApiFullResponse.Result result) {
+        return EmotionDto.builder()
+                .happiness((int) (result.getEmotion_scores().getHappiness()))
+                .angry((int) (result.getEmotion_scores().getAngry()))
+                .sadness((int) (result.getEmotion_scores().getSadness()))
+                .neutral((int) (result.getEmotion_scores().getNeutral()))
+                .other((int) (result.getEmotion_scores().getOther()))
+                .build();
+    }
 }
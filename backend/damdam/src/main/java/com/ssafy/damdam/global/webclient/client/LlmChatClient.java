@@ -1,14 +1,17 @@
 package com.ssafy.damdam.global.webclient.client;
 
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.ssafy.damdam.domain.counsels.dto.LlmAiChatChunk;
 import com.ssafy.damdam.domain.counsels.dto.LlmAiChatRequest;
 import com.ssafy.damdam.domain.counsels.dto.LlmAiChatResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Service
@@ -17,6 +20,7 @@ import reactor.core.publisher.Mono;
 public class LlmChatClient {
 
 	private final WebClient chatWebClient;
+	private final WebClient chatStreamWebClient;
 
 	public LlmAiChatResponse requestChatResponse(LlmAiChatRequest request) {
 		try {
@@ -37,5 +41,24 @@ public class LlmChatClient {
 			throw e;
 		}
 	}
-}
 
+	// 생성되는 토큰을 청크 단위로 흘려보낸다 (SSE, NDJSON 모두 지원)
+	public Flux<String> streamChatResponse(LlmAiChatRequest request) {
+		return chatStreamWebClient.post()
+				.accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_NDJSON)
+				.bodyValue(request)
+				.retrieve()
+				.onStatus(HttpStatusCode::isError, resp ->
+						resp.bodyToMono(String.class)
+								.flatMap(body -> {
+									log.error("[LLM] stream status={} body={}", resp.statusCode(), body);
+									return Mono.error(new RuntimeException("LLM 스트리밍 호출 실패: " + resp.statusCode()));
+								})
+				)
+				.bodyToFlux(LlmAiChatChunk.class)
+				.takeUntil(chunk -> Boolean.TRUE.equals(chunk.getDone()))
+				.mapNotNull(LlmAiChatChunk::getDelta)
+				.filter(delta -> !delta.isEmpty())
+				.doOnError(e -> log.error("[LLM] 스트리밍 호출 실패: {}", e.getMessage()));
+	}
+}
@@ -26,6 +26,8 @@ public class LlmPeriodClient {
 				.retrieve()
 				.bodyToMono(LlmPeriodReportResponse.class)
 				.block();
+		} catch (WebClientException e) {
+			throw e;
 		} catch (Exception e) {
 			log.error("[AI] 기간별 레포트 생성 오류 : {}", e.getMessage(), e);
 			throw new WebClientException(LLM_PERIOD_AI_ERROR);
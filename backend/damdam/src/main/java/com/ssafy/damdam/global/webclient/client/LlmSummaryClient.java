@@ -36,6 +36,8 @@ public class LlmSummaryClient {
 				)
 				.bodyToMono(LlmSummaryResponse.class)
 				.block();
+		} catch (WebClientException e) {
+			throw e;
 		} catch (Exception e) {
 			log.error("[LLM 요약 예외] {}", e.getMessage(), e);
 			throw new WebClientException(SUMMARY_AI_ERROR);
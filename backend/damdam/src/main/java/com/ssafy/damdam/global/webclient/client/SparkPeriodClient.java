@@ -25,6 +25,7 @@ public class SparkPeriodClient {
 		LocalDate startDate,
 		LocalDate endDate
 	) {
+		// spark-submit 을 동기로 돌리는 호출이라 재시도하면 같은 잡이 겹쳐 뜬다: 재시도 없이 한 번만 부른다
 		try {
 			return sparkWebClient.get()
 				.uri("/{userId}/{start}/{end}", userId, startDate, endDate)
@@ -32,6 +33,8 @@ public class SparkPeriodClient {
 				.bodyToMono(SparkResponseDto.class)
 				.blockOptional()
 				.orElse(new SparkResponseDto(0, Collections.emptyList()));
+		} catch (WebClientException e) {
+			throw e;
 		} catch (Exception e) {
 			log.error("Spark API 호출 중 오류: userId={}, start={}, end={}", userId, startDate, endDate, e);
 			throw new WebClientException(SPARK_API_ERROR);
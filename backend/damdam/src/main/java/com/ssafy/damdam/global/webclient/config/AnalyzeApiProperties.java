@@ -1,5 +1,7 @@
 package com.ssafy.damdam.global.webclient.config;
 
+import java.time.Duration;
+
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -10,4 +12,36 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class AnalyzeApiProperties {
     private String audioUrl;
     private String textUrl;
+    // 턴마다 감정 분석을 기다리는 최대 시간. 넘기면 직전 감정으로 llm 을 호출한다 (0 이면 끝까지 기다림)
+    private Duration textBudget = Duration.ofMillis(800);
+    private Duration audioBudget = Duration.ofSeconds(3);
+    private TextBatch textBatch = new TextBatch();
+    private AudioUpload audioUpload = new AudioUpload();
+
+    @Getter
+    @Setter
+    public static class TextBatch {
+        private boolean enabled = true;
+        // text-url 기준 배치 엔드포인트 경로
+        private String path = "/batch";
+        // 이 개수가 모이거나 window 가 지나면 한 번에 보낸다
+        private int maxSize = 16;
+        private Duration window = Duration.ofMillis(5);
+        // 배치 엔드포인트가 없다고 응답하면 이 시간 동안 단건 호출만 한다
+        private Duration retryAfter = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class AudioUpload {
+        // true 이면 음성 파일을 S3 를 거치지 않고 audio-url + path 로 바로 보낸다
+        private boolean enabled = true;
+        private String path = "/upload";
+        // 직접 전송이 실패하면 기존처럼 S3 에 올린 URL 로 다시 분석한다
+        private boolean s3Fallback = true;
+        // 분석과 별개로 원본을 S3(audio-audit/)에 남긴다
+        private boolean s3Audit = false;
+        // 직접 전송 엔드포인트가 없다고 응답하면 이 시간 동안 S3 경유로만 보낸다
+        private Duration retryAfter = Duration.ofMinutes(10);
+    }
 }
@@ -10,6 +10,11 @@ import lombok.Setter;
 @ConfigurationProperties(prefix = "fastapi.llm")
 public class LlmApiProperties {
 	private String chatUrl;
+	private String chatStreamUrl;
+	// true 이면 LLM 응답을 청크 단위로 받아 STOMP로 즉시 중계한다
+	private boolean chatStreaming;
 	private String summaryUrl;
 	private String periodUrl;
+	// true 이면 기간별 레포트에 전체 메시지 대신 상담 레포트 요약(sessionList)을 보내고, 레포트가 없는 상담만 메시지로 보낸다
+	private boolean periodHierarchical = false;
 }
@@ -1,5 +1,7 @@
 package com.ssafy.damdam.global.webclient.config;
 
+import static com.ssafy.damdam.global.webclient.gateway.AiDownstream.*;
+
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,57 +9,71 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.ssafy.damdam.global.webclient.dispatch.LlmDispatchProperties;
+import com.ssafy.damdam.global.webclient.gateway.AiGateway;
+import com.ssafy.damdam.global.webclient.gateway.AiGatewayProperties;
+
 @Configuration
-@EnableConfigurationProperties({LlmApiProperties.class, AnalyzeApiProperties.class, SparkProperties.class})
+@EnableConfigurationProperties({LlmApiProperties.class, AnalyzeApiProperties.class, SparkProperties.class,
+	LlmDispatchProperties.class, AiGatewayProperties.class})
 public class WebClientConfig {
 
+	// ai-data: chat, chatStream, summary, period 가 커넥션 풀과 서킷 브레이커를 공유한다
 	@Bean
-	public WebClient chatWebClient(LlmApiProperties props) {
-		return WebClient.builder()
+	public WebClient chatWebClient(AiGateway aiGateway, LlmApiProperties props) {
+		return aiGateway.builder(AI_DATA)
 			.baseUrl(props.getChatUrl())
 			.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
 			.build();
 	}
 
 	@Bean
-	public WebClient summaryWebClient(LlmApiProperties props) {
-		return WebClient.builder()
+	public WebClient chatStreamWebClient(AiGateway aiGateway, LlmApiProperties props) {
+		return aiGateway.builder(AI_DATA)
+			.baseUrl(props.getChatStreamUrl())
+			.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+			.build();
+	}
+
+	@Bean
+	public WebClient summaryWebClient(AiGateway aiGateway, LlmApiProperties props) {
+		return aiGateway.builder(AI_DATA)
 			.baseUrl(props.getSummaryUrl())
 			.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
 			.build();
 	}
 
+	// ai-analyze: 음성/텍스트 감정 분석
 	@Bean
-	public WebClient audioWebClient(AnalyzeApiProperties props) {
-		return WebClient.builder()
+	public WebClient audioWebClient(AiGateway aiGateway, AnalyzeApiProperties props) {
+		return aiGateway.builder(AI_ANALYZE)
 			.baseUrl(props.getAudioUrl())
 			.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
 			.build();
 	}
 
 	@Bean
-	public WebClient textWebClient(AnalyzeApiProperties props) {
-		return WebClient.builder()
+	public WebClient textWebClient(AiGateway aiGateway, AnalyzeApiProperties props) {
+		return aiGateway.builder(AI_ANALYZE)
 			.baseUrl(props.getTextUrl())
 			.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
 			.build();
 	}
 
 	@Bean
-	public WebClient sparkWebClient(SparkProperties props) {
-		return WebClient.builder()
+	public WebClient sparkWebClient(AiGateway aiGateway, SparkProperties props) {
+		return aiGateway.builder(SPARK)
 			.baseUrl(props.getSparkUrl())
 			.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
 			.build();
 	}
 
 	@Bean
-	public WebClient periodWebClient(LlmApiProperties props) {
-		return WebClient.builder()
+	public WebClient periodWebClient(AiGateway aiGateway, LlmApiProperties props) {
+		return aiGateway.builder(AI_DATA)
 			.baseUrl(props.getPeriodUrl())
 			.defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
 			.build();
 	}
 
 }
-
@@ -0,0 +1,22 @@
+package com.ssafy.damdam.global.webclient.dispatch;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "fastapi.llm.dispatch")
+public class LlmDispatchProperties {
+	// ai-data 서버로 동시에 보낼 수 있는 최대 LLM 요청 수
+	private int maxInFlight = 4;
+	// 대기 시간이 이만큼 지날 때마다 한 단계 높은 우선순위로 취급 (낮은 lane 기아 방지)
+	private Duration agingStep = Duration.ofSeconds(10);
+	// 이 시간 안에 차례가 오지 않으면 요청을 포기한다
+	private Duration maxWait = Duration.ofSeconds(60);
+	// 이 값 이상의 슬픔 수치는 HIGH lane 으로 보낸다
+	private int highSadness = 70;
+}
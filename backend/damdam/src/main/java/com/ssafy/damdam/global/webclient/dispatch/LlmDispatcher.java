@@ -0,0 +1,226 @@
+package com.ssafy.damdam.global.webclient.dispatch;
+
+import static com.ssafy.damdam.global.webclient.exception.WebClientExceptionCode.*;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
+import com.ssafy.damdam.domain.counsels.dto.UserContextDto;
+import com.ssafy.damdam.global.webclient.exception.WebClientException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * ai-data(LLM) 서버 앞단의 호출 스케줄러.
+ * 동시에 나가는 요청을 maxInFlight 로 제한하고, 자리가 없으면 lane 별 대기열에 줄을 세운다.
+ * 자리가 나면 (lane 가중치 + 대기 시간/agingStep) 이 가장 큰 요청부터 내보내므로, 위험군 채팅이 먼저 나가되
+ * 오래 기다린 요약/레포트 요청도 결국 차례를 받는다.
+ *
+ * 지표: damdam.llm.dispatch.queue.depth{lane}, damdam.llm.dispatch.in_flight,
+ * damdam.llm.dispatch.wait{lane}, damdam.llm.dispatch.timeout{lane}
+ */
+@Slf4j
+@Component
+public class LlmDispatcher {
+
+	private final LlmDispatchProperties properties;
+	private final Map<LlmLane, ArrayDeque<Ticket>> queues = new EnumMap<>(LlmLane.class);
+	private final Map<LlmLane, Timer> waitTimers = new EnumMap<>(LlmLane.class);
+	private final Map<LlmLane, Counter> timeouts = new EnumMap<>(LlmLane.class);
+	private final Object lock = new Object();
+	private int inFlight;
+
+	public LlmDispatcher(LlmDispatchProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		for (LlmLane lane : LlmLane.values()) {
+			ArrayDeque<Ticket> queue = new ArrayDeque<>();
+			queues.put(lane, queue);
+			Gauge.builder("damdam.llm.dispatch.queue.depth", this, dispatcher -> dispatcher.depth(lane))
+				.tag("lane", lane.name())
+				.register(meterRegistry);
+			waitTimers.put(lane, Timer.builder("damdam.llm.dispatch.wait")
+				.tag("lane", lane.name())
+				.register(meterRegistry));
+			timeouts.put(lane, Counter.builder("damdam.llm.dispatch.timeout")
+				.tag("lane", lane.name())
+				.register(meterRegistry));
+		}
+		Gauge.builder("damdam.llm.dispatch.in_flight", this, dispatcher -> dispatcher.inFlight())
+			.register(meterRegistry);
+	}
+
+	// 채팅 요청의 lane 결정: 설문상 자살 위험이 있거나 슬픔 수치가 높으면 HIGH
+	public LlmLane laneFor(UserContextDto userContext, EmotionDto emotion) {
+		if (userContext != null && Boolean.TRUE.equals(userContext.getIsSuicidal())) {
+			return LlmLane.HIGH;
+		}
+		if (emotion != null && emotion.getSadness() >= properties.getHighSadness()) {
+			return LlmLane.HIGH;
+		}
+		return LlmLane.NORMAL;
+	}
+
+	// 블로킹 호출용: 차례가 올 때까지 기다린 뒤 실행하고 자리를 반납한다
+	public <T> T call(LlmLane lane, Supplier<T> request) {
+		CompletableFuture<Void> permit = acquire(lane);
+		try {
+			permit.get(properties.getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException | CancellationException e) {
+			abandon(lane, permit, true);
+			throw new WebClientException(LLM_DISPATCH_TIMEOUT);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			abandon(lane, permit, false);
+			throw new WebClientException(LLM_DISPATCH_TIMEOUT);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+
+		try {
+			return request.get();
+		} finally {
+			release();
+		}
+	}
+
+	// 스트리밍 호출용: 구독 시점에 자리를 기다리고, 스트림이 끝나거나 취소될 때 반납한다
+	public <T> Flux<T> stream(LlmLane lane, Supplier<Flux<T>> request) {
+		return Flux.usingWhen(
+			Mono.defer(() -> {
+				CompletableFuture<Void> permit = acquire(lane);
+				// 취소/타임아웃 시 permit 정리는 abandon 에서 직접 처리한다
+				return Mono.fromFuture(permit, true)
+					.timeout(properties.getMaxWait())
+					.onErrorMap(TimeoutException.class, e -> {
+						abandon(lane, permit, true);
+						return new WebClientException(LLM_DISPATCH_TIMEOUT);
+					})
+					.doOnCancel(() -> abandon(lane, permit, false))
+					.thenReturn(lane);
+			}),
+			ignored -> Flux.defer(request),
+			ignored -> Mono.fromRunnable(this::release),
+			(ignored, error) -> Mono.fromRunnable(this::release),
+			ignored -> Mono.fromRunnable(this::release)
+		);
+	}
+
+	private CompletableFuture<Void> acquire(LlmLane lane) {
+		synchronized (lock) {
+			if (inFlight < properties.getMaxInFlight() && isEmpty()) {
+				inFlight++;
+				waitTimers.get(lane).record(0, TimeUnit.NANOSECONDS);
+				return CompletableFuture.completedFuture(null);
+			}
+			Ticket ticket = new Ticket(lane, System.nanoTime());
+			queues.get(lane).addLast(ticket);
+			// 대기 중 취소(타임아웃, 구독 취소)되면 줄에서 뺀다
+			ticket.permit.whenComplete((ignored, error) -> {
+				if (ticket.permit.isCancelled()) {
+					synchronized (lock) {
+						queues.get(lane).remove(ticket);
+					}
+				}
+			});
+			return ticket.permit;
+		}
+	}
+
+	// 기다리다 포기한 경우. 그 사이 자리를 받았다면 바로 반납한다
+	private void abandon(LlmLane lane, CompletableFuture<Void> permit, boolean timedOut) {
+		if (timedOut) {
+			timeouts.get(lane).increment();
+		}
+		if (!permit.cancel(false)) {
+			release();
+		}
+	}
+
+	// 자리를 반납하면서 다음 차례에게 그대로 넘긴다 (넘길 대상이 없으면 in-flight 감소)
+	private void release() {
+		while (true) {
+			Ticket next;
+			synchronized (lock) {
+				next = pollNext();
+				if (next == null) {
+					inFlight--;
+					return;
+				}
+			}
+			if (next.permit.complete(null)) {
+				waitTimers.get(next.lane).record(System.nanoTime() - next.enqueuedAt, TimeUnit.NANOSECONDS);
+				return;
+			}
+			// 이미 취소된 요청이면 다음 대기자에게 넘긴다
+		}
+	}
+
+	private Ticket pollNext() {
+		long now = System.nanoTime();
+		long agingNanos = Math.max(1, properties.getAgingStep().toNanos());
+		LlmLane best = null;
+		long bestScore = Long.MIN_VALUE;
+
+		for (LlmLane lane : LlmLane.values()) {
+			Ticket head = queues.get(lane).peekFirst();
+			if (head == null) {
+				continue;
+			}
+			long score = lane.weight() + (now - head.enqueuedAt) / agingNanos;
+			// 점수가 같으면 values() 순서(HIGH → LOW)상 먼저 본 lane 이 이긴다
+			if (score > bestScore) {
+				best = lane;
+				bestScore = score;
+			}
+		}
+		return best == null ? null : queues.get(best).pollFirst();
+	}
+
+	private boolean isEmpty() {
+		for (ArrayDeque<Ticket> queue : queues.values()) {
+			if (!queue.isEmpty()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int depth(LlmLane lane) {
+		synchronized (lock) {
+			return queues.get(lane).size();
+		}
+	}
+
+	private int inFlight() {
+		synchronized (lock) {
+			return inFlight;
+		}
+	}
+
+	private static final class Ticket {
+		private final LlmLane lane;
+		private final long enqueuedAt;
+		private final CompletableFuture<Void> permit = new CompletableFuture<>();
+
+		private Ticket(LlmLane lane, long enqueuedAt) {
+			this.lane = lane;
+			this.enqueuedAt = enqueuedAt;
+		}
+	}
+}
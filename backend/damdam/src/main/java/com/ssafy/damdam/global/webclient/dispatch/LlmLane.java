@@ -0,0 +1,22 @@
+package com.ssafy.damdam.global.webclient.dispatch;
+
+// LLM 호출 대기열 우선순위 (weight 가 클수록 먼저 나간다)
+public enum LlmLane {
+
+	// 위험군 유저(설문상 자살 위험, 높은 슬픔 수치)의 채팅
+	HIGH(2),
+	// 일반 채팅
+	NORMAL(1),
+	// 상담 요약, 기간별 레포트 같은 배치성 요청
+	LOW(0);
+
+	private final int weight;
+
+	LlmLane(int weight) {
+		this.weight = weight;
+	}
+
+	public int weight() {
+		return weight;
+	}
+}
@@ -0,0 +1,190 @@
+package com.ssafy.damdam.global.webclient.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
+import com.ssafy.damdam.global.webclient.client.AnalyzeTextClient;
+import com.ssafy.damdam.global.webclient.config.AnalyzeApiProperties;
+import com.ssafy.damdam.global.webclient.exception.WebClientException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 텍스트 감정 분석 요청을 짧은 시간(window) 동안 모아 한 번의 배치 요청으로 보낸다.
+ * maxSize 개가 모이면 마지막으로 들어온 호출 스레드가 바로 보내고, 그 전에는 첫 요청 기준 window 가 지나면 보낸다.
+ * 배치 요청이 실패하면 해당 묶음은 단건 호출로 다시 보내고, 배치 엔드포인트가 없다는 응답(404/405/501)이면
+ * retryAfter 동안 배치를 끄고 단건 호출만 한다.
+ *
+ * 지표: damdam.analyze.text.batch.size, damdam.analyze.text.batch.fallback
+ */
+@Slf4j
+@Component
+public class TextEmotionBatcher implements DisposableBean {
+
+	private final AnalyzeTextClient analyzeTextClient;
+	private final AnalyzeApiProperties.TextBatch properties;
+	private final ExecutorService virtualThreadExecutor;
+	private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+		Thread.ofPlatform().name("text-emotion-batch").daemon().factory());
+	private final DistributionSummary batchSizes;
+	private final Counter fallbacks;
+	private final Object lock = new Object();
+	private List<Pending> pending = new ArrayList<>();
+	private ScheduledFuture<?> flushTask;
+	private volatile long batchDisabledUntil;
+
+	public TextEmotionBatcher(
+		AnalyzeTextClient analyzeTextClient,
+		AnalyzeApiProperties analyzeApiProperties,
+		ExecutorService virtualThreadExecutor,
+		MeterRegistry meterRegistry
+	) {
+		this.analyzeTextClient = analyzeTextClient;
+		this.properties = analyzeApiProperties.getTextBatch();
+		this.virtualThreadExecutor = virtualThreadExecutor;
+		this.batchSizes = DistributionSummary.builder("damdam.analyze.text.batch.size")
+			.register(meterRegistry);
+		this.fallbacks = Counter.builder("damdam.analyze.text.batch.fallback")
+			.register(meterRegistry);
+	}
+
+	// 호출 스레드(가상 스레드)는 자기 결과가 나올 때까지 기다린다
+	public EmotionDto analyze(String text) {
+		if (!batchAvailable()) {
+			return analyzeTextClient.analyzeText(text);
+		}
+
+		Pending item = new Pending(text, new CompletableFuture<>());
+		List<Pending> full = null;
+		synchronized (lock) {
+			pending.add(item);
+			if (pending.size() >= properties.getMaxSize()) {
+				full = drain();
+			} else if (pending.size() == 1) {
+				flushTask = timer.schedule(this::flushByTimer, properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+			}
+		}
+		if (full != null) {
+			send(full);
+		}
+		return await(item.result());
+	}
+
+	@Override
+	public void destroy() {
+		timer.shutdownNow();
+		List<Pending> rest;
+		synchronized (lock) {
+			rest = drain();
+		}
+		rest.forEach(item -> virtualThreadExecutor.execute(() -> sendSingle(item)));
+	}
+
+	private boolean batchAvailable() {
+		return properties.isEnabled() && System.currentTimeMillis() >= batchDisabledUntil;
+	}
+
+	private void flushByTimer() {
+		List<Pending> batch;
+		synchronized (lock) {
+			batch = drain();
+		}
+		if (!batch.isEmpty()) {
+			// 타이머 스레드는 하나뿐이므로 실제 HTTP 호출은 가상 스레드에서
+			virtualThreadExecutor.execute(() -> send(batch));
+		}
+	}
+
+	// lock 안에서만 호출
+	private List<Pending> drain() {
+		List<Pending> batch = pending;
+		pending = new ArrayList<>();
+		if (flushTask != null) {
+			flushTask.cancel(false);
+			flushTask = null;
+		}
+		return batch;
+	}
+
+	private void send(List<Pending> batch) {
+		batchSizes.record(batch.size());
+		if (batch.size() == 1) {
+			sendSingle(batch.get(0));
+			return;
+		}
+
+		try {
+			List<EmotionDto> results = analyzeTextClient.analyzeTextBatch(batch.stream().map(Pending::text).toList());
+			if (results.size() != batch.size()) {
+				throw new IllegalStateException("배치 결과 개수 불일치: " + results.size() + " != " + batch.size());
+			}
+			for (int i = 0; i < batch.size(); i++) {
+				batch.get(i).result().complete(results.get(i));
+			}
+		} catch (WebClientException e) {
+			// 서킷이 열려 있으면 단건으로 다시 보내도 같은 결과이므로 그대로 실패시킨다
+			batch.forEach(item -> item.result().completeExceptionally(e));
+		} catch (WebClientResponseException e) {
+			if (isUnsupported(e)) {
+				batchDisabledUntil = System.currentTimeMillis() + properties.getRetryAfter().toMillis();
+				log.warn("[TextBatch] 배치 엔드포인트 미지원(status={}), {} 동안 단건 호출로 전환",
+					e.getStatusCode(), properties.getRetryAfter());
+			} else {
+				log.warn("[TextBatch] 배치 요청 실패(status={}), 단건 호출로 재시도: size={}", e.getStatusCode(), batch.size());
+			}
+			fallback(batch);
+		} catch (Exception e) {
+			log.warn("[TextBatch] 배치 요청 실패, 단건 호출로 재시도: size={}, {}", batch.size(), e.getMessage());
+			fallback(batch);
+		}
+	}
+
+	private void fallback(List<Pending> batch) {
+		fallbacks.increment();
+		batch.forEach(item -> virtualThreadExecutor.execute(() -> sendSingle(item)));
+	}
+
+	private void sendSingle(Pending item) {
+		try {
+			item.result().complete(analyzeTextClient.analyzeText(item.text()));
+		} catch (Exception e) {
+			item.result().completeExceptionally(e);
+		}
+	}
+
+	private static boolean isUnsupported(WebClientResponseException e) {
+		return e.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)
+			|| e.getStatusCode().isSameCodeAs(HttpStatus.METHOD_NOT_ALLOWED)
+			|| e.getStatusCode().isSameCodeAs(HttpStatus.NOT_IMPLEMENTED);
+	}
+
+	private static EmotionDto await(CompletableFuture<EmotionDto> result) {
+		try {
+			return result.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	private record Pending(String text, CompletableFuture<EmotionDto> result) {
+	}
+}
@@ -19,7 +19,9 @@ public enum WebClientExceptionCode implements ExceptionCode {
 	LLM_PERIOD_AI_ERROR(BAD_GATEWAY, "WC-S-003", "기간별 레포트 생성 FAST API에서 알 수 없는 오류가 발생했습니다."),
 	SPARK_API_ERROR(BAD_GATEWAY, "WC-S-004", "스파크 API에서 알 수 없는 오류가 발생했습니다."),
 	SPARK_API_BAD_REQUEST(BAD_REQUEST, "WC-S-005", "스파크 API에서 잘못된 요청이 발생했습니다."),
-	SPARK_API_JSON_PARSE_ERROR(BAD_REQUEST, "WC-S-006", "스파크 API에서 JSON 파싱 오류가 발생했습니다.");
+	SPARK_API_JSON_PARSE_ERROR(BAD_REQUEST, "WC-S-006", "스파크 API에서 JSON 파싱 오류가 발생했습니다."),
+	LLM_DISPATCH_TIMEOUT(SERVICE_UNAVAILABLE, "WC-S-007", "LLM 요청 대기 시간이 초과되었습니다. 잠시 후 다시 시도해 주세요."),
+	AI_UPSTREAM_UNAVAILABLE(SERVICE_UNAVAILABLE, "WC-S-008", "AI 서버가 응답하지 않아 요청을 보내지 않았습니다. 잠시 후 다시 시도해 주세요.");
 
 	private final HttpStatus httpStatus;
 	private final String code;
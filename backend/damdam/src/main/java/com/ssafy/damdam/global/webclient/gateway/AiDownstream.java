@@ -0,0 +1,15 @@
+package com.ssafy.damdam.global.webclient.gateway;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 외부 AI/분석 서버 단위. 같은 downstream 을 쓰는 WebClient 들은 커넥션 풀과 서킷 브레이커를 공유한다
+@Getter
+@RequiredArgsConstructor
+public enum AiDownstream {
+	AI_DATA("ai-data"),
+	AI_ANALYZE("ai-analyze"),
+	SPARK("spark");
+
+	private final String key;
+}
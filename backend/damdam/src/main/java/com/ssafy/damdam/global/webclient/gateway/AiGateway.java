@@ -0,0 +1,151 @@
+package com.ssafy.damdam.global.webclient.gateway;
+
+import static com.ssafy.damdam.global.webclient.exception.WebClientExceptionCode.*;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.ssafy.damdam.global.webclient.exception.WebClientException;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+/**
+ * AI/분석 서버용 WebClient 공통 계층.
+ * downstream 별로 커넥션 풀(연결/응답 타임아웃, keep-alive), 서킷 브레이커, 재시도 정책을 하나씩 두고
+ * 같은 서버를 부르는 WebClient 들이 이를 공유한다. 서킷이 열려 있으면 요청을 보내지 않고
+ * AI_UPSTREAM_UNAVAILABLE 로 바로 실패한다.
+ *
+ * 지표: reactor.netty.connection.provider.*{name=ai-data...}, reactor.netty.http.client.*,
+ * http.client.requests, resilience4j.circuitbreaker.*{name}, damdam.ai.gateway.retry{downstream}
+ */
+@Slf4j
+@Component
+public class AiGateway implements DisposableBean {
+
+	private final AiGatewayProperties properties;
+	private final ObservationRegistry observationRegistry;
+	private final Map<AiDownstream, ConnectionProvider> providers = new EnumMap<>(AiDownstream.class);
+	private final Map<AiDownstream, CircuitBreaker> breakers = new EnumMap<>(AiDownstream.class);
+	private final Map<AiDownstream, Counter> retries = new EnumMap<>(AiDownstream.class);
+
+	public AiGateway(
+		AiGatewayProperties properties,
+		ObservationRegistry observationRegistry,
+		MeterRegistry meterRegistry
+	) {
+		this.properties = properties;
+		this.observationRegistry = observationRegistry;
+
+		CircuitBreakerRegistry breakerRegistry = CircuitBreakerRegistry.ofDefaults();
+		for (AiDownstream downstream : AiDownstream.values()) {
+			AiGatewayProperties.Downstream conf = properties.get(downstream);
+			providers.put(downstream, ConnectionProvider.builder(downstream.getKey())
+				.maxConnections(conf.getMaxConnections())
+				.pendingAcquireTimeout(conf.getPendingAcquireTimeout())
+				.maxIdleTime(conf.getMaxIdleTime())
+				.maxLifeTime(conf.getMaxLifeTime())
+				.evictInBackground(conf.getMaxIdleTime())
+				.metrics(true)
+				.build());
+
+			CircuitBreaker breaker = breakerRegistry.circuitBreaker(downstream.getKey(), breakerConfig(conf.getBreaker()));
+			breaker.getEventPublisher().onStateTransition(event ->
+				log.warn("[AI Gateway] {} 서킷 상태 변경: {}", downstream.getKey(), event.getStateTransition()));
+			breakers.put(downstream, breaker);
+
+			retries.put(downstream, Counter.builder("damdam.ai.gateway.retry")
+				.tag("downstream", downstream.getKey())
+				.register(meterRegistry));
+		}
+		TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(breakerRegistry).bindTo(meterRegistry);
+	}
+
+	// downstream 의 풀/타임아웃/서킷 브레이커가 적용된 WebClient 빌더
+	public WebClient.Builder builder(AiDownstream downstream) {
+		AiGatewayProperties.Downstream conf = properties.get(downstream);
+		HttpClient httpClient = HttpClient.create(providers.get(downstream))
+			.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int)conf.getConnectTimeout().toMillis())
+			.option(ChannelOption.SO_KEEPALIVE, true)
+			.responseTimeout(conf.getResponseTimeout())
+			.keepAlive(true)
+			// uri 에 userId 등이 들어가므로 태그는 downstream 이름으로 고정한다
+			.metrics(true, uri -> downstream.getKey());
+
+		return WebClient.builder()
+			.clientConnector(new ReactorClientHttpConnector(httpClient))
+			.observationRegistry(observationRegistry)
+			.filter(circuitBreakerFilter(breakers.get(downstream)));
+	}
+
+	// 멱등하고 짧은 호출(감정 분석)에만 붙이는 재시도 정책: 지수 백오프 + jitter
+	public Retry retry(AiDownstream downstream) {
+		AiGatewayProperties.Retry conf = properties.get(downstream).getRetry();
+		Counter counter = retries.get(downstream);
+		return Retry.backoff(conf.getMaxAttempts(), conf.getMinBackoff())
+			.maxBackoff(conf.getMaxBackoff())
+			.jitter(conf.getJitter())
+			.filter(AiGateway::isRetryable)
+			.doBeforeRetry(signal -> {
+				counter.increment();
+				log.warn("[AI Gateway] {} 재시도 {}회차: {}", downstream.getKey(), signal.totalRetries() + 1,
+					signal.failure().getMessage());
+			})
+			.onRetryExhaustedThrow((spec, signal) -> signal.failure());
+	}
+
+	@Override
+	public void destroy() {
+		providers.values().forEach(ConnectionProvider::dispose);
+	}
+
+	// 연결 실패/타임아웃과 5xx, 429 만 재시도한다. 서킷이 열려 있으면 재시도하지 않는다
+	private static boolean isRetryable(Throwable e) {
+		if (e instanceof WebClientResponseException response) {
+			return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+		}
+		return e instanceof WebClientRequestException;
+	}
+
+	private ExchangeFilterFunction circuitBreakerFilter(CircuitBreaker breaker) {
+		return (request, next) -> next.exchange(request)
+			.transformDeferred(CircuitBreakerOperator.of(breaker))
+			.onErrorMap(CallNotPermittedException.class, e -> new WebClientException(AI_UPSTREAM_UNAVAILABLE));
+	}
+
+	private static CircuitBreakerConfig breakerConfig(AiGatewayProperties.Breaker conf) {
+		return CircuitBreakerConfig.custom()
+			.failureRateThreshold(conf.getFailureRateThreshold())
+			.slowCallRateThreshold(conf.getSlowCallRateThreshold())
+			.slowCallDurationThreshold(conf.getSlowCallDuration())
+			.slidingWindowSize(conf.getSlidingWindowSize())
+			.minimumNumberOfCalls(conf.getMinimumNumberOfCalls())
+			.waitDurationInOpenState(conf.getWaitInOpenState())
+			.permittedNumberOfCallsInHalfOpenState(conf.getPermittedCallsInHalfOpenState())
+			// 응답은 왔지만 5xx 인 경우도 실패로 센다
+			.recordResult(result -> result instanceof ClientResponse response
+				&& response.statusCode().is5xxServerError())
+			.build();
+	}
+}
@@ -0,0 +1,64 @@
+package com.ssafy.damdam.global.webclient.gateway;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "fastapi.gateway")
+public class AiGatewayProperties {
+
+	private Downstream aiData = new Downstream();
+	private Downstream aiAnalyze = new Downstream();
+	private Downstream spark = new Downstream();
+
+	public Downstream get(AiDownstream downstream) {
+		return switch (downstream) {
+			case AI_DATA -> aiData;
+			case AI_ANALYZE -> aiAnalyze;
+			case SPARK -> spark;
+		};
+	}
+
+	@Getter
+	@Setter
+	public static class Downstream {
+		// 커넥션 풀 크기와 풀에서 커넥션을 기다리는 최대 시간
+		private int maxConnections = 50;
+		private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+		// 프록시(nginx)가 먼저 끊기 전에 유휴 커넥션을 정리한다
+		private Duration maxIdleTime = Duration.ofSeconds(30);
+		private Duration maxLifeTime = Duration.ofMinutes(5);
+		private Duration connectTimeout = Duration.ofSeconds(2);
+		// 응답 바이트 사이의 최대 간격 (스트리밍이면 청크 사이 간격)
+		private Duration responseTimeout = Duration.ofSeconds(30);
+		private Retry retry = new Retry();
+		private Breaker breaker = new Breaker();
+	}
+
+	@Getter
+	@Setter
+	public static class Retry {
+		// 0 이면 재시도하지 않는다 (멱등한 호출에만 켠다)
+		private int maxAttempts = 0;
+		private Duration minBackoff = Duration.ofMillis(200);
+		private Duration maxBackoff = Duration.ofSeconds(2);
+		private double jitter = 0.5;
+	}
+
+	@Getter
+	@Setter
+	public static class Breaker {
+		private float failureRateThreshold = 50;
+		private float slowCallRateThreshold = 100;
+		private Duration slowCallDuration = Duration.ofSeconds(60);
+		private int slidingWindowSize = 20;
+		private int minimumNumberOfCalls = 10;
+		private Duration waitInOpenState = Duration.ofSeconds(30);
+		private int permittedCallsInHalfOpenState = 3;
+	}
+}
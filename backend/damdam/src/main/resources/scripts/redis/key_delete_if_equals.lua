@@ -0,0 +1,7 @@
+-- 키 값이 기대한 값일 때만 지운다 (다른 작업이 다시 잡은 키는 건드리지 않음)
+-- KEYS[1] = 키, ARGV[1] = 기대 값
+-- return 지웠으면 1, 아니면 0
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+	return redis.call('DEL', KEYS[1])
+end
+return 0
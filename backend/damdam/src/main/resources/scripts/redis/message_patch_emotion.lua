@@ -0,0 +1,30 @@
+-- 늦게 도착한 감정 분석 결과를 이미 적재된 AI 메시지에 반영한다
+-- 메시지 값은 바이너리 코덱이라 Lua 에서 해석하지 않고, 기존 직렬화 값과 바이트 단위로 같은 원소를 뒤에서부터 찾아 교체한다
+-- KEYS[1] = 세션 해시, KEYS[2] = 대화 이력 list
+-- ARGV[1] = 기존 직렬화 AI 메시지, ARGV[2] = 감정을 채운 직렬화 AI 메시지
+-- ARGV[3..7] = happiness, angry, neutral, sadness, other, ARGV[8] = messageOrder, ARGV[9] = 뒤에서부터 찾을 원소 수
+-- return 교체했으면 1, 못 찾았으면(방 삭제 등) 0
+local len = redis.call('LLEN', KEYS[2])
+local from = math.max(0, len - tonumber(ARGV[9]))
+local tail = redis.call('LRANGE', KEYS[2], from, len - 1)
+
+local patched = 0
+for i = #tail, 1, -1 do
+	if tail[i] == ARGV[1] then
+		-- 앞쪽 인덱스는 뒤에 RPUSH 가 일어나도 바뀌지 않는다
+		redis.call('LSET', KEYS[2], from + i - 1, ARGV[2])
+		patched = 1
+		break
+	end
+end
+
+-- 그 사이 다음 AI 응답이 세션 감정을 덮어쓰지 않았을 때만 세션의 마지막 감정도 갱신
+if patched == 1 and redis.call('HGET', KEYS[1], 'messageOrder') == ARGV[8] then
+	redis.call('HSET', KEYS[1],
+		'happiness', ARGV[3],
+		'angry', ARGV[4],
+		'neutral', ARGV[5],
+		'sadness', ARGV[6],
+		'other', ARGV[7])
+end
+return patched
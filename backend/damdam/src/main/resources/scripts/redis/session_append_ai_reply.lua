@@ -0,0 +1,27 @@
+-- AI 응답 한 턴을 원자적으로 반영한다: 대화 이력 append + 토큰 차감(최소 0) + 마지막 감정/메시지 갱신
+-- KEYS[1] = 세션 해시, KEYS[2] = 대화 이력 list
+-- ARGV[1] = 직렬화된 AI 메시지
+-- ARGV[2..6] = happiness, angry, neutral, sadness, other
+-- ARGV[7] = sender, ARGV[8] = message, ARGV[9] = timestamp, ARGV[10] = messageOrder
+-- return 차감 후 토큰 수, 세션이 없으면 -1 (이력도 남기지 않음)
+if redis.call('EXISTS', KEYS[1]) == 0 then
+	return -1
+end
+redis.call('RPUSH', KEYS[2], ARGV[1])
+
+local tokens = tonumber(redis.call('HGET', KEYS[1], 'tokenCount') or '0')
+if tokens > 0 then
+	tokens = redis.call('HINCRBY', KEYS[1], 'tokenCount', -1)
+end
+
+redis.call('HSET', KEYS[1],
+	'happiness', ARGV[2],
+	'angry', ARGV[3],
+	'neutral', ARGV[4],
+	'sadness', ARGV[5],
+	'other', ARGV[6],
+	'sender', ARGV[7],
+	'message', ARGV[8],
+	'timestamp', ARGV[9],
+	'messageOrder', ARGV[10])
+return tokens
@@ -0,0 +1,8 @@
+-- 상담 종료 요청 시 세션에 closing 표시를 남긴다. 이후 turn_open.lua 는 새 턴을 받지 않는다
+-- KEYS[1] = 세션 해시
+-- return 표시했으면 1, 세션이 없으면 0 (빈 해시를 새로 만들지 않는다)
+if redis.call('EXISTS', KEYS[1]) == 0 then
+	return 0
+end
+redis.call('HSET', KEYS[1], 'closing', '1')
+return 1
@@ -0,0 +1,24 @@
+-- 유저 메시지 한 턴을 연다: 세션이 없으면 생성 + 대화 이력 append + messageOrder 인덱스 기록 + 세션 스냅샷 반환
+-- KEYS[1] = 세션 해시, KEYS[2] = 대화 이력 list, KEYS[3] = USER 메시지 인덱스 해시
+-- ARGV[1] = counsId, ARGV[2] = userId, ARGV[3] = 최초 토큰 수
+-- ARGV[4] = 직렬화된 유저 메시지, ARGV[5] = messageOrder
+-- return { 새로 생성했으면 '1' 아니면 '0', 세션 해시 field, value, ... }, 종료 중인 세션이면 { 'closing' }
+if redis.call('HGET', KEYS[1], 'closing') == '1' then
+	return { 'closing' }
+end
+
+local created = '0'
+if redis.call('EXISTS', KEYS[1]) == 0 then
+	redis.call('HSET', KEYS[1], 'counsId', ARGV[1], 'userId', ARGV[2], 'tokenCount', ARGV[3])
+	created = '1'
+end
+
+redis.call('RPUSH', KEYS[2], ARGV[4])
+redis.call('HSET', KEYS[3], ARGV[5], ARGV[4])
+
+local result = { created }
+local session = redis.call('HGETALL', KEYS[1])
+for i = 1, #session do
+	result[#result + 1] = session[i]
+end
+return result
@@ -0,0 +1,246 @@
+package com.ssafy.damdam.global.aws.s3;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ssafy.damdam.domain.counsels.dto.ChatMessageDto;
+import com.ssafy.damdam.domain.counsels.dto.ChatRecordDto;
+import com.ssafy.damdam.domain.counsels.dto.EmotionDto;
+import com.ssafy.damdam.domain.counsels.dto.LlmSummaryRequest;
+import com.ssafy.damdam.domain.counsels.dto.MessagePage;
+import com.ssafy.damdam.domain.counsels.dto.TranscriptDto;
+import com.ssafy.damdam.global.util.secret.AESUtil;
+
+class TranscriptCodecTest {
+
+	// TranscriptCodec.TAIL_PREFETCH_BYTES 와 같은 값
+	private static final int TAIL_PREFETCH_BYTES = 16 * 1024;
+
+	private AESUtil aesUtil;
+	private ObjectMapper objectMapper;
+
+	@BeforeEach
+	void setUp() {
+		aesUtil = new AESUtil();
+		ReflectionTestUtils.setField(aesUtil, "secretKey", "0123456789abcdef");
+		// JacksonConfig.objectMapper 와 같은 설정
+		objectMapper = new ObjectMapper()
+			.registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	}
+
+	@Test
+	void v2로_쓴_원문을_처음부터_다시_읽는다() throws Exception {
+		TranscriptCodec codec = codec(true, 3);
+		LlmSummaryRequest request = request(20, 30);
+
+		TranscriptDto read = codec.read(new ByteArrayInputStream(write(codec, request)));
+
+		assertThat(read.getCounsId()).isEqualTo(request.getCounsId());
+		assertThat(read.getUserId()).isEqualTo(request.getUserId());
+		assertSameMessages(read.getMessageList(), request.getMessageList());
+	}
+
+	@Test
+	void 컨테이너를_끄면_legacy_로_쓰고_다시_읽는다() throws Exception {
+		TranscriptCodec codec = codec(false, 3);
+		LlmSummaryRequest request = request(5, 30);
+		byte[] encoded = write(codec, request);
+
+		assertThat(encoded[0]).isNotEqualTo((byte)0xDD);
+		assertSameMessages(codec.read(new ByteArrayInputStream(encoded)).getMessageList(), request.getMessageList());
+		assertThat(codec.readIndex(ranged(encoded, new ArrayList<>()))).isNull();
+	}
+
+	@Test
+	void 작은_원문은_끝부분_한_번으로_색인을_읽는다() throws Exception {
+		TranscriptCodec codec = codec(true, 3);
+		byte[] encoded = write(codec, request(20, 30));
+		List<String> requests = new ArrayList<>();
+
+		TranscriptIndex index = codec.readIndex(ranged(encoded, requests));
+
+		assertThat(encoded.length).isLessThan(TAIL_PREFETCH_BYTES);
+		assertThat(requests).containsExactly("bytes=-" + TAIL_PREFETCH_BYTES);
+		assertIndexCovers(index, 20);
+	}
+
+	@Test
+	void 큰_원문도_색인이_끝부분에_들어_있으면_한_번에_읽는다() throws Exception {
+		TranscriptCodec codec = codec(true, 3);
+		byte[] encoded = write(codec, request(200, 300));
+		List<String> requests = new ArrayList<>();
+
+		TranscriptIndex index = codec.readIndex(ranged(encoded, requests));
+
+		assertThat(encoded.length).isGreaterThan(TAIL_PREFETCH_BYTES);
+		assertThat(requests).containsExactly("bytes=-" + TAIL_PREFETCH_BYTES);
+		assertIndexCovers(index, 200);
+	}
+
+	@Test
+	void 색인이_끝부분보다_크면_색인_구간을_한_번_더_받는다() throws Exception {
+		// 순번마다 청크 하나라 색인이 TAIL_PREFETCH_BYTES 보다 커진다
+		TranscriptCodec codec = codec(true, 1);
+		byte[] encoded = write(codec, request(10_000, 10));
+		List<String> requests = new ArrayList<>();
+
+		TranscriptIndex index = codec.readIndex(ranged(encoded, requests));
+
+		assertThat(requests).hasSize(2);
+		assertThat(requests.get(0)).isEqualTo("bytes=-" + TAIL_PREFETCH_BYTES);
+		assertThat(requests.get(1)).matches("bytes=\\d+-\\d+");
+		assertIndexCovers(index, 10_000);
+	}
+
+	@Test
+	void 청크_경계를_넘는_페이지를_읽고_다음_순번을_알려준다() throws Exception {
+		// 청크당 순번 2개(USER/AI 4건)
+		TranscriptCodec codec = codec(true, 3);
+		LlmSummaryRequest request = request(20, 30);
+		byte[] encoded = write(codec, request);
+		TranscriptIndex index = codec.readIndex(ranged(encoded, new ArrayList<>()));
+
+		MessagePage<ChatRecordDto> page = codec.readPage(index, 3, 5, ranged(encoded, new ArrayList<>()));
+
+		assertThat(page.getMessages()).extracting(ChatRecordDto::getMessageOrder)
+			.containsExactly(3, 3, 4, 4, 5, 5, 6, 6, 7, 7);
+		assertThat(page.getNextOrder()).isEqualTo(8);
+
+		MessagePage<ChatRecordDto> last = codec.readPage(index, 17, 10, ranged(encoded, new ArrayList<>()));
+		assertThat(last.getMessages()).extracting(ChatRecordDto::getMessageOrder)
+			.containsExactly(17, 17, 18, 18, 19, 19, 20, 20);
+		assertThat(last.getNextOrder()).isNull();
+
+		MessagePage<ChatRecordDto> beyond = codec.readPage(index, 21, 10, ranged(encoded, new ArrayList<>()));
+		assertThat(beyond.getMessages()).isEmpty();
+		assertThat(beyond.getNextOrder()).isNull();
+	}
+
+	@Test
+	void nextOrder_를_따라가면_전체_원문과_같다() throws Exception {
+		TranscriptCodec codec = codec(true, 3);
+		LlmSummaryRequest request = request(20, 30);
+		byte[] encoded = write(codec, request);
+		TranscriptIndex index = codec.readIndex(ranged(encoded, new ArrayList<>()));
+
+		List<ChatRecordDto> all = new ArrayList<>();
+		Integer from = 1;
+		int pages = 0;
+		while (from != null) {
+			MessagePage<ChatRecordDto> page = codec.readPage(index, from, 3, ranged(encoded, new ArrayList<>()));
+			all.addAll(page.getMessages());
+			from = page.getNextOrder();
+			pages++;
+		}
+
+		assertThat(pages).isEqualTo(7);
+		assertSameMessages(all, request.getMessageList());
+	}
+
+	private TranscriptCodec codec(boolean container, int recordsPerChunk) {
+		return new TranscriptCodec(aesUtil, objectMapper, container, recordsPerChunk);
+	}
+
+	private static byte[] write(TranscriptCodec codec, LlmSummaryRequest request) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		codec.write(request, out);
+		return out.toByteArray();
+	}
+
+	// 순번마다 USER/AI 한 쌍. 압축이 잘 되지 않도록 임의 문자로 채운다
+	private static LlmSummaryRequest request(int orders, int messageLength) {
+		Random random = new Random(42);
+		LocalDateTime start = LocalDateTime.of(2025, 5, 20, 21, 0);
+		List<ChatMessageDto> messages = new ArrayList<>();
+		for (int order = 1; order <= orders; order++) {
+			for (String sender : List.of("USER", "AI")) {
+				messages.add(ChatMessageDto.builder()
+					.sender(sender)
+					.isVoice(false)
+					.messageOrder(order)
+					.message(randomText(random, messageLength))
+					.timestamp(start.plusSeconds(order * 2L + (sender.equals("AI") ? 1 : 0)))
+					.emotion(EmotionDto.builder().happiness(5).sadness(order % 100).angry(3).neutral(20).other(10).build())
+					.build());
+			}
+		}
+		return LlmSummaryRequest.builder()
+			.counsId(7L)
+			.userId(3L)
+			.messageList(messages)
+			.build();
+	}
+
+	private static String randomText(Random random, int length) {
+		StringBuilder sb = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			sb.append((char)('가' + random.nextInt(2000)));
+		}
+		return sb.toString();
+	}
+
+	// S3 ranged GET 흉내: "bytes=-N"(끝에서 N 바이트)와 "bytes=a-b"(양끝 포함)를 처리한다
+	private static Function<String, byte[]> ranged(byte[] object, List<String> requests) {
+		return range -> {
+			requests.add(range);
+			String spec = range.substring("bytes=".length());
+			if (spec.startsWith("-")) {
+				int suffix = Integer.parseInt(spec.substring(1));
+				return Arrays.copyOfRange(object, Math.max(0, object.length - suffix), object.length);
+			}
+			int dash = spec.indexOf('-');
+			int from = Integer.parseInt(spec.substring(0, dash));
+			int to = Integer.parseInt(spec.substring(dash + 1));
+			return Arrays.copyOfRange(object, from, Math.min(to + 1, object.length));
+		};
+	}
+
+	// 청크가 1번부터 빠짐없이 이어지고, USER/AI 한 쌍이 청크 사이에서 갈리지 않았는지
+	private static void assertIndexCovers(TranscriptIndex index, int orders) {
+		assertThat(index).isNotNull();
+		assertThat(index.getCounsId()).isEqualTo(7L);
+		assertThat(index.getUserId()).isEqualTo(3L);
+		assertThat(index.getMessageCount()).isEqualTo(orders * 2);
+
+		int expectedFrom = 1;
+		int records = 0;
+		for (TranscriptIndex.Chunk chunk : index.getChunks()) {
+			assertThat(chunk.getFromOrder()).isEqualTo(expectedFrom);
+			assertThat(chunk.getRecordCount()).isEqualTo((chunk.getToOrder() - chunk.getFromOrder() + 1) * 2);
+			expectedFrom = chunk.getToOrder() + 1;
+			records += chunk.getRecordCount();
+		}
+		assertThat(expectedFrom).isEqualTo(orders + 1);
+		assertThat(records).isEqualTo(orders * 2);
+	}
+
+	private static void assertSameMessages(List<ChatRecordDto> actual, List<ChatMessageDto> expected) {
+		assertThat(actual).hasSameSizeAs(expected);
+		for (int i = 0; i < expected.size(); i++) {
+			ChatRecordDto a = actual.get(i);
+			ChatMessageDto e = expected.get(i);
+			assertThat(a.getSender()).isEqualTo(e.getSender());
+			assertThat(a.getIsVoice()).isEqualTo(e.getIsVoice());
+			assertThat(a.getMessageOrder()).isEqualTo(e.getMessageOrder());
+			assertThat(a.getMessage()).isEqualTo(e.getMessage());
+			assertThat(a.getTimestamp()).isEqualTo(e.getTimestamp());
+			assertThat(a.getEmotion().getSadness()).isEqualTo(e.getEmotion().getSadness());
+		}
+	}
+}
@@ -49,6 +49,48 @@ ALTER TABLE public.answer ALTER COLUMN answer_id ADD GENERATED BY DEFAULT AS IDE
 );
 
 
+--
+-- Name: counsel_close_task; Type: TABLE; Schema: public; Owner: postgres
+--
+
+CREATE TABLE public.counsel_close_task (
+    attempts integer DEFAULT 0 NOT NULL,
+    failed boolean DEFAULT false NOT NULL,
+    close_task_id bigint NOT NULL,
+    couns_id bigint NOT NULL,
+    s_report_id bigint,
+    user_id bigint NOT NULL,
+    created_at timestamp(6) without time zone,
+    next_attempt_at timestamp(6) without time zone NOT NULL,
+    updated_at timestamp(6) without time zone,
+    arousal character varying(10),
+    valence character varying(10),
+    step character varying(20) NOT NULL,
+    last_error character varying(500),
+    s3_key character varying(255) NOT NULL,
+    analysis text,
+    summary text,
+    snapshot bytea,
+    CONSTRAINT counsel_close_task_step_check CHECK (((step)::text = ANY ((ARRAY['SNAPSHOT'::character varying, 'ARCHIVE'::character varying, 'SUMMARIZE'::character varying, 'PERSIST_REPORT'::character varying, 'CLEANUP'::character varying, 'DONE'::character varying])::text[])))
+);
+
+
+ALTER TABLE public.counsel_close_task OWNER TO postgres;
+
+--
+-- Name: counsel_close_task_close_task_id_seq; Type: SEQUENCE; Schema: public; Owner: postgres
+--
+
+ALTER TABLE public.counsel_close_task ALTER COLUMN close_task_id ADD GENERATED BY DEFAULT AS IDENTITY (
+    SEQUENCE NAME public.counsel_close_task_close_task_id_seq
+    START WITH 1
+    INCREMENT BY 1
+    NO MINVALUE
+    NO MAXVALUE
+    CACHE 1
+);
+
+
 --
 -- Name: counseling; Type: TABLE; Schema: public; Owner: postgres
 --
@@ -80,6 +122,37 @@ ALTER TABLE public.counseling ALTER COLUMN couns_id ADD GENERATED BY DEFAULT AS
 );
 
 
+--
+-- Name: emotion_daily_rollup; Type: TABLE; Schema: public; Owner: postgres
+--
+
+CREATE TABLE public.emotion_daily_rollup (
+    message_count integer DEFAULT 0 NOT NULL,
+    session_count integer DEFAULT 0 NOT NULL,
+    stat_date date NOT NULL,
+    angry_max integer,
+    angry_min integer,
+    happiness_max integer,
+    happiness_min integer,
+    neutral_max integer,
+    neutral_min integer,
+    other_max integer,
+    other_min integer,
+    sadness_max integer,
+    sadness_min integer,
+    angry_sum bigint DEFAULT 0 NOT NULL,
+    happiness_sum bigint DEFAULT 0 NOT NULL,
+    neutral_sum bigint DEFAULT 0 NOT NULL,
+    other_sum bigint DEFAULT 0 NOT NULL,
+    sadness_sum bigint DEFAULT 0 NOT NULL,
+    user_id bigint NOT NULL,
+    updated_at timestamp(6) without time zone NOT NULL
+);
+
+
+ALTER TABLE public.emotion_daily_rollup OWNER TO postgres;
+
+
 --
 -- Name: inquiry; Type: TABLE; Schema: public; Owner: postgres
 --
@@ -620,6 +693,22 @@ ALTER TABLE ONLY public.answer
     ADD CONSTRAINT answer_pkey PRIMARY KEY (answer_id);
 
 
+--
+-- Name: counsel_close_task counsel_close_task_pkey; Type: CONSTRAINT; Schema: public; Owner: postgres
+--
+
+ALTER TABLE ONLY public.counsel_close_task
+    ADD CONSTRAINT counsel_close_task_pkey PRIMARY KEY (close_task_id);
+
+
+--
+-- Name: counsel_close_task uk_counsel_close_task_couns; Type: CONSTRAINT; Schema: public; Owner: postgres
+--
+
+ALTER TABLE ONLY public.counsel_close_task
+    ADD CONSTRAINT uk_counsel_close_task_couns UNIQUE (couns_id);
+
+
 --
 -- Name: counseling counseling_pkey; Type: CONSTRAINT; Schema: public; Owner: postgres
 --
@@ -628,6 +717,14 @@ ALTER TABLE ONLY public.counseling
     ADD CONSTRAINT counseling_pkey PRIMARY KEY (couns_id);
 
 
+--
+-- Name: emotion_daily_rollup emotion_daily_rollup_pkey; Type: CONSTRAINT; Schema: public; Owner: postgres
+--
+
+ALTER TABLE ONLY public.emotion_daily_rollup
+    ADD CONSTRAINT emotion_daily_rollup_pkey PRIMARY KEY (user_id, stat_date);
+
+
 --
 -- Name: inquiry inquiry_pkey; Type: CONSTRAINT; Schema: public; Owner: postgres
 --
@@ -796,6 +893,29 @@ ALTER TABLE ONLY public.inquiry
     ADD CONSTRAINT fkray80kmwpjpjb91ime7ogijjr FOREIGN KEY (user_id) REFERENCES public.users(user_id);
 
 
+--
+-- Name: idx_counsel_close_task_due; Type: INDEX; Schema: public; Owner: postgres
+--
+
+CREATE INDEX idx_counsel_close_task_due ON public.counsel_close_task USING btree (next_attempt_at) WHERE (((step)::text <> 'DONE'::text) AND (failed = false));
+
+
+--
+-- Name: counsel_close_task fk_counsel_close_task_counseling; Type: FK CONSTRAINT; Schema: public; Owner: postgres
+--
+
+ALTER TABLE ONLY public.counsel_close_task
+    ADD CONSTRAINT fk_counsel_close_task_counseling FOREIGN KEY (couns_id) REFERENCES public.counseling(couns_id) ON DELETE CASCADE;
+
+
+--
+-- Name: emotion_daily_rollup fk_emotion_daily_rollup_user; Type: FK CONSTRAINT; Schema: public; Owner: postgres
+--
+
+ALTER TABLE ONLY public.emotion_daily_rollup
+    ADD CONSTRAINT fk_emotion_daily_rollup_user FOREIGN KEY (user_id) REFERENCES public.users(user_id) ON DELETE CASCADE;
+
+
 --
 -- PostgreSQL database dump complete
 --
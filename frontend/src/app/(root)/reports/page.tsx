@@ -7,6 +7,7 @@ import {
   deletePeriodicReport,
   deleteReport,
   getPeriodicReportDetail,
+  waitForPeriodicReport,
   getReports,
   updatePeriodicReportTitle,
   updateReportTitle,
@@ -115,12 +116,13 @@ export default function ReportsPage() {
 
     setIsCreating(true);
     try {
-      const res = await createPeriodicReport({
+      const job = await createPeriodicReport({
         startDate: formattedStart,
         endDate: formattedEnd,
       });
 
-      const detail = await getPeriodicReportDetail(res.preportId);
+      const preportId = await waitForPeriodicReport(job);
+      const detail = await getPeriodicReportDetail(preportId);
       setPeriodReports((prev) => [detail, ...prev]);
       setShowSuccessModal(true);
     } catch (error) {
@@ -174,26 +174,44 @@ export const createSessionReport = async (counsId: string): Promise<CreateSessio
   return apiClient.post<undefined, CreateSessionReportResponse>(endpoint, undefined);
 };
 
+export type CounselCloseTask = {
+  closeTaskId: number | null;
+  counsId: number;
+  step: 'SNAPSHOT' | 'ARCHIVE' | 'SUMMARIZE' | 'PERSIST_REPORT' | 'CLEANUP' | 'DONE';
+  failed: boolean;
+  sreportId: number | null;
+};
+
+const CLOSE_TASK_POLL_INTERVAL_MS = 1500;
+const CLOSE_TASK_POLL_TIMEOUT_MS = 180_000;
+
 /**
  * 지정된 상담 세션에 대한 레포트를 생성하고 해당 세션을 종료합니다.
+ * 백엔드는 요청을 접수하면 바로 작업 상태(202)를 돌려주고 백그라운드에서 요약/보관/정리를 진행하므로,
+ * GET /counsels/{counsId}/close-task 를 폴링해 step 이 DONE 이 되면 레포트 ID 를 반환합니다.
  *
  * @param {string} counsId - 레포트를 생성하고 종료할 상담 세션의 ID.
  * @returns {Promise<{ sreportId: number }>} 성공 시 생성된 레포트 ID를 포함하는 객체를 반환합니다.
- * @throws {Error} API 요청 실패 시 에러를 발생시킵니다.
+ * @throws {Error} API 요청 실패, 작업 중단 또는 대기 시간 초과 시 에러를 발생시킵니다.
  */
 export const createReportAndEndSession = async (counsId: string): Promise<{ sreportId: number }> => {
   if (!counsId) {
     throw new Error('레포트 생성 및 세션 종료를 위한 상담 ID가 제공되지 않았습니다.');
   }
-  const endpoint = `/counsels/${counsId}/reports`;
-  // console.log(`API 요청: POST ${endpoint}`);
-  // apiClient.post<TRequest, TResponse>(url, data)
-  // TRequest (요청 본문 타입)는 undefined, TResponse (응답 본문 타입)는 { sreportId: number }
-  // data (요청 본문 값)는 undefined
-  // apiClient.post는 응답 인터셉터에 의해 Promise<TResponse> (즉, Promise<{ sreportId: number }>)를 반환합니다.
-  const responseData = await apiClient.post<undefined, { sreportId: number }>(endpoint, undefined);
-  // console.log('createReportAndEndSession API responseData:', responseData);
-  return responseData;
+  let task = await apiClient.post<undefined, CounselCloseTask>(`/counsels/${counsId}/reports`, undefined);
+
+  const deadline = Date.now() + CLOSE_TASK_POLL_TIMEOUT_MS;
+  while (task.step !== 'DONE') {
+    if (task.failed) {
+      throw new Error('레포트 생성이 중단되었습니다. 잠시 후 다시 시도해 주세요.');
+    }
+    if (Date.now() > deadline) {
+      throw new Error('레포트 생성이 지연되고 있습니다. 잠시 후 상담 목록에서 확인해 주세요.');
+    }
+    await new Promise((resolve) => setTimeout(resolve, CLOSE_TASK_POLL_INTERVAL_MS));
+    task = await apiClient.get<CounselCloseTask>(`/counsels/${counsId}/close-task`);
+  }
+  return { sreportId: task.sreportId as number };
 };
 
 // sendChatMessageToServer 함수는 웹소켓으로 대체되므로 여기서는 주석 처리 또는 삭제합니다.
@@ -4,7 +4,7 @@ import type {
   PeriodReport,
   ReportDetailResponse,
   PeriodReportCreateRequest,
-  PeriodReportCreateResponse,
+  PeriodReportJob,
   PeriodReportDetail,
 } from './types';
 
@@ -42,9 +42,34 @@ export const deleteReport = async (reportId: number): Promise<void> => {
   return apiClient.delete<void>(`reports/${reportId}`);
 };
 
-// 기간별 레포트 생성
-export const createPeriodicReport = async (body: PeriodReportCreateRequest): Promise<PeriodReportCreateResponse> => {
-  return apiClient.post<PeriodReportCreateRequest, PeriodReportCreateResponse>('/reports/periodic', body);
+// 기간별 레포트 생성 작업 접수 (완료까지 기다리지 않고 작업 정보를 바로 받음)
+export const createPeriodicReport = async (body: PeriodReportCreateRequest): Promise<PeriodReportJob> => {
+  return apiClient.post<PeriodReportCreateRequest, PeriodReportJob>('/reports/periodic', body);
+};
+
+// 기간별 레포트 생성 작업 상태 조회
+export const getPeriodicReportJob = async (jobId: string): Promise<PeriodReportJob> => {
+  return apiClient.get<PeriodReportJob>(`/reports/periodic/jobs/${jobId}`);
+};
+
+// 작업이 유실되거나 상태가 만료되어도 무한히 조회하지 않도록 하는 상한 (기간별 레포트는 LLM 호출이 길어 넉넉히)
+const PERIOD_REPORT_POLL_TIMEOUT_MS = 300_000;
+
+// 작업이 끝날 때까지 상태를 조회해 생성된 레포트 id 를 반환
+export const waitForPeriodicReport = async (job: PeriodReportJob, intervalMs = 2000): Promise<number> => {
+  let current = job;
+  const deadline = Date.now() + PERIOD_REPORT_POLL_TIMEOUT_MS;
+  while (current.status !== 'DONE' && current.status !== 'FAILED') {
+    if (Date.now() > deadline) {
+      throw new Error('레포트 생성이 지연되고 있습니다. 잠시 후 레포트 목록에서 확인해 주세요.');
+    }
+    await new Promise((resolve) => setTimeout(resolve, intervalMs));
+    current = await getPeriodicReportJob(current.jobId);
+  }
+  if (current.status === 'FAILED' || current.preportId == null) {
+    throw new Error(current.errorMessage ?? '레포트 생성에 실패했습니다.');
+  }
+  return current.preportId;
 };
 
 // 기간별 레포트 상세 조회
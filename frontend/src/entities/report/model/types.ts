@@ -51,8 +51,18 @@ export interface PeriodReportCreateRequest {
   endDate: string;
 }
 
-export interface PeriodReportCreateResponse {
-  preportId: number;
+export type PeriodReportJobStatus = 'QUEUED' | 'COLLECTING' | 'GENERATING' | 'DONE' | 'FAILED';
+
+// 기간별 레포트 생성 작업 (POST /reports/periodic 응답, 상태 조회 응답)
+export interface PeriodReportJob {
+  jobId: string;
+  status: PeriodReportJobStatus;
+  startDate: string;
+  endDate: string;
+  preportId: number | null;
+  errorCode: string | null;
+  errorMessage: string | null;
+  updatedAt: string;
 }
 
 export interface PeriodReportDetail {